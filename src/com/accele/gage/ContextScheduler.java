@@ -0,0 +1,36 @@
+package com.accele.gage;
+
+class ContextScheduler {
+	
+	private GAGE gage;
+	private Registry<GAGEContext> contextRegistry;
+	
+	ContextScheduler(GAGE gage, Registry<GAGEContext> contextRegistry) {
+		this.gage = gage;
+		this.contextRegistry = contextRegistry;
+	}
+	
+	void run(double interpolation) {
+		for (GAGEContext ctx : contextRegistry.getEntries()) {
+			boolean current = ctx == gage.getCurrentContext();
+			boolean render = !current && ctx.doBackgroundRendering();
+			boolean events = ctx.hasPendingEvents();
+			
+			if (!render && !events)
+				continue;
+			
+			if (current) {
+				ctx.fireEvents(gage);
+				continue;
+			}
+			
+			gage.hotSwapContext(ctx, g -> {
+				if (render)
+					ctx.render(ctx.getGraphics(), interpolation);
+				if (events)
+					ctx.fireEvents(g);
+			});
+		}
+	}
+	
+}
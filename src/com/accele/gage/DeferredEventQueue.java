@@ -0,0 +1,140 @@
+package com.accele.gage;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * The queue used by a {@link com.accele.gage.GAGEContext GAGEContext} to hold events that should run at the end of the current game loop cycle.
+ *
+ * <p>
+ * Events may be added from any thread without locking, which allows loader threads, network threads and the like to safely hand work back to the game loop.
+ * Events are only ever run by the game loop, in the order in which they were added.
+ * </p>
+ * <p>
+ * The queue is drained in bounded batches: every cycle, at most {@link com.accele.gage.GameConfiguration#getMaxEventsPerFrame() getMaxEventsPerFrame()} events
+ * are run, and draining stops once {@link com.accele.gage.GameConfiguration#getEventTimeBudget() getEventTimeBudget()} milliseconds have been spent.
+ * At least one event is run per cycle if any are pending. Any remaining events are carried over to the next cycle.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class DeferredEventQueue {
+
+	private final AtomicReference<Node> head;
+	private final AtomicInteger depth;
+	private Node tail;
+	private int eventsDrained;
+	private double maxLatency;
+	private double averageLatency;
+
+	DeferredEventQueue() {
+		Node stub = new Node(null);
+		this.head = new AtomicReference<>(stub);
+		this.depth = new AtomicInteger();
+		this.tail = stub;
+	}
+
+	void add(Consumer<GAGE> event) {
+		Node node = new Node(event);
+		depth.incrementAndGet();
+		Node prev = head.getAndSet(node);
+		prev.next = node;
+	}
+
+	void drain(GAGE gage, int maxEvents, long budgetNanos) {
+		long start = System.nanoTime();
+		int drained = 0;
+		long latencyTotal = 0;
+		long latencyMax = 0;
+
+		Node next;
+		while ((next = tail.next) != null) {
+			tail = next;
+			Consumer<GAGE> event = next.event;
+			next.event = null;
+			depth.decrementAndGet();
+
+			long latency = System.nanoTime() - next.enqueueTime;
+			latencyTotal += latency;
+			if (latency > latencyMax)
+				latencyMax = latency;
+			drained++;
+
+			event.accept(gage);
+
+			if (maxEvents > 0 && drained >= maxEvents)
+				break;
+			if (budgetNanos > 0 && System.nanoTime() - start >= budgetNanos)
+				break;
+		}
+
+		eventsDrained = drained;
+		maxLatency = latencyMax / 1_000_000.0;
+		averageLatency = drained > 0 ? latencyTotal / 1_000_000.0 / drained : 0;
+	}
+
+	/**
+	 * Returns whether there are no events waiting in this queue.
+	 * <p>
+	 * An event that is being added by another thread at the same time may or may not be reported.
+	 * </p>
+	 *
+	 * @return whether this queue is empty
+	 */
+	public boolean isEmpty() {
+		return depth.get() == 0;
+	}
+
+	/**
+	 * Returns the number of events currently waiting in this queue.
+	 *
+	 * @return the depth of this queue
+	 */
+	public int getDepth() {
+		return depth.get();
+	}
+
+	/**
+	 * Returns the number of events that were run during the most recent drain of this queue.
+	 *
+	 * @return the number of events run during the last drain
+	 */
+	public int getEventsDrained() {
+		return eventsDrained;
+	}
+
+	/**
+	 * Returns the longest time an event run during the most recent drain of this queue waited between being added and being run.
+	 *
+	 * @return the maximum drain latency of the last drain, in milliseconds
+	 */
+	public double getMaxLatency() {
+		return maxLatency;
+	}
+
+	/**
+	 * Returns the average time the events run during the most recent drain of this queue waited between being added and being run.
+	 *
+	 * @return the average drain latency of the last drain, in milliseconds
+	 */
+	public double getAverageLatency() {
+		return averageLatency;
+	}
+
+	private static class Node {
+
+		private volatile Node next;
+		private Consumer<GAGE> event;
+		private final long enqueueTime;
+
+		private Node(Consumer<GAGE> event) {
+			this.event = event;
+			this.enqueueTime = System.nanoTime();
+		}
+
+	}
+
+}
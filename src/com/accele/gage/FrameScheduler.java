@@ -0,0 +1,156 @@
+package com.accele.gage;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.glfw.GLFWVidMode;
+
+/**
+ * Decides when the game loop runs its ticks and when it renders its frames.
+ *
+ * <p>
+ * Ticks are scheduled at a fixed rate given by {@link com.accele.gage.GameConfiguration#getTicksPerSecond() getTicksPerSecond()}.
+ * At most {@link com.accele.gage.GameConfiguration#getMaxTicksPerFrame() getMaxTicksPerFrame()} ticks are run per frame; any further ticks that are due are
+ * handled according to the {@link com.accele.gage.TickCatchUpPolicy TickCatchUpPolicy} of the configuration.
+ * </p>
+ * <p>
+ * Frames are limited by {@link com.accele.gage.GameConfiguration#getFpsCap() getFpsCap()}. The wait between two frames first sleeps
+ * and then spins for the last fraction of a millisecond, which keeps the CPU idle for most of the wait while still waking up on time.
+ * The length of the spin is adjusted to how precisely the operating system wakes sleeping threads. When vertical synchronization is enabled and the
+ * FPS cap is not below the refresh rate of the monitor, no waiting is done at all because swapping the buffers already paces the game loop.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class FrameScheduler {
+
+	private static final long MIN_SPIN_THRESHOLD = 100_000L;
+	private static final long MAX_SPIN_THRESHOLD = 4_000_000L;
+	private static final double OVERSLEEP_DECAY = 0.95;
+
+	private GameConfiguration config;
+	private long tickNanos;
+	private long nextTick;
+	private long nextFrame;
+	private double oversleep;
+	private long spinThreshold;
+	private int refreshRate;
+	private long appliedSwapContext;
+	private boolean appliedVsync;
+	private long droppedTicks;
+	private long lateTicks;
+
+	FrameScheduler(GameConfiguration config) {
+		this.config = config;
+		this.spinThreshold = MAX_SPIN_THRESHOLD / 2;
+	}
+
+	void start(double ticksPerSecond) {
+		this.tickNanos = (long) (1_000_000_000L / ticksPerSecond);
+		this.nextTick = System.nanoTime();
+		this.nextFrame = 0;
+
+		GLFWVidMode mode = GLFW.glfwGetVideoMode(GLFW.glfwGetPrimaryMonitor());
+		this.refreshRate = mode != null ? mode.refreshRate() : 0;
+	}
+
+	int beginFrame() {
+		applyVsync();
+
+		long now = System.nanoTime();
+		int maxTicks = config.getMaxTicksPerFrame();
+		int ticks = 0;
+
+		while (now - nextTick >= 0 && ticks < maxTicks) {
+			if (now - nextTick >= tickNanos)
+				lateTicks++;
+			nextTick += tickNanos;
+			ticks++;
+		}
+
+		if (now - nextTick >= 0 && config.getTickCatchUpPolicy() == TickCatchUpPolicy.SKIP) {
+			long behind = (now - nextTick) / tickNanos + 1;
+			droppedTicks += behind;
+			nextTick += behind * tickNanos;
+		}
+
+		return ticks;
+	}
+
+	double getInterpolation() {
+		return (double) (System.nanoTime() + tickNanos - nextTick) / tickNanos;
+	}
+
+	void endFrame() {
+		int fpsCap = config.getFpsCap();
+		if (fpsCap <= 0 || (config.isVsyncEnabled() && refreshRate > 0 && fpsCap >= refreshRate)) {
+			nextFrame = 0;
+			return;
+		}
+
+		long frameNanos = 1_000_000_000L / fpsCap;
+		long now = System.nanoTime();
+		if (nextFrame == 0 || now - nextFrame > frameNanos)
+			nextFrame = now;
+		else
+			nextFrame += frameNanos;
+
+		waitUntil(nextFrame);
+	}
+
+	private void waitUntil(long deadline) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > spinThreshold) {
+			long sleep = remaining - spinThreshold;
+			long before = System.nanoTime();
+			LockSupport.parkNanos(sleep);
+			long overshoot = System.nanoTime() - before - sleep;
+
+			oversleep = Math.max(overshoot, oversleep * OVERSLEEP_DECAY);
+			spinThreshold = Math.min(MAX_SPIN_THRESHOLD, Math.max(MIN_SPIN_THRESHOLD, (long) oversleep + MIN_SPIN_THRESHOLD));
+		}
+
+		while (deadline - System.nanoTime() > 0)
+			Thread.onSpinWait();
+	}
+
+	private void applyVsync() {
+		long context = GLFW.glfwGetCurrentContext();
+		boolean vsync = config.isVsyncEnabled();
+		if (context == appliedSwapContext && vsync == appliedVsync)
+			return;
+		GLFW.glfwSwapInterval(vsync ? 1 : 0);
+		appliedSwapContext = context;
+		appliedVsync = vsync;
+	}
+
+	/**
+	 * Returns the number of ticks that were dropped because the game loop fell too far behind while using {@link com.accele.gage.TickCatchUpPolicy#SKIP SKIP}.
+	 *
+	 * @return the number of dropped ticks since the engine was started
+	 */
+	public long getDroppedTicks() {
+		return droppedTicks;
+	}
+
+	/**
+	 * Returns the number of ticks that were run more than one tick interval after they were due.
+	 *
+	 * @return the number of late ticks since the engine was started
+	 */
+	public long getLateTicks() {
+		return lateTicks;
+	}
+
+	/**
+	 * Returns the time before a frame deadline from which the scheduler stops sleeping and starts spinning instead.
+	 *
+	 * @return the current spin threshold, in nanoseconds
+	 */
+	public long getSpinThreshold() {
+		return spinThreshold;
+	}
+
+}
@@ -4,6 +4,9 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 import org.lwjgl.glfw.GLFW;
@@ -23,11 +26,16 @@ import com.accele.gage.gfx.Model;
 import com.accele.gage.gfx.RenderingMode;
 import com.accele.gage.gfx.Shader;
 import com.accele.gage.gfx.Texture;
+import com.accele.gage.gfx.TextureResidencyManager;
+import com.accele.gage.gfx.TextureUploader;
 import com.accele.gage.gfx.Window;
 import com.accele.gage.log.Logger;
+import com.accele.gage.profile.Profiler;
+import com.accele.gage.profile.ProfilerPass;
 import com.accele.gage.sfx.SoundBuffer;
 import com.accele.gage.sfx.SoundHandler;
 import com.accele.gage.sfx.SoundSource;
+import com.accele.gage.sfx.SoundStream;
 import com.accele.gage.state.GameState;
 import com.accele.gage.tile.TileMap;
 
@@ -71,7 +79,6 @@ public class GAGE {
 	
 	private static GAGE instance;
 	
-	private Graphics graphics;
 	private RenderingMode renderingMode;
 	private Map<RenderingMode, Graphics> renderers;
 	private GameConfiguration config;
@@ -79,6 +86,12 @@ public class GAGE {
 	private SoundHandler soundHandler;
 	private Random rand;
 	private Logger logger;
+	private Profiler profiler;
+	private ExecutorService workerPool;
+	private FrameScheduler frameScheduler;
+	private TextureUploader textureUploader;
+	private TextureResidencyManager textureResidencyManager;
+	private ContextScheduler contextScheduler;
 	private Registry<Texture> textureRegistry;
 	private Registry<Configuration> configurationRegistry;
 	private Registry<Font> fontRegistry;
@@ -88,12 +101,13 @@ public class GAGE {
 	private Registry<Animation> animationRegistry;
 	private Registry<SoundBuffer> soundBufferRegistry;
 	private Registry<SoundSource> soundSourceRegistry;
+	private Registry<SoundStream> soundStreamRegistry;
 	private Registry<GAGEContext> contextRegistry;
 	private boolean running;
 	double ticksPerSecond;
 	
 	private GAGEContext mainContext;
-	private GAGEContext currentContext;
+	private volatile GAGEContext currentContext;
 	
 	private GAGE(int width, int height, String title, InitEnvironment initEnvironment) {
 		this.logger = new Logger(this, initEnvironment.getLoggerDestination(), initEnvironment.getLoggerErrorDestination(), 
@@ -105,6 +119,15 @@ public class GAGE {
 		
 		System.gc();
 		
+		this.profiler = new Profiler();
+		
+		AtomicInteger workerCount = new AtomicInteger();
+		this.workerPool = Executors.newFixedThreadPool(initEnvironment.getWorkerThreadCount(), r -> {
+			Thread worker = new Thread(r, "GAGE Worker " + workerCount.incrementAndGet());
+			worker.setDaemon(true);
+			return worker;
+		});
+		
 		GAGEContext mainContext = new GAGEContext(width, height, title, initEnvironment.getCustomWindowHints(), false);
 		
 		this.soundHandler = new SoundHandler();
@@ -113,21 +136,25 @@ public class GAGE {
 		this.shaderRegistry = new Registry<>();
 		this.renderers = new HashMap<>();
 		renderers.put(RenderingMode.IMMEDIATE, new ImmediateRenderer(modelRegistry, fontRegistry, shaderRegistry));
-		renderers.put(RenderingMode.BATCHED, new BatchedRenderer(initEnvironment.getDrawBatchSize(), shaderRegistry, fontRegistry));
+		renderers.put(RenderingMode.BATCHED, new BatchedRenderer(initEnvironment.getDrawBatchSize(), shaderRegistry, fontRegistry, profiler));
 		this.renderingMode = RenderingMode.BATCHED;
-		this.graphics = renderers.get(renderingMode);
 		this.config = new GameConfiguration();
+		this.frameScheduler = new FrameScheduler(config);
+		this.textureUploader = new TextureUploader(config, workerPool);
 		this.textureRegistry = new Registry<>();
+		this.textureResidencyManager = new TextureResidencyManager(config, textureRegistry);
 		this.configurationRegistry = new Registry<>();
 		this.tileMapRegistry = new Registry<>();
 		this.animationRegistry = new Registry<>();
 		this.soundBufferRegistry = new Registry<>();
 		this.soundSourceRegistry = new Registry<>();
+		this.soundStreamRegistry = new Registry<>();
 		this.contextRegistry = new Registry<>();
 		this.entityHandler = new EntityHandler(config);
 		this.rand = new Random();
 		
 		contextRegistry.register(mainContext);
+		this.contextScheduler = new ContextScheduler(this, contextRegistry);
 		this.mainContext = mainContext;
 		this.currentContext = mainContext;
 		
@@ -172,37 +199,41 @@ public class GAGE {
 		
 		ticksPerSecond = config.ticksPerSecond;
 		
-		final double skipTicks = 1.0 / ticksPerSecond;
-		final double maxFrameskip = 5;
-		
-		double nextTick = getGameTime();
+		frameScheduler.start(ticksPerSecond);
 		
 		double prev = getGameTime();
 		int frames = 0;
 		
+		ProfilerPass tickPass = profiler.getPass("gage.tick");
+		ProfilerPass framePass = profiler.getPass("gage.frame");
+		ProfilerPass uploadPass = profiler.getPass("gage.textureUpload");
+		
 		try {
 			while (running) {
-				int loops = 0;
+				profiler.beginFrame();
+				framePass.begin();
 				
-				while (getGameTime() > nextTick && loops < maxFrameskip) {
+				int ticks = frameScheduler.beginFrame();
+				
+				for (int i = 0; i < ticks; i++) {
+					tickPass.begin();
 					currentContext.tick();
-					
-					nextTick += skipTicks;
-					loops++;
+					tickPass.end();
 				}
 				
-				double interpolation = (getGameTime() + skipTicks - nextTick) / skipTicks;
+				double interpolation = frameScheduler.getInterpolation();
+				
+				uploadPass.begin();
+				textureUploader.update();
+				uploadPass.end();
+				textureResidencyManager.update();
 				
-				currentContext.render(graphics, interpolation);
+				currentContext.render(currentContext.getGraphics(), interpolation);
 				currentContext.getWindow().pollEvents();
 				
-				soundSourceRegistry.getEntries().forEach(e -> e.tick());
+				contextScheduler.run(interpolation);
 				
-				contextRegistry.getEntries().forEach(ctx -> {
-					if (ctx.doBackgroundRendering())
-						hotSwapContext(ctx.getRegistryId(), gage -> ctx.render(graphics, interpolation));
-					ctx.fireEvents();
-				});
+				framePass.end();
 				
 				if (getGameTime() - prev >= 1) {
 					config.setFps((int) (frames / (getGameTime() - prev)));
@@ -210,6 +241,8 @@ public class GAGE {
 					prev = getGameTime();
 				} else
 					frames++;
+				
+				frameScheduler.endFrame();
 			}
 		} finally {
 			clean();			
@@ -219,7 +252,7 @@ public class GAGE {
 	private void clean() {
 		contextRegistry.clean();
 		entityHandler.clean();
-		graphics.clean();
+		renderers.values().forEach(Graphics::clean);
 		animationRegistry.clean();
 		configurationRegistry.clean();
 		fontRegistry.clean();
@@ -227,9 +260,13 @@ public class GAGE {
 		shaderRegistry.clean();
 		soundBufferRegistry.clean();
 		soundSourceRegistry.clean();
+		soundStreamRegistry.clean();
 		textureRegistry.clean();
+		textureUploader.clean();
 		tileMapRegistry.clean();
 		soundHandler.clean();
+		profiler.clean();
+		workerPool.shutdownNow();
 		mainContext.getWindow().clean();
 		
 		instance = null;
@@ -332,6 +369,71 @@ public class GAGE {
 		return logger;
 	}
 	
+	/**
+	 * Returns the instance of {@link com.accele.gage.FrameScheduler FrameScheduler} used by GAGE.
+	 * <p>
+	 * The frame scheduler paces the game loop and counts the ticks that were run late or dropped.
+	 * </p>
+	 * 
+	 * @return	the frame scheduler used by the running instance of the engine
+	 */
+	public FrameScheduler getFrameScheduler() {
+		return frameScheduler;
+	}
+	
+	/**
+	 * Returns the instance of {@link com.accele.gage.profile.Profiler Profiler} used by GAGE.
+	 * <p>
+	 * The profiler holds the CPU and GPU timings of every measured pass of the game loop, such as {@code "gage.tick"}, {@code "gage.frame"},
+	 * the render pass of each context and the flushes of the batched renderer.
+	 * </p>
+	 * 
+	 * @return	the profiler used by the running instance of the engine
+	 */
+	public Profiler getProfiler() {
+		return profiler;
+	}
+	
+	/**
+	 * Returns the pool of worker threads used by GAGE for background work such as decoding textures.
+	 * <p>
+	 * The size of the pool is set by {@link com.accele.gage.InitEnvironment#setWorkerThreadCount(int) setWorkerThreadCount(int)}.
+	 * Worker threads are daemon threads and do not own an OpenGL context, so tasks run on them must not make any OpenGL calls;
+	 * use {@link #deferEvent(Consumer) deferEvent(Consumer)} to hand results back to the game loop instead.
+	 * </p>
+	 * 
+	 * @return	the worker pool used by the running instance of the engine
+	 */
+	public ExecutorService getWorkerPool() {
+		return workerPool;
+	}
+	
+	/**
+	 * Returns the instance of {@link com.accele.gage.gfx.TextureUploader TextureUploader} used by GAGE.
+	 * <p>
+	 * The texture uploader loads textures in the background and uploads them a little at a time, 
+	 * so that loading new art while the game is running does not cause hitches.
+	 * </p>
+	 * 
+	 * @return	the texture uploader used by the running instance of the engine
+	 */
+	public TextureUploader getTextureUploader() {
+		return textureUploader;
+	}
+	
+	/**
+	 * Returns the instance of {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager} used by GAGE.
+	 * <p>
+	 * The residency manager keeps track of how much GPU memory the textures in the {@link #getTextureRegistry() texture registry} use 
+	 * and evicts the least recently bound ones when they exceed the {@link com.accele.gage.GameConfiguration#getTextureMemoryBudget() texture memory budget}.
+	 * </p>
+	 * 
+	 * @return	the texture residency manager used by the running instance of the engine
+	 */
+	public TextureResidencyManager getTextureResidencyManager() {
+		return textureResidencyManager;
+	}
+	
 	/**
 	 * Returns the {@link com.accele.gage.Registry Registry} used by GAGE 
 	 * for registering instances of {@link com.accele.gage.gfx.Texture Texture}.
@@ -422,6 +524,16 @@ public class GAGE {
 		return soundSourceRegistry;
 	}
 	
+	/**
+	 * Returns the {@link com.accele.gage.Registry Registry} used by GAGE 
+	 * for registering instances of {@link com.accele.gage.sfx.SoundStream SoundStream}.
+	 * 
+	 * @return	the sound stream registry used by the running instance of the engine
+	 */
+	public Registry<SoundStream> getSoundStreamRegistry() {
+		return soundStreamRegistry;
+	}
+	
 	/**
 	 * Returns the {@link com.accele.gage.Registry Registry} used by GAGE 
 	 * for registering instances of {@link com.accele.gage.GAGEContext GAGEContext}.
@@ -433,7 +545,7 @@ public class GAGE {
 	}
 	
 	/**
-	 * Returns the instance of {@link com.accele.gage.gfx.Graphics Graphics} used by GAGE.
+	 * Returns the instance of {@link com.accele.gage.gfx.Graphics Graphics} used by the current context.
 	 * <p>
 	 * This method is intended to yield the {@code Graphics} instance for retrieving and modifying graphical settings only; 
 	 * at no point should the draw functions be called outside of the {@link com.accele.gage.Renderable#render(Graphics, double) render(Graphics, double)} method.
@@ -442,7 +554,7 @@ public class GAGE {
 	 * @return	the {@code Graphics} used by the running instance of the engine
 	 */
 	public Graphics getGraphics() {
-		return graphics;
+		return currentContext.getGraphics();
 	}
 	
 	public RenderingMode getRenderingMode() {
@@ -453,9 +565,12 @@ public class GAGE {
 		return Collections.unmodifiableMap(renderers);
 	}
 	
+	Graphics getRenderer(RenderingMode renderingMode) {
+		return renderers.get(renderingMode);
+	}
+	
 	public void setRenderingMode(RenderingMode renderingMode) {
 		this.renderingMode = renderingMode;
-		this.graphics = renderers.get(renderingMode);
 		logger.info("Set rendering mode to " + renderingMode.toString());
 	}
 	
@@ -463,6 +578,10 @@ public class GAGE {
 	 * Adds the specified event to the event queue of the current context.
 	 * All events in the event queue will run in the order in which they were added at the end of the next frame.
 	 * <p>
+	 * This method may be called from any thread. If the event queue holds more events than may be run in one frame,
+	 * the remaining events are run during the following frames (see {@link com.accele.gage.DeferredEventQueue DeferredEventQueue}).
+	 * </p>
+	 * <p>
 	 * This is a convenience method for accessing the specified resource contained in the current context.
 	 * To directly access this resource, among others, use {@link #getCurrentContext() getCurrentContext()}.
 	 * </p>
@@ -727,20 +846,30 @@ public class GAGE {
 	 * <p>
 	 * This method will switch the current context to the one with the specified registry ID,
 	 * run the specified action, and then immediately switch back to the previous context.
+	 * If the specified context is already the current context, the action is run without switching.
 	 * </p>
 	 * 
 	 * @param contextRegistryId	the registry ID of the target context
 	 * @param action			the action to be performed in the specified context
 	 */
 	public void hotSwapContext(String contextRegistryId, Consumer<GAGE> action) {
-		logger.info("Performing hot-swap on context \"" + contextRegistryId + "\"");
+		hotSwapContext(contextRegistry.getEntry(contextRegistryId), action);
+	}
+	
+	void hotSwapContext(GAGEContext context, Consumer<GAGE> action) {
 		GAGEContext prev = currentContext;
-		setCurrentContext(contextRegistryId);
-		action.accept(this);
-		currentContext.getWindow().detachContext();
-		prev.getWindow().attachContext();
-		currentContext = prev;
-		logger.info("Set current context to \"" + currentContext.getRegistryId() + "\"");
+		if (context == prev) {
+			action.accept(this);
+			return;
+		}
+		prev.getWindow().transferContext(context.getWindow());
+		currentContext = context;
+		try {
+			action.accept(this);
+		} finally {
+			currentContext.getWindow().transferContext(prev.getWindow());
+			currentContext = prev;
+		}
 	}
 	
 	/**
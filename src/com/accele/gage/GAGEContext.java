@@ -1,7 +1,7 @@
 package com.accele.gage;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import com.accele.gage.control.ControlHandler;
@@ -9,7 +9,9 @@ import com.accele.gage.control.ControlListener;
 import com.accele.gage.control.KeyListener;
 import com.accele.gage.control.MouseListener;
 import com.accele.gage.gfx.Graphics;
+import com.accele.gage.gfx.RenderingMode;
 import com.accele.gage.gfx.Window;
+import com.accele.gage.profile.ProfilerPass;
 import com.accele.gage.state.GameState;
 
 public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
@@ -22,8 +24,10 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 	private Registry<MouseListener> mouseListenerRegistry;
 	private Registry<GameState> stateRegistry;
 	GameState currentState;
-	private Deque<Consumer<GAGE>> deferredEvents;
+	private DeferredEventQueue deferredEvents;
 	private boolean backgroundRendering;
+	private ProfilerPass renderPass;
+	private Map<RenderingMode, Graphics> renderers;
 	
 	public GAGEContext(String registryId, int screenWidth, int screenHeight, String title) {
 		this(registryId, screenWidth, screenHeight, title, null);
@@ -37,7 +41,8 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 		this.mouseListenerRegistry = new Registry<>();
 		this.stateRegistry = new Registry<>();
 		this.controlHandler = new ControlHandler(controlListenerRegistry, keyListenerRegistry, mouseListenerRegistry, window);
-		this.deferredEvents = new ArrayDeque<>();
+		this.deferredEvents = new DeferredEventQueue();
+		this.renderers = new EnumMap<>(RenderingMode.class);
 		
 		window.detachContext();
 		GAGE.getInstance().getMainContext().window.attachContext();
@@ -51,7 +56,7 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 		this.mouseListenerRegistry = new Registry<>();
 		this.stateRegistry = new Registry<>();
 		this.controlHandler = new ControlHandler(controlListenerRegistry, keyListenerRegistry, mouseListenerRegistry, window);
-		this.deferredEvents = new ArrayDeque<>();
+		this.deferredEvents = new DeferredEventQueue();
 	}
 	
 	@Override
@@ -62,10 +67,15 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 	
 	@Override
 	public void render(Graphics g, double interpolation) {
+		if (renderPass == null)
+			renderPass = GAGE.getInstance().getProfiler().getPass(registryId + ".render", true);
+		
 		window.onCycleBegin();
+		renderPass.begin();
 		g.begin();
 		currentState.render(g, interpolation);
 		g.end();
+		renderPass.end();
 		window.onCycleEnd();
 	}
 	
@@ -74,19 +84,29 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 		currentState.exit(null);
 		stateRegistry.clean();
 		controlHandler.clean();
+		if (renderers != null && !renderers.isEmpty()) {
+			GAGE.getInstance().hotSwapContext(this, gage -> renderers.values().forEach(Graphics::clean));
+			renderers.clear();
+		}
+	}
+	
+	void fireEvents(GAGE gage) {
+		GameConfiguration config = gage.getConfig();
+		deferredEvents.drain(gage, config.getMaxEventsPerFrame(), (long) (config.getEventTimeBudget() * 1_000_000L));
 	}
 	
-	void fireEvents() {
-		GAGE.getInstance().hotSwapContext(registryId, gage -> {
-			while (!deferredEvents.isEmpty())
-				deferredEvents.poll().accept(gage);
-		});
+	boolean hasPendingEvents() {
+		return !deferredEvents.isEmpty();
 	}
 	
 	public void deferEvent(Consumer<GAGE> event) {
 		deferredEvents.add(event);
 	}
 	
+	public DeferredEventQueue getDeferredEventQueue() {
+		return deferredEvents;
+	}
+	
 	@Override
 	public String getRegistryId() {
 		return registryId;
@@ -116,6 +136,19 @@ public class GAGEContext implements Indexable, Tickable, Renderable, Cleanable {
 		return window;
 	}
 	
+	public Graphics getGraphics() {
+		GAGE gage = GAGE.getInstance();
+		Graphics shared = gage.getRenderer(gage.getRenderingMode());
+		if (renderers == null)
+			return shared;
+		Graphics graphics = renderers.get(gage.getRenderingMode());
+		if (graphics == null) {
+			graphics = shared.createSharedInstance();
+			renderers.put(gage.getRenderingMode(), graphics);
+		}
+		return graphics;
+	}
+	
 	public GameState getCurrentState() {
 		return currentState;
 	}
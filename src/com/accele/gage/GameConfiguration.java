@@ -6,6 +6,7 @@ import java.util.List;
 import org.lwjgl.opengl.GL11;
 
 import com.accele.gage.callbacks.ValueChangeCallback;
+import com.accele.gage.gfx.MipmapPolicy;
 import com.accele.gage.gfx.TextureFilterParameter;
 import com.accele.gage.gfx.TextureWrapParameter;
 
@@ -25,6 +26,11 @@ import com.accele.gage.gfx.TextureWrapParameter;
 public class GameConfiguration {
 
 	private static final double DEFAULT_TICKS_PER_SECOND = 25.0;
+	private static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
+	private static final int DEFAULT_MAX_EVENTS_PER_FRAME = 1024;
+	private static final double DEFAULT_EVENT_TIME_BUDGET = 4.0;
+	private static final double DEFAULT_TEXTURE_UPLOAD_BUDGET = 4.0;
+	private static final double DEFAULT_TEXTURE_MEMORY_BUDGET = 0.0;
 	public static final TextureWrapParameter DEFAULT_TEXTURE_WRAP_S_PARAMETER = TextureWrapParameter.CLAMP_TO_EDGE;
 	public static final TextureWrapParameter DEFAULT_TEXTURE_WRAP_T_PARAMETER = TextureWrapParameter.CLAMP_TO_EDGE;
 	public static final TextureWrapParameter DEFAULT_REPEATING_TEXTURE_WRAP_S_PARAMETER = TextureWrapParameter.REPEAT;
@@ -35,6 +41,14 @@ public class GameConfiguration {
 	private final String version = "2.0.0";
 	private int fps;
 	double ticksPerSecond;
+	private int fpsCap;
+	private boolean vsync;
+	private int maxTicksPerFrame;
+	private TickCatchUpPolicy tickCatchUpPolicy;
+	private int maxEventsPerFrame;
+	private double eventTimeBudget;
+	private double textureUploadBudget;
+	private double textureMemoryBudget;
 	private boolean doEntityCollision;
 	private float masterVolume;
 	private float masterPitch;
@@ -43,17 +57,25 @@ public class GameConfiguration {
 	private TextureWrapParameter textureWrapTParameter;
 	private TextureFilterParameter textureMagFilterParameter;
 	private TextureFilterParameter textureMinFilterParameter;
-	private boolean generateTextureMipmaps;
+	private MipmapPolicy textureMipmapPolicy;
 	
 	private List<ValueChangeCallback<Integer>> fpsChangeCallbacks;
 	
 	GameConfiguration() {
 		this.ticksPerSecond = DEFAULT_TICKS_PER_SECOND;
+		this.fpsCap = 0;
+		this.vsync = true;
+		this.maxTicksPerFrame = DEFAULT_MAX_TICKS_PER_FRAME;
+		this.tickCatchUpPolicy = TickCatchUpPolicy.SKIP;
+		this.maxEventsPerFrame = DEFAULT_MAX_EVENTS_PER_FRAME;
+		this.eventTimeBudget = DEFAULT_EVENT_TIME_BUDGET;
+		this.textureUploadBudget = DEFAULT_TEXTURE_UPLOAD_BUDGET;
+		this.textureMemoryBudget = DEFAULT_TEXTURE_MEMORY_BUDGET;
 		this.doEntityCollision = true;
 		this.masterVolume = 1;
 		this.masterPitch = 1;
 		this.masterVolumeMuted = false;
-		this.generateTextureMipmaps = true;
+		this.textureMipmapPolicy = MipmapPolicy.PRECOMPUTED;
 		useDefaultTextureParameters();
 		this.fpsChangeCallbacks = new ArrayList<>();
 	}
@@ -79,7 +101,8 @@ public class GameConfiguration {
 	
 	/**
 	 * Returns the number of frames per second the engine will run at.
-	 * The engine will attempt to render as fast as the implementing system will allow, so this value is determined by the system's capabilities.
+	 * The engine will attempt to render as fast as the implementing system, the FPS cap and vertical synchronization will allow, 
+	 * so this value is determined by the system's capabilities.
 	 * 
 	 * @return the number of frames per second the engine will run at
 	 */
@@ -107,6 +130,189 @@ public class GameConfiguration {
 		GAGE.getInstance().ticksPerSecond = ticksPerSecond;
 	}
 	
+	/**
+	 * Returns the maximum number of frames per second the engine will render. A value of 0 means that the frame rate is not capped.
+	 * The default value is 0.
+	 * 
+	 * @return the maximum number of frames per second, or 0 if the frame rate is not capped
+	 */
+	public int getFpsCap() {
+		return fpsCap;
+	}
+	
+	/**
+	 * Sets the maximum number of frames per second the engine will render.
+	 * <p>
+	 * When a cap is set, the game loop sleeps between frames instead of rendering as fast as possible. 
+	 * If vertical synchronization is enabled and the cap is not below the refresh rate of the monitor, the cap has no effect.
+	 * </p>
+	 * 
+	 * @param fpsCap the maximum number of frames per second, or 0 to render as fast as possible
+	 * @throws IllegalArgumentException if {@code fpsCap} is negative
+	 */
+	public void setFpsCap(int fpsCap) {
+		if (fpsCap < 0)
+			throw new IllegalArgumentException("The FPS cap cannot be negative.");
+		this.fpsCap = fpsCap;
+	}
+	
+	/**
+	 * Returns whether buffer swaps are synchronized with the refresh rate of the monitor. The default value is {@code true}.
+	 * 
+	 * @return whether vertical synchronization is enabled
+	 */
+	public boolean isVsyncEnabled() {
+		return vsync;
+	}
+	
+	/**
+	 * Sets whether buffer swaps should be synchronized with the refresh rate of the monitor.
+	 * <p>
+	 * Note that this method will not change the swap interval until the beginning of the next game loop cycle.
+	 * </p>
+	 * 
+	 * @param vsync whether vertical synchronization should be enabled
+	 */
+	public void setVsyncEnabled(boolean vsync) {
+		this.vsync = vsync;
+	}
+	
+	/**
+	 * Returns the maximum number of ticks the engine will run in a single frame when it falls behind. The default value is {@value #DEFAULT_MAX_TICKS_PER_FRAME}.
+	 * 
+	 * @return the maximum number of ticks per frame
+	 */
+	public int getMaxTicksPerFrame() {
+		return maxTicksPerFrame;
+	}
+	
+	/**
+	 * Sets the maximum number of ticks the engine will run in a single frame when it falls behind.
+	 * Ticks that are still due once this limit is reached are handled according to the {@link #getTickCatchUpPolicy() tick catch-up policy}.
+	 * 
+	 * @param maxTicksPerFrame the maximum number of ticks per frame
+	 * @throws IllegalArgumentException if {@code maxTicksPerFrame} is less than 1
+	 */
+	public void setMaxTicksPerFrame(int maxTicksPerFrame) {
+		if (maxTicksPerFrame < 1)
+			throw new IllegalArgumentException("The maximum number of ticks per frame must be at least 1.");
+		this.maxTicksPerFrame = maxTicksPerFrame;
+	}
+	
+	/**
+	 * Returns the policy used for ticks that are still due once {@link #getMaxTicksPerFrame()} ticks have been run in a frame.
+	 * The default value is {@link com.accele.gage.TickCatchUpPolicy#SKIP SKIP}.
+	 * 
+	 * @return the tick catch-up policy
+	 */
+	public TickCatchUpPolicy getTickCatchUpPolicy() {
+		return tickCatchUpPolicy;
+	}
+	
+	/**
+	 * Sets the policy used for ticks that are still due once {@link #getMaxTicksPerFrame()} ticks have been run in a frame.
+	 * 
+	 * @param tickCatchUpPolicy the tick catch-up policy
+	 */
+	public void setTickCatchUpPolicy(TickCatchUpPolicy tickCatchUpPolicy) {
+		this.tickCatchUpPolicy = tickCatchUpPolicy;
+	}
+	
+	/**
+	 * Returns the maximum number of deferred events each context will run per game loop cycle. 
+	 * A value of 0 means that there is no limit. The default value is {@value #DEFAULT_MAX_EVENTS_PER_FRAME}.
+	 * 
+	 * @return the maximum number of deferred events per context and cycle, or 0 if there is no limit
+	 */
+	public int getMaxEventsPerFrame() {
+		return maxEventsPerFrame;
+	}
+	
+	/**
+	 * Sets the maximum number of deferred events each context will run per game loop cycle. 
+	 * Events beyond this limit are carried over to the next cycle.
+	 * 
+	 * @param maxEventsPerFrame the maximum number of deferred events per context and cycle, or 0 for no limit
+	 * @throws IllegalArgumentException if {@code maxEventsPerFrame} is negative
+	 */
+	public void setMaxEventsPerFrame(int maxEventsPerFrame) {
+		if (maxEventsPerFrame < 0)
+			throw new IllegalArgumentException("The maximum number of events per frame cannot be negative.");
+		this.maxEventsPerFrame = maxEventsPerFrame;
+	}
+	
+	/**
+	 * Returns the time each context may spend running deferred events per game loop cycle. 
+	 * A value of 0 means that there is no limit. The default value is {@value #DEFAULT_EVENT_TIME_BUDGET}.
+	 * 
+	 * @return the deferred event time budget per context and cycle in milliseconds, or 0 if there is no limit
+	 */
+	public double getEventTimeBudget() {
+		return eventTimeBudget;
+	}
+	
+	/**
+	 * Sets the time each context may spend running deferred events per game loop cycle. 
+	 * Once the budget is spent, the remaining events are carried over to the next cycle. At least one event is always run per cycle, 
+	 * so a single event that takes longer than the budget will not stall the queue.
+	 * 
+	 * @param eventTimeBudget the deferred event time budget per context and cycle in milliseconds, or 0 for no limit
+	 * @throws IllegalArgumentException if {@code eventTimeBudget} is negative
+	 */
+	public void setEventTimeBudget(double eventTimeBudget) {
+		if (eventTimeBudget < 0)
+			throw new IllegalArgumentException("The event time budget cannot be negative.");
+		this.eventTimeBudget = eventTimeBudget;
+	}
+	
+	/**
+	 * Returns the amount of texture data the {@link com.accele.gage.gfx.TextureUploader TextureUploader} may upload per game loop cycle. 
+	 * The default value is {@value #DEFAULT_TEXTURE_UPLOAD_BUDGET}.
+	 * 
+	 * @return the texture upload budget per cycle in megabytes
+	 */
+	public double getTextureUploadBudget() {
+		return textureUploadBudget;
+	}
+	
+	/**
+	 * Sets the amount of texture data the {@link com.accele.gage.gfx.TextureUploader TextureUploader} may upload per game loop cycle. 
+	 * Larger textures are uploaded a few rows at a time over several cycles. At least one row is always uploaded per cycle if any uploads are pending.
+	 * 
+	 * @param textureUploadBudget the texture upload budget per cycle in megabytes
+	 * @throws IllegalArgumentException if {@code textureUploadBudget} is not positive
+	 */
+	public void setTextureUploadBudget(double textureUploadBudget) {
+		if (textureUploadBudget <= 0)
+			throw new IllegalArgumentException("The texture upload budget must be positive.");
+		this.textureUploadBudget = textureUploadBudget;
+	}
+	
+	/**
+	 * Returns the amount of GPU memory the textures in the texture registry may use before the
+	 * {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager} starts evicting them. 
+	 * The default value is {@value #DEFAULT_TEXTURE_MEMORY_BUDGET}, which means that textures are never evicted.
+	 * 
+	 * @return the texture memory budget in megabytes, or 0 for no limit
+	 */
+	public double getTextureMemoryBudget() {
+		return textureMemoryBudget;
+	}
+	
+	/**
+	 * Sets the amount of GPU memory the textures in the texture registry may use before the
+	 * {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager} starts evicting them. 
+	 * The least recently bound textures are evicted first, and evicted textures are reloaded from their resource the next time they are used.
+	 * 
+	 * @param textureMemoryBudget the texture memory budget in megabytes, or 0 for no limit
+	 * @throws IllegalArgumentException if {@code textureMemoryBudget} is negative
+	 */
+	public void setTextureMemoryBudget(double textureMemoryBudget) {
+		if (textureMemoryBudget < 0)
+			throw new IllegalArgumentException("The texture memory budget cannot be negative.");
+		this.textureMemoryBudget = textureMemoryBudget;
+	}
+	
 	void setFps(int fps) {
 		fpsChangeCallbacks.forEach(c -> c.call(this.fps, fps));
 		this.fps = fps;
@@ -278,18 +484,45 @@ public class GameConfiguration {
 	
 	/**
 	 * Returns whether mipmaps should be generated when creating new instances of {@link com.accele.gage.gfx.Texture Texture}.
+	 * This is the case unless the {@link #getTextureMipmapPolicy() texture mipmap policy} is {@link com.accele.gage.gfx.MipmapPolicy#NONE NONE}.
 	 * @return whether mipmaps should be generated when creating new instances of {@code Texture}
 	 */
 	public boolean shouldGenerateTextureMipmaps() {
-		return generateTextureMipmaps;
+		return textureMipmapPolicy != MipmapPolicy.NONE;
 	}
 	
 	/**
 	 * Sets whether mipmaps should be generated when creating new instances of {@link com.accele.gage.gfx.Texture Texture}.
+	 * Passing false sets the {@link #getTextureMipmapPolicy() texture mipmap policy} to {@link com.accele.gage.gfx.MipmapPolicy#NONE NONE};
+	 * passing true sets it to {@link com.accele.gage.gfx.MipmapPolicy#PRECOMPUTED PRECOMPUTED} if it was {@code NONE} and leaves it unchanged otherwise.
 	 * @param generateTextureMipmaps whether mipmaps should be generated when creating new instances of {@code Texture}
 	 */
 	public void setShouldGenerateTextureMipmaps(boolean generateTextureMipmaps) {
-		this.generateTextureMipmaps = generateTextureMipmaps;
+		if (!generateTextureMipmaps)
+			this.textureMipmapPolicy = MipmapPolicy.NONE;
+		else if (textureMipmapPolicy == MipmapPolicy.NONE)
+			this.textureMipmapPolicy = MipmapPolicy.PRECOMPUTED;
+	}
+	
+	/**
+	 * Returns how the texture loaders in {@link com.accele.gage.ResourceLoaders ResourceLoaders} create the mip chain of new textures,
+	 * unless a different {@link com.accele.gage.gfx.MipmapPolicy MipmapPolicy} is passed to the loader. 
+	 * The default value is {@link com.accele.gage.gfx.MipmapPolicy#PRECOMPUTED PRECOMPUTED}.
+	 * 
+	 * @return the default texture mipmap policy
+	 */
+	public MipmapPolicy getTextureMipmapPolicy() {
+		return textureMipmapPolicy;
+	}
+	
+	/**
+	 * Sets how the texture loaders in {@link com.accele.gage.ResourceLoaders ResourceLoaders} create the mip chain of new textures,
+	 * unless a different {@link com.accele.gage.gfx.MipmapPolicy MipmapPolicy} is passed to the loader.
+	 * 
+	 * @param textureMipmapPolicy the default texture mipmap policy
+	 */
+	public void setTextureMipmapPolicy(MipmapPolicy textureMipmapPolicy) {
+		this.textureMipmapPolicy = textureMipmapPolicy;
 	}
 	
 	/**
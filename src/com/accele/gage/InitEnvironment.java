@@ -7,6 +7,7 @@ import java.text.SimpleDateFormat;
 public class InitEnvironment {
 
 	private static final int DEFAULT_DRAW_BATCH_SIZE = 4096;
+	private static final int DEFAULT_WORKER_THREAD_COUNT = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
 	private static final OutputStream DEFAULT_LOGGER_DESTINATION = System.out;
 	private static final OutputStream DEFAULT_LOGGER_ERROR_DESTINATION = System.err;
 	private static final String DEFAULT_LOGGER_PREFIX = "";
@@ -14,6 +15,7 @@ public class InitEnvironment {
 	
 	private int[] customWindowHints;
 	private int drawBatchSize;
+	private int workerThreadCount;
 	private OutputStream loggerDestination;
 	private OutputStream loggerErrorDestination;
 	private String loggerPrefix;
@@ -22,6 +24,7 @@ public class InitEnvironment {
 	public InitEnvironment() {
 		this.customWindowHints = null;
 		this.drawBatchSize = DEFAULT_DRAW_BATCH_SIZE;
+		this.workerThreadCount = DEFAULT_WORKER_THREAD_COUNT;
 		this.loggerDestination = DEFAULT_LOGGER_DESTINATION;
 		this.loggerErrorDestination = DEFAULT_LOGGER_ERROR_DESTINATION;
 		this.loggerPrefix = DEFAULT_LOGGER_PREFIX;
@@ -89,6 +92,22 @@ public class InitEnvironment {
 		this.drawBatchSize = DEFAULT_DRAW_BATCH_SIZE;
 		return this;
 	}
+	
+	public int getWorkerThreadCount() {
+		return workerThreadCount;
+	}
+	
+	public InitEnvironment setWorkerThreadCount(int workerThreadCount) {
+		if (workerThreadCount < 1)
+			throw new IllegalArgumentException("The worker thread count must be positive.");
+		this.workerThreadCount = workerThreadCount;
+		return this;
+	}
+	
+	public InitEnvironment useDefaultWorkerThreadCount() {
+		this.workerThreadCount = DEFAULT_WORKER_THREAD_COUNT;
+		return this;
+	}
 
 	public OutputStream getLoggerDestination() {
 		return loggerDestination;
@@ -125,7 +125,10 @@ public class Registry<T extends Indexable> implements Cleanable {
 	 * @throws IllegalArgumentException if the registry does not contain an entry with the specified registry ID
 	 */
 	public T getEntry(String id) {
-		return entries.values().stream().filter(p -> p.getRegistryId().equals(id)).findAny().orElseThrow(() -> new IllegalArgumentException("Invalid entry for id \"" + id + "\"."));
+		T entry = entries.get(id);
+		if (entry == null)
+			throw new IllegalArgumentException("Invalid entry for id \"" + id + "\".");
+		return entry;
 	}
 	
 	/**
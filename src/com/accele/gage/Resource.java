@@ -59,4 +59,22 @@ public class Resource<T> {
 		return src;
 	}
 	
+	/**
+	 * Returns the {@link com.accele.gage.ResourceLoader ResourceLoader} used by this {@code Resource}.
+	 * 
+	 * @return the {@code ResourceLoader} used by this {@code Resource}
+	 */
+	public ResourceLoader<T> getLoader() {
+		return loader;
+	}
+	
+	/**
+	 * Returns the additional arguments passed to the {@link com.accele.gage.ResourceLoader ResourceLoader} of this {@code Resource}.
+	 * 
+	 * @return the additional loader arguments of this {@code Resource}
+	 */
+	public Object[] getLoaderArgs() {
+		return additionalArgs;
+	}
+	
 }
@@ -16,13 +16,11 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
-import javax.imageio.ImageIO;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
@@ -30,17 +28,25 @@ import javax.sound.sampled.UnsupportedAudioFileException;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.openal.AL10;
+import org.lwjgl.opengl.ARBTextureCompressionBPTC;
+import org.lwjgl.opengl.EXTTextureCompressionS3TC;
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL12;
+import org.lwjgl.stb.STBImage;
 import org.lwjgl.stb.STBVorbis;
+import org.lwjgl.stb.STBVorbisInfo;
 import org.lwjgl.system.MemoryStack;
 import org.lwjgl.system.libc.LibCStdlib;
 
 import com.accele.gage.gfx.CharMeta;
 import com.accele.gage.gfx.FontMeta;
+import com.accele.gage.gfx.MipmapGenerator;
+import com.accele.gage.gfx.MipmapPolicy;
 import com.accele.gage.gfx.Texture;
 import com.accele.gage.gfx.TextureMeta;
 import com.accele.gage.sfx.SoundBuffer;
+import com.accele.gage.sfx.SoundStream;
+import com.accele.gage.tile.TileMapData;
 import com.accele.gage.tile.TileMapMeta;
 
 /**
@@ -54,106 +60,237 @@ import com.accele.gage.tile.TileMapMeta;
  */
 public class ResourceLoaders {
 
+	private static final int DDSD_MIPMAPCOUNT = 0x20000;
+	private static final int DDPF_FOURCC = 0x4;
+	private static final int DDSCAPS2_CUBEMAP = 0x200;
+	private static final int DDSCAPS2_VOLUME = 0x200000;
+	private static final int DDS_DIMENSION_TEXTURE2D = 3;
+	private static final int DXGI_FORMAT_BC1_UNORM = 71;
+	private static final int DXGI_FORMAT_BC1_UNORM_SRGB = 72;
+	private static final int DXGI_FORMAT_BC3_UNORM = 77;
+	private static final int DXGI_FORMAT_BC3_UNORM_SRGB = 78;
+	private static final int DXGI_FORMAT_BC7_UNORM = 98;
+	private static final int DXGI_FORMAT_BC7_UNORM_SRGB = 99;
+	private static final byte[] KTX_IDENTIFIER = { (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n' };
+	private static final int KTX_ENDIANNESS = 0x04030201;
+
 	private ResourceLoaders() {}
 
 	/**
 	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a BMP file.
+	 * <p>
+	 * Only uncompressed 24-bit and 32-bit bitmaps are supported. Both bottom-up and top-down bitmaps are accepted.
+	 * </p>
+	 * <p>
+	 * A {@link com.accele.gage.gfx.MipmapPolicy MipmapPolicy} can be passed as the first loader argument to override the
+	 * {@link com.accele.gage.GameConfiguration#getTextureMipmapPolicy() configured policy} for this texture.
+	 * </p>
 	 */
 	public static ResourceLoader<TextureMeta> BMP_TEXTURE_LOADER = (src, args) -> {
-		ByteBuffer b = null;
-
-		try {
-			InputStream in = src.getInputStream();
-			byte[] bytes = in.readAllBytes();
-			b = BufferUtils.createByteBuffer((int) bytes.length);
-			for (int i = 0; i < bytes.length; i++)
-				b.put(bytes[i]);
-			b.flip();
-			in.close();
-		} catch (IOException e) {
-			throw new GAGEException(e);
-		}
-
-		byte[] header = new byte[54];
-		b.get(header, 0, header.length);
+		ByteBuffer b = readResource(src);
+		ByteBuffer header = b.duplicate().order(ByteOrder.LITTLE_ENDIAN);
 
-		ByteBuffer headerBuffer = ByteBuffer.wrap(header).order(ByteOrder.nativeOrder());
-
-		char verification0 = (char) headerBuffer.get();
-		char verification1 = (char) headerBuffer.get();
-
-		if (verification0 != 'B' || verification1 != 'M')
+		if (header.remaining() < 54 || header.get(0) != 'B' || header.get(1) != 'M')
 			throw new IllegalStateException("Invalid header for BMP file.");
 
-		headerBuffer.getLong();
-		headerBuffer.get();
-
-		int dataPos = headerBuffer.getChar(); // 0x0A
-		for (int i = 0; i < 5; i++)
-			headerBuffer.get();
-		int width = headerBuffer.getChar(); // 0x12
-		for (int i = 0; i < 2; i++)
-			headerBuffer.get();
-		int height = headerBuffer.getChar(); // 0x16
-		for (int i = 0; i < 9; i++)
-			headerBuffer.get();
-		int imageSize = headerBuffer.getChar(); // 0x22
-
-		if (imageSize == 0)
-			imageSize = width * height * 3;
+		int dataPos = header.getInt(0x0A);
+		int width = header.getInt(0x12);
+		int height = header.getInt(0x16);
+		int bitsPerPixel = header.getShort(0x1C);
+		int compression = header.getInt(0x1E);
+
+		if ((bitsPerPixel != 24 && bitsPerPixel != 32) || (compression != 0 && !(compression == 3 && bitsPerPixel == 32)))
+			throw new GAGEException("Error loading BMP file " + src + ": only uncompressed 24-bit and 32-bit bitmaps are supported.");
 		if (dataPos == 0)
 			dataPos = 54;
 
+		boolean topDown = height < 0;
+		height = Math.abs(height);
+		int stride = ((width * bitsPerPixel / 8) + 3) & ~3;
+		if (dataPos + (long) stride * height > b.limit())
+			throw new GAGEException("Error loading BMP file " + src + ": the pixel data is truncated.");
+
 		b.position(dataPos);
 		ByteBuffer dataBuffer = b.slice();
-		dataBuffer.limit(imageSize);
+		dataBuffer.limit(stride * height);
+
+		if (topDown) {
+			ByteBuffer flipped = BufferUtils.createByteBuffer(stride * height);
+			ByteBuffer row = dataBuffer.duplicate();
+			for (int y = height - 1; y >= 0; y--) {
+				row.limit((y + 1) * stride).position(y * stride);
+				flipped.put(row);
+			}
+			flipped.flip();
+			dataBuffer = flipped;
+		}
 
-		return new TextureMeta(dataBuffer, width, height, GL12.GL_BGR, 
-				GAGE.getInstance().getConfig().getTextureParameters(), GAGE.getInstance().getConfig().shouldGenerateTextureMipmaps());
+		return createTextureMeta(dataBuffer, width, height, bitsPerPixel == 32 ? GL12.GL_BGRA : GL12.GL_BGR, args, () -> {});
 	};
 
 	/**
-	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a PNG file.
+	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a PNG, JPEG, TGA, BMP, GIF, PSD, HDR, or PIC file.
+	 * <p>
+	 * The image is decoded by {@link org.lwjgl.stb.STBImage STBImage} straight into native memory as flipped RGBA pixels, 
+	 * without any intermediate Java copies. The decoded pixels are freed as soon as the texture has been uploaded.
+	 * The image format is detected from the file contents, so this loader can be used for any supported format.
+	 * </p>
+	 * <p>
+	 * A {@link com.accele.gage.gfx.MipmapPolicy MipmapPolicy} can be passed as the first loader argument to override the
+	 * {@link com.accele.gage.GameConfiguration#getTextureMipmapPolicy() configured policy} for this texture.
+	 * </p>
 	 */
-	public static final ResourceLoader<TextureMeta> PNG_TEXTURE_LOADER = (src, args) -> {
-		BufferedImage image = null;
-		try {
-			image = ImageIO.read(src.getInputStream());
-		} catch (IOException e) {
-			throw new GAGEException(e);
+	public static final ResourceLoader<TextureMeta> IMAGE_TEXTURE_LOADER = (src, args) -> {
+		ByteBuffer encoded = readResource(src);
+
+		ByteBuffer pixels;
+		int width;
+		int height;
+		try (MemoryStack stack = MemoryStack.stackPush()) {
+			IntBuffer widthBuffer = stack.mallocInt(1);
+			IntBuffer heightBuffer = stack.mallocInt(1);
+			IntBuffer channelsBuffer = stack.mallocInt(1);
+
+			STBImage.stbi_set_flip_vertically_on_load(true);
+			pixels = STBImage.stbi_load_from_memory(encoded, widthBuffer, heightBuffer, channelsBuffer, 4);
+			if (pixels == null)
+				throw new GAGEException("Error loading image " + src + ": " + STBImage.stbi_failure_reason());
+
+			width = widthBuffer.get(0);
+			height = heightBuffer.get(0);
 		}
 
-		AffineTransform at = new AffineTransform();
-		at.concatenate(AffineTransform.getScaleInstance(1, -1));
-		at.concatenate(AffineTransform.getTranslateInstance(0, -image.getHeight()));
-		BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
-		Graphics2D g = newImage.createGraphics();
-		g.transform(at);
-		g.drawImage(image, 0, 0, null);
-		g.dispose();
-		image = newImage;
+		return createTextureMeta(pixels, width, height, GL11.GL_RGBA, args, () -> STBImage.stbi_image_free(pixels));
+	};
 
-		int width = image.getWidth();
-		int height = image.getHeight();
+	/**
+	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a PNG file.
+	 * <p>
+	 * This loader is the same as {@link #IMAGE_TEXTURE_LOADER}.
+	 * </p>
+	 */
+	public static final ResourceLoader<TextureMeta> PNG_TEXTURE_LOADER = IMAGE_TEXTURE_LOADER;
 
-		int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
-		ByteBuffer buffer = BufferUtils.createByteBuffer(width * height * 4);
+	/**
+	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a JPEG file.
+	 * <p>
+	 * This loader is the same as {@link #IMAGE_TEXTURE_LOADER}.
+	 * </p>
+	 */
+	public static final ResourceLoader<TextureMeta> JPG_TEXTURE_LOADER = IMAGE_TEXTURE_LOADER;
 
-		for (int i = 0; i < height; i++) {
-			for (int j = 0; j < width; j++) {
-				int pixel = pixels[i * width + j];
+	/**
+	 * A loader that produces a {@link com.accele.gage.gfx.Texture Texture} from a TGA file.
+	 * <p>
+	 * This loader is the same as {@link #IMAGE_TEXTURE_LOADER}.
+	 * </p>
+	 */
+	public static final ResourceLoader<TextureMeta> TGA_TEXTURE_LOADER = IMAGE_TEXTURE_LOADER;
 
-				buffer.put((byte) ((pixel >> 16) & 0xff)); // r
-				buffer.put((byte) ((pixel >> 8) & 0xff)); // g
-				buffer.put((byte) ((pixel >> 0) & 0xff)); // b
-				buffer.put((byte) ((pixel >> 24) & 0xff)); // a
+	/**
+	 * A loader that produces a compressed {@link com.accele.gage.gfx.Texture Texture} from a DDS file.
+	 * <p>
+	 * The file must contain a single 2D image compressed as BC1 ({@code DXT1}), BC3 ({@code DXT5}), or, with a {@code DX10} header, BC7,
+	 * optionally followed by its precomputed mip chain. The compressed data is uploaded as-is with {@code glCompressedTexImage2D}, so it is not decoded,
+	 * flipped, or mipmapped at load time. Like every other GAGE texture, the rows must be stored bottom to top; DDS files exported by other tools
+	 * usually need to be flipped vertically when they are exported. sRGB formats are loaded as their linear counterparts.
+	 * </p>
+	 */
+	public static final ResourceLoader<TextureMeta> DDS_TEXTURE_LOADER = (src, args) -> {
+		ByteBuffer b = readResource(src).order(ByteOrder.LITTLE_ENDIAN);
+
+		if (b.limit() < 128 || b.getInt(0) != fourCC("DDS ") || b.getInt(4) != 124)
+			throw new GAGEException("Error loading DDS file " + src + ": invalid header.");
+		if ((b.getInt(80) & DDPF_FOURCC) == 0 || (b.getInt(112) & (DDSCAPS2_CUBEMAP | DDSCAPS2_VOLUME)) != 0)
+			throw new GAGEException("Error loading DDS file " + src + ": only compressed 2D textures are supported.");
+
+		int height = b.getInt(12);
+		int width = b.getInt(16);
+		int levelCount = (b.getInt(8) & DDSD_MIPMAPCOUNT) != 0 ? Math.max(1, b.getInt(28)) : 1;
+		int fourCC = b.getInt(84);
+		int dataPos = 128;
+		int internalFormat;
+		if (fourCC == fourCC("DXT1")) {
+			internalFormat = EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT1_EXT;
+		} else if (fourCC == fourCC("DXT5")) {
+			internalFormat = EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT;
+		} else if (fourCC == fourCC("DX10") && b.limit() >= 148 && b.getInt(132) == DDS_DIMENSION_TEXTURE2D && b.getInt(140) == 1) {
+			dataPos = 148;
+			switch (b.getInt(128)) {
+				case DXGI_FORMAT_BC1_UNORM:
+				case DXGI_FORMAT_BC1_UNORM_SRGB:
+					internalFormat = EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT1_EXT;
+					break;
+				case DXGI_FORMAT_BC3_UNORM:
+				case DXGI_FORMAT_BC3_UNORM_SRGB:
+					internalFormat = EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT;
+					break;
+				case DXGI_FORMAT_BC7_UNORM:
+				case DXGI_FORMAT_BC7_UNORM_SRGB:
+					internalFormat = ARBTextureCompressionBPTC.GL_COMPRESSED_RGBA_BPTC_UNORM_ARB;
+					break;
+				default:
+					throw new GAGEException("Error loading DDS file " + src + ": only BC1, BC3, and BC7 textures are supported.");
 			}
+		} else
+			throw new GAGEException("Error loading DDS file " + src + ": only BC1, BC3, and BC7 textures are supported.");
+
+		levelCount = Math.min(levelCount, 32 - Integer.numberOfLeadingZeros(Math.max(width, height)));
+		ByteBuffer[] levels = new ByteBuffer[levelCount];
+		for (int i = 0; i < levelCount; i++) {
+			int size = getCompressedLevelSize(internalFormat, Math.max(1, width >> i), Math.max(1, height >> i));
+			if (dataPos + (long) size > b.limit())
+				throw new GAGEException("Error loading DDS file " + src + ": the data of mip level " + i + " is truncated.");
+			levels[i] = sliceLevel(b, dataPos, size);
+			dataPos += size;
 		}
 
-		buffer.flip();
+		return new TextureMeta(levels, width, height, internalFormat, GAGE.getInstance().getConfig().getTextureParameters(), () -> {});
+	};
 
-		return new TextureMeta(buffer, width, height, GL11.GL_RGBA,
-				GAGE.getInstance().getConfig().getTextureParameters(), GAGE.getInstance().getConfig().shouldGenerateTextureMipmaps());
+	/**
+	 * A loader that produces a compressed {@link com.accele.gage.gfx.Texture Texture} from a KTX (version 1) file.
+	 * <p>
+	 * The file must contain a single 2D image compressed as BC1, BC3, or BC7, optionally followed by its precomputed mip chain.
+	 * The compressed data is uploaded as-is with {@code glCompressedTexImage2D}, so it is not decoded, flipped, or mipmapped at load time.
+	 * KTX files store their rows in OpenGL order, which is what GAGE expects; {@link com.accele.gage.tools.TextureCompressor TextureCompressor}
+	 * can be used to convert existing images into KTX files.
+	 * </p>
+	 */
+	public static final ResourceLoader<TextureMeta> KTX_TEXTURE_LOADER = (src, args) -> {
+		ByteBuffer b = readResource(src);
+
+		if (b.limit() < 64)
+			throw new GAGEException("Error loading KTX file " + src + ": invalid header.");
+		for (int i = 0; i < KTX_IDENTIFIER.length; i++) {
+			if (b.get(i) != KTX_IDENTIFIER[i])
+				throw new GAGEException("Error loading KTX file " + src + ": invalid header.");
+		}
+		b.order(ByteOrder.LITTLE_ENDIAN);
+		if (b.getInt(12) != KTX_ENDIANNESS)
+			b.order(ByteOrder.BIG_ENDIAN);
+
+		int internalFormat = b.getInt(28);
+		int width = b.getInt(36);
+		int height = b.getInt(40);
+		if (b.getInt(16) != 0 || getCompressedBlockSize(internalFormat) == 0)
+			throw new GAGEException("Error loading KTX file " + src + ": only BC1, BC3, and BC7 textures are supported.");
+		if (height == 0 || b.getInt(44) != 0 || b.getInt(48) != 0 || b.getInt(52) != 1)
+			throw new GAGEException("Error loading KTX file " + src + ": only 2D textures are supported.");
+
+		int levelCount = Math.min(Math.max(1, b.getInt(56)), 32 - Integer.numberOfLeadingZeros(Math.max(width, height)));
+		long dataPos = 64L + b.getInt(60);
+		ByteBuffer[] levels = new ByteBuffer[levelCount];
+		for (int i = 0; i < levelCount; i++) {
+			int size = getCompressedLevelSize(internalFormat, Math.max(1, width >> i), Math.max(1, height >> i));
+			if (dataPos + 4 > b.limit() || b.getInt((int) dataPos) < size || dataPos + 4 + size > b.limit())
+				throw new GAGEException("Error loading KTX file " + src + ": the data of mip level " + i + " is truncated.");
+			int imageSize = b.getInt((int) dataPos);
+			levels[i] = sliceLevel(b, (int) dataPos + 4, size);
+			dataPos += 4 + ((imageSize + 3) & ~3);
+		}
+
+		return new TextureMeta(levels, width, height, internalFormat, GAGE.getInstance().getConfig().getTextureParameters(), () -> {});
 	};
 
 	/**
@@ -179,18 +316,7 @@ public class ResourceLoaders {
 		MemoryStack.stackPush();
 		IntBuffer sampleRateBuffer = MemoryStack.stackMallocInt(1);
 
-		ByteBuffer b;
-		try {
-			InputStream in = src.getInputStream();
-			byte[] bytes = in.readAllBytes();
-			b = BufferUtils.createByteBuffer((int) bytes.length);
-			for (int i = 0; i < bytes.length; i++)
-				b.put(bytes[i]);
-			b.flip();
-			in.close();
-		} catch (IOException e) {
-			throw new GAGEException(e);
-		}
+		ByteBuffer b = readResource(src);
 		
 		ShortBuffer rawAudioBuffer = STBVorbis.stb_vorbis_decode_memory(b, channelsBuffer, sampleRateBuffer);
 		
@@ -213,6 +339,32 @@ public class ResourceLoaders {
 				() -> LibCStdlib.free(rawAudioBuffer));
 	};
 	
+	/**
+	 * A loader that produces a {@link com.accele.gage.sfx.SoundStream.SoundStreamMeta SoundStreamMeta} from an OGG file.
+	 * <p>
+	 * Unlike {@link #OGG_SOUND_LOADER OGG_SOUND_LOADER}, this loader does not decode the file. It only opens a decoder on the compressed data,
+	 * which is memory-mapped for file-backed resources, so loading takes the same time regardless of the length of the sound.
+	 * </p>
+	 */
+	public static final ResourceLoader<SoundStream.SoundStreamMeta> OGG_STREAM_LOADER = (src, args) -> {
+		ByteBuffer b = readResource(src);
+		
+		try (MemoryStack stack = MemoryStack.stackPush()) {
+			IntBuffer error = stack.mallocInt(1);
+			long decoder = STBVorbis.stb_vorbis_open_memory(b, error, null);
+			if (decoder == 0)
+				throw new GAGEException("Error loading OGG file " + src + ": stb_vorbis error " + error.get(0) + ".");
+			
+			STBVorbisInfo info = STBVorbisInfo.mallocStack(stack);
+			STBVorbis.stb_vorbis_get_info(decoder, info);
+			if (info.channels() != 1 && info.channels() != 2) {
+				STBVorbis.stb_vorbis_close(decoder);
+				throw new GAGEException("Error loading OGG file " + src + ": only mono and stereo sounds can be streamed.");
+			}
+			return new SoundStream.SoundStreamMeta(b, decoder, info.channels(), info.sample_rate());
+		}
+	};
+	
 	/**
 	 * A loader that produces a {@link com.accele.gage.sfx.SoundBuffer.SoundBufferMeta SoundBufferMeta} from a WAV file.
 	 */
@@ -327,6 +479,23 @@ public class ResourceLoaders {
 	 * <td>Yes</td>
 	 * <td>{@code tiles = [0, 0, 0, 0, 1, 1, 0, 2, 5, 0, 0, 1, 1]}</td>
 	 * </tr>
+	 * <tr>
+	 * <td>layer <i>name</i></td>
+	 * <td>Specifies an additional layer of tiles with the given name, in the same form as {@code tiles} and with the same number of tiles. Layers, including {@code tiles} itself,
+	 * are drawn in the order they appear in the file. Only {@code tiles} is loaded by a {@link com.accele.gage.tile.TileMap TileMap}; all layers are loaded by a
+	 * {@link com.accele.gage.tile.LayeredTileMap LayeredTileMap}.</td>
+	 * <td>An integer array.</td>
+	 * <td>No</td>
+	 * <td>{@code layer background = [3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3]}</td>
+	 * </tr>
+	 * <tr>
+	 * <td>parallax <i>name</i></td>
+	 * <td>Specifies how far the layer with the given name moves relative to the camera, where 1 moves with the scene and 0 stays fixed on the screen.
+	 * A single value applies to both axes. Defaults to 1.</td>
+	 * <td>One or two floating-point values</td>
+	 * <td>No</td>
+	 * <td>{@code parallax background = 0.5, 1}</td>
+	 * </tr>
 	 * </table>
 	 */
 	public static final ResourceLoader<TileMapMeta> TILE_MAP_LOADER = (src, args) -> {
@@ -339,123 +508,88 @@ public class ResourceLoaders {
 			throw new GAGEException(e);
 		}
 
-		float tileWidth = -1;
-		float tileHeight = -1;
-		int rowSize = -1;
-		int[] tiles = null;
-		Map<Integer, Texture> textures = null;
-		int visibleTilesX = -1;
-		int visibleTilesY = -1;
-
-		for (int i = 0; i < data.size(); i++) {
-			String line = data.get(i);
-			if (line.startsWith("#"))
-				continue;
-
-			if (line.contains("=")) {
-				String[] parts = line.split("=");
-
-				if (parts[0].trim().equalsIgnoreCase("visibleTilesX")) {
-					visibleTilesX = Integer.parseInt(parts[1].trim());
-				} else if (parts[0].trim().equalsIgnoreCase("visibleTilesY")) {
-					visibleTilesY = Integer.parseInt(parts[1].trim());
-				} else if (parts[0].trim().equalsIgnoreCase("tilewidth")) {
-					tileWidth = Float.parseFloat(parts[1].trim());
-				} else if (parts[0].trim().equalsIgnoreCase("tileheight")) {
-					tileHeight = Float.parseFloat(parts[1].trim());
-				} else if (parts[0].trim().equalsIgnoreCase("rowsize")) {
-					rowSize = Integer.parseInt(parts[1].trim());
-				} else if (parts[0].trim().equalsIgnoreCase("key")) {
-					List<String> subLines = new ArrayList<>();
-
-					for (int j = i; j < data.size(); j++) {
-						if (data.get(j).contains("}")) {
-							subLines.add(data.get(j));
-							textures = parseKey(subLines);
-							i = j;
-							break;
-						} else if (!data.get(j).startsWith("#"))
-							subLines.add(data.get(j));
-					}
-				} else if (parts[0].trim().equalsIgnoreCase("tiles")) {
-					List<String> subLines = new ArrayList<>();
-
-					for (int j = i; j < data.size(); j++) {
-						if (data.get(j).contains("]")) {
-							subLines.add(data.get(j));
-							tiles = parseTiles(subLines);
-							i = j;
-							break;
-						} else if (!data.get(j).startsWith("#"))
-							subLines.add(data.get(j));
-					}
-				}
-			}
-		}
+		return TileMapData.parse(data, src.toString()).resolve(GAGE.getInstance().getTextureRegistry());
+	};
 
-		List<String> errors = new ArrayList<>();
-
-		if (tileWidth == -1)
-			errors.add("tileWidth");
-		if (tileHeight == -1)
-			errors.add("tileHeight");
-		if (rowSize == -1)
-			errors.add("rowSize");
-		if (textures == null)
-			errors.add("key");
-		if (tiles == null)
-			errors.add("tiles");
-
-		if (visibleTilesX == -1)
-			visibleTilesX = rowSize;
-
-		if (visibleTilesY == -1 && tiles != null)
-			visibleTilesY = tiles.length / rowSize;
-
-		if (!errors.isEmpty()) {
-			throw new GAGEException("[" + src
-					+ "] TILE_MAP_LOADER_ERROR: The following attributes are required but were not present in the parsed file: "
-					+ errors);
+	/**
+	 * A loader that produces a {@link com.accele.gage.tile.TileMapMeta TileMapMeta} from a binary tile map file.
+	 * <p>
+	 * The binary format stores the same information as the text format of {@link #TILE_MAP_LOADER TILE_MAP_LOADER}, with the tiles
+	 * as little-endian palette indices that are optionally LZ4-compressed, so loading a map does not parse any text.
+	 * File-backed resources are memory-mapped rather than read into the heap.
+	 * The layout is described in {@link com.accele.gage.tile.TileMapData TileMapData}, and text files can be converted with the
+	 * {@link com.accele.gage.tools.TileMapConverter TileMapConverter} tool.
+	 * </p>
+	 */
+	public static final ResourceLoader<TileMapMeta> BINARY_TILE_MAP_LOADER = (src, args) -> {
+		ByteBuffer data = readResource(src);
+		try {
+			return TileMapData.read(data).resolve(GAGE.getInstance().getTextureRegistry());
+		} catch (GAGEException e) {
+			throw new GAGEException("[" + src + "] TILE_MAP_LOADER_ERROR: " + e.getMessage());
 		}
-
-		return new TileMapMeta(textures, tiles, rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
 	};
 
-	private static Map<Integer, Texture> parseKey(List<String> lines) {
-		Registry<Texture> registry = GAGE.getInstance().getTextureRegistry();
-
-		String str = lines.stream().reduce("", (a, b) -> a + "\n" + b).split("\\{")[1].split("\\}")[0].trim();
-
-		String[] pairs = str.contains(",") ? str.split(",") : new String[] { str };
-
-		Map<Integer, Texture> result = new HashMap<>();
-
-		for (int i = 0; i < pairs.length; i++) {
-			String[] parts = pairs[i].trim().split(":");
-
-			int key = Integer.parseInt(parts[0].trim());
-			String value = parts[1].trim().replace("\"", "");
-
-			result.put(key, registry.getEntry(value));
+	private static TextureMeta createTextureMeta(ByteBuffer pixels, int width, int height, int format, Object[] args, Cleanable cleanupTask) {
+		GameConfiguration config = GAGE.getInstance().getConfig();
+		MipmapPolicy policy = args.length > 0 && args[0] instanceof MipmapPolicy ? (MipmapPolicy) args[0] : config.getTextureMipmapPolicy();
+
+		switch (policy) {
+			case RUNTIME:
+				return new TextureMeta(pixels, width, height, format, config.getTextureParameters(), true, cleanupTask);
+			case PRECOMPUTED:
+				return new TextureMeta(MipmapGenerator.generate(pixels, width, height, format), width, height, format, config.getTextureParameters(), false, cleanupTask);
+			default:
+				return new TextureMeta(pixels, width, height, format, config.getTextureParameters(), false, cleanupTask);
 		}
-
-		return result;
 	}
 
-	private static int[] parseTiles(List<String> lines) {
-		String str = lines.stream().reduce("", (a, b) -> a + "\n" + b).split("\\[")[1].split("\\]")[0].trim();
+	private static int fourCC(String code) {
+		return code.charAt(0) | (code.charAt(1) << 8) | (code.charAt(2) << 16) | (code.charAt(3) << 24);
+	}
 
-		String[] tiles = str.contains(",") ? str.split(",") : new String[] { str };
+	private static int getCompressedBlockSize(int internalFormat) {
+		switch (internalFormat) {
+			case EXTTextureCompressionS3TC.GL_COMPRESSED_RGB_S3TC_DXT1_EXT:
+			case EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT1_EXT:
+				return 8;
+			case EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT:
+			case ARBTextureCompressionBPTC.GL_COMPRESSED_RGBA_BPTC_UNORM_ARB:
+				return 16;
+			default:
+				return 0;
+		}
+	}
 
-		int[] result = new int[tiles.length];
+	private static int getCompressedLevelSize(int internalFormat, int width, int height) {
+		return ((width + 3) / 4) * ((height + 3) / 4) * getCompressedBlockSize(internalFormat);
+	}
 
-		for (int i = 0; i < tiles.length; i++) {
-			int tile = Integer.parseInt(tiles[i].trim());
+	private static ByteBuffer sliceLevel(ByteBuffer b, int position, int size) {
+		ByteBuffer level = b.duplicate();
+		level.position(position);
+		level = level.slice();
+		level.limit(size);
+		return level;
+	}
 
-			result[i] = tile;
+	private static ByteBuffer readResource(ResourceLocation src) throws GAGEException {
+		if (!src.hasInputStream()) {
+			try (FileChannel channel = FileChannel.open(src.toPath(), StandardOpenOption.READ)) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			} catch (IOException e) {
+				throw new GAGEException(e);
+			}
 		}
 
-		return result;
+		try (InputStream in = src.getInputStream()) {
+			byte[] bytes = in.readAllBytes();
+			ByteBuffer b = BufferUtils.createByteBuffer(bytes.length);
+			b.put(bytes).flip();
+			return b;
+		} catch (IOException e) {
+			throw new GAGEException(e);
+		}
 	}
 
 	/**
@@ -519,7 +653,7 @@ public class ResourceLoaders {
 		if (GAGE.isInitialized())
 			return new Texture(":internal:", new Resource<TextureMeta>(
 					(src, args) -> new TextureMeta(imageToByteBuffer(imgTemp), textureWidth, textureHeight, GL11.GL_RGBA,
-							GAGE.getInstance().getConfig().getTextureParameters(), true), null));
+							GAGE.getInstance().getConfig().getTextureParameters(), false), null));
 		else {
 			return new Texture(":internal:", new Resource<TextureMeta>(
 					(src, args) -> new TextureMeta(imageToByteBuffer(imgTemp), textureWidth, textureHeight, GL11.GL_RGBA,
@@ -528,7 +662,7 @@ public class ResourceLoaders {
 									GL11.GL_TEXTURE_WRAP_T, GameConfiguration.DEFAULT_TEXTURE_WRAP_T_PARAMETER.getNativeValue(),
 									GL11.GL_TEXTURE_MIN_FILTER, GameConfiguration.DEFAULT_TEXTURE_MIN_FILTER_PARAMETER.getNativeValue(),
 									GL11.GL_TEXTURE_MAG_FILTER, GameConfiguration.DEFAULT_TEXTURE_MAG_FILTER_PARAMETER.getNativeValue()	
-							}, true), null));
+							}, false), null));
 		}
 	}
 
@@ -0,0 +1,34 @@
+package com.accele.gage;
+
+/**
+ * Specifies how the game loop should behave when it falls behind its tick schedule.
+ *
+ * <p>
+ * The engine never runs more than {@link com.accele.gage.GameConfiguration#getMaxTicksPerFrame() getMaxTicksPerFrame()} ticks in a single frame.
+ * This policy decides what happens to the ticks that are still due once that limit has been reached.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum TickCatchUpPolicy {
+
+	/**
+	 * Keeps the remaining ticks and runs them during the following frames until the game loop is back on schedule.
+	 * <p>
+	 * This keeps the game time in sync with the real time, but if ticks are consistently too expensive the game loop will never catch up.
+	 * </p>
+	 */
+	CATCH_UP,
+
+	/**
+	 * Drops the remaining ticks and continues from the current time.
+	 * <p>
+	 * The game time will fall behind the real time, but the game loop can never spiral out of control. Dropped ticks are counted by
+	 * {@link com.accele.gage.FrameScheduler#getDroppedTicks() getDroppedTicks()}.
+	 * </p>
+	 */
+	SKIP;
+
+}
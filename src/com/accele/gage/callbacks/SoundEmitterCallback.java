@@ -0,0 +1,22 @@
+package com.accele.gage.callbacks;
+
+import com.accele.gage.sfx.SoundEmitter;
+
+/**
+ * A callback used for detecting changes in a {@link com.accele.gage.sfx.SoundEmitter SoundEmitter}.
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface SoundEmitterCallback {
+	
+	/**
+	 * Invoked whenever a change in a {@link com.accele.gage.sfx.SoundEmitter SoundEmitter} occurs.
+	 * The emitter finishing playback of its {@link com.accele.gage.sfx.SoundBuffer SoundBuffer} is the most likely reason for this method to be invoked.
+	 *
+	 * @param emitter the {@code SoundEmitter} that changed
+	 */
+	public void call(SoundEmitter emitter);
+	
+}
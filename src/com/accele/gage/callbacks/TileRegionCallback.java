@@ -0,0 +1,23 @@
+package com.accele.gage.callbacks;
+
+import com.accele.gage.tile.TileMap;
+import com.accele.gage.tile.TileWorld;
+
+/**
+ * A callback used for detecting regions of a {@link com.accele.gage.tile.TileWorld TileWorld} being loaded or unloaded.
+ * 
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface TileRegionCallback {
+
+	/**
+	 * Invoked on the game loop thread whenever a region of a {@link com.accele.gage.tile.TileWorld TileWorld} becomes resident or is unloaded.
+	 * 
+	 * @param world the {@code TileWorld} the region belongs to
+	 * @param region the tiles of the region, positioned at the origin of the region within the world
+	 */
+	public void call(TileWorld world, TileMap region);
+	
+}
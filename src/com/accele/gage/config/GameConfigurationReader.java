@@ -8,6 +8,8 @@ import com.accele.gage.GAGE;
 import com.accele.gage.GAGEException;
 import com.accele.gage.GameConfiguration;
 import com.accele.gage.Resource;
+import com.accele.gage.TickCatchUpPolicy;
+import com.accele.gage.gfx.MipmapPolicy;
 import com.accele.gage.gfx.TextureFilterParameter;
 import com.accele.gage.gfx.TextureWrapParameter;
 
@@ -89,6 +91,33 @@ public class GameConfigurationReader {
 		config.setTextureMagFilterParameter(textureMagFilterParameter);
 		boolean generateTextureMipmaps = Boolean.parseBoolean(getProperty(props, "generateTextureMipmaps"));
 		config.setShouldGenerateTextureMipmaps(generateTextureMipmaps);
+		String fpsCap = props.getProperty("fpsCap");
+		if (fpsCap != null)
+			config.setFpsCap(Integer.parseInt(fpsCap));
+		String vsync = props.getProperty("vsync");
+		if (vsync != null)
+			config.setVsyncEnabled(Boolean.parseBoolean(vsync));
+		String maxTicksPerFrame = props.getProperty("maxTicksPerFrame");
+		if (maxTicksPerFrame != null)
+			config.setMaxTicksPerFrame(Integer.parseInt(maxTicksPerFrame));
+		String tickCatchUpPolicy = props.getProperty("tickCatchUpPolicy");
+		if (tickCatchUpPolicy != null)
+			config.setTickCatchUpPolicy(TickCatchUpPolicy.valueOf(tickCatchUpPolicy));
+		String maxEventsPerFrame = props.getProperty("maxEventsPerFrame");
+		if (maxEventsPerFrame != null)
+			config.setMaxEventsPerFrame(Integer.parseInt(maxEventsPerFrame));
+		String eventTimeBudget = props.getProperty("eventTimeBudget");
+		if (eventTimeBudget != null)
+			config.setEventTimeBudget(Double.parseDouble(eventTimeBudget));
+		String textureUploadBudget = props.getProperty("textureUploadBudget");
+		if (textureUploadBudget != null)
+			config.setTextureUploadBudget(Double.parseDouble(textureUploadBudget));
+		String textureMemoryBudget = props.getProperty("textureMemoryBudget");
+		if (textureMemoryBudget != null)
+			config.setTextureMemoryBudget(Double.parseDouble(textureMemoryBudget));
+		String textureMipmapPolicy = props.getProperty("textureMipmapPolicy");
+		if (textureMipmapPolicy != null)
+			config.setTextureMipmapPolicy(MipmapPolicy.valueOf(textureMipmapPolicy));
 	}
 	
 	private String getProperty(Properties props, String property) throws GAGEException {
@@ -56,6 +56,15 @@ public class GameConfigurationWriter {
 		props.setProperty("textureMinFilterParameter", String.valueOf(config.getTextureMinFilterParameter().getNativeValue()));
 		props.setProperty("textureMagFilterParameter", String.valueOf(config.getTextureMagFilterParameter().getNativeValue()));
 		props.setProperty("generateTextureMipmaps", String.valueOf(config.shouldGenerateTextureMipmaps()));
+		props.setProperty("fpsCap", String.valueOf(config.getFpsCap()));
+		props.setProperty("vsync", String.valueOf(config.isVsyncEnabled()));
+		props.setProperty("maxTicksPerFrame", String.valueOf(config.getMaxTicksPerFrame()));
+		props.setProperty("tickCatchUpPolicy", config.getTickCatchUpPolicy().name());
+		props.setProperty("maxEventsPerFrame", String.valueOf(config.getMaxEventsPerFrame()));
+		props.setProperty("eventTimeBudget", String.valueOf(config.getEventTimeBudget()));
+		props.setProperty("textureUploadBudget", String.valueOf(config.getTextureUploadBudget()));
+		props.setProperty("textureMemoryBudget", String.valueOf(config.getTextureMemoryBudget()));
+		props.setProperty("textureMipmapPolicy", config.getTextureMipmapPolicy().name());
 		try {
 			props.store(out.get(), "Game configuration file generated by GAGE version " + config.getVersion() + ". Do not edit this line.");
 		} catch (IOException e) {
@@ -6,6 +6,7 @@ import com.accele.gage.Indexable;
 import com.accele.gage.Renderable;
 import com.accele.gage.Tickable;
 import com.accele.gage.math.BoundingBox;
+import com.accele.gage.tile.TileGrid;
 
 /**
  * A general-purpose entity class used for displaying objects to the screen.
@@ -65,6 +66,17 @@ public abstract class Entity implements Indexable, Tickable, Renderable, Cleanab
 	 */
 	public abstract void collide(Entity other);
 	
+	/**
+	 * Called whenever the {@link com.accele.gage.math.BoundingBox BoundingBox} of this {@code Entity} overlaps a solid tile of the
+	 * {@link com.accele.gage.tile.TileGrid TileGrid} set with {@link com.accele.gage.entity.EntityHandler#setTileGrid(TileGrid) setTileGrid()}.
+	 * <p>
+	 * This method does nothing by default. Entities can override it to push themselves out of the tiles,
+	 * for example by querying the grid through {@link com.accele.gage.tile.TileCollision TileCollision}.
+	 * </p>
+	 * @param grid the grid whose solid tiles this {@code Entity} overlaps
+	 */
+	public void collideWithTiles(TileGrid grid) {}
+	
 	/**
 	 * Called whenever this {@code Entity} dies.
 	 * <p>
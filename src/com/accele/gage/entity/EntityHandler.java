@@ -13,6 +13,8 @@ import com.accele.gage.control.ControlListener;
 import com.accele.gage.control.KeyListener;
 import com.accele.gage.control.MouseListener;
 import com.accele.gage.gfx.Graphics;
+import com.accele.gage.tile.TileCollision;
+import com.accele.gage.tile.TileGrid;
 
 /**
  * The {@code EntityHandler} class is responsible for managing all instances of {@link com.accele.gage.entity.Entity Entity} used in the engine.
@@ -32,6 +34,7 @@ public class EntityHandler implements Tickable, Renderable, Cleanable {
 	private GameConfiguration config;
 	private List<EntityHandlerCallback> entityAddCallbacks;
 	private List<EntityHandlerCallback> entityRemoveCallbacks;
+	private TileGrid tileGrid;
 	
 	/**
 	 * Creates a new {@link com.accele.gage.entity.EntityHandler EntityHandler} with the specified {@link com.accele.gage.GameConfiguration GameConfiguration}.
@@ -60,6 +63,12 @@ public class EntityHandler implements Tickable, Renderable, Cleanable {
 				}
 			}
 		}
+		if (tileGrid != null) {
+			for (Entity e : entities) {
+				if (e.bounds != null && !e.dead && TileCollision.overlaps(tileGrid, e.bounds))
+					e.collideWithTiles(tileGrid);
+			}
+		}
 	}
 	
 	@Override
@@ -144,6 +153,31 @@ public class EntityHandler implements Tickable, Renderable, Cleanable {
 		return entities;
 	}
 	
+	/**
+	 * Sets the {@link com.accele.gage.tile.TileGrid TileGrid} that entities collide with.
+	 * <p>
+	 * After entities have been ticked, every living {@link com.accele.gage.entity.Entity Entity} whose bounding box overlaps a solid tile of the grid
+	 * has its {@link com.accele.gage.entity.Entity#collideWithTiles(TileGrid) collideWithTiles()} method called. Only the tiles under each entity are tested,
+	 * so this is cheap even for very large grids. Entities that need to stop before running into a tile can use
+	 * {@link com.accele.gage.tile.TileCollision#sweep(TileGrid, com.accele.gage.math.BoundingBox, float, float, com.accele.gage.tile.TileHit) TileCollision.sweep()}
+	 * in their own {@code tick()} with the grid returned by {@link #getTileGrid()}.
+	 * </p>
+	 * 
+	 * @param tileGrid the grid to collide with, or null to disable tile collision
+	 */
+	public void setTileGrid(TileGrid tileGrid) {
+		this.tileGrid = tileGrid;
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.tile.TileGrid TileGrid} that entities collide with.
+	 * 
+	 * @return the grid entities collide with, or null if tile collision is disabled
+	 */
+	public TileGrid getTileGrid() {
+		return tileGrid;
+	}
+	
 	/**
 	 * Adds an entity-add callback to the {@code EntityHandler}. The callback will be invoked whenever an {@code Entity} is added to the {@code EntityHandler}.
 	 * 
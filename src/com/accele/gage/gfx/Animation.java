@@ -7,6 +7,7 @@ public class Animation implements Indexable, Tickable {
 
 	private String registryId;
 	private Texture[] frames;
+	private TextureRegion[] regions;
 	private int[] frameDurations;
 	private int currentFrame;
 	private int delta;
@@ -14,6 +15,17 @@ public class Animation implements Indexable, Tickable {
 	public Animation(String registryId, Texture[] frames, int[] frameDurations) {
 		this.registryId = registryId;
 		this.frames = frames;
+		this.regions = new TextureRegion[frames.length];
+		for (int i = 0; i < frames.length; i++)
+			regions[i] = frames[i].getRegion();
+		this.frameDurations = frameDurations;
+		this.currentFrame = 0;
+		this.delta = frameDurations[currentFrame];
+	}
+	
+	public Animation(String registryId, TextureRegion[] frames, int[] frameDurations) {
+		this.registryId = registryId;
+		this.regions = frames;
 		this.frameDurations = frameDurations;
 		this.currentFrame = 0;
 		this.delta = frameDurations[currentFrame];
@@ -36,7 +48,16 @@ public class Animation implements Indexable, Tickable {
 	}
 	
 	public Texture getCurrentFrame() {
+		if (frames == null) {
+			frames = new Texture[regions.length];
+			for (int i = 0; i < regions.length; i++)
+				frames[i] = regions[i].getTexture().subRegion(regions[i].getX(), regions[i].getY(), regions[i].getWidth(), regions[i].getHeight(), regions[i].isRotated());
+		}
 		return frames[currentFrame];
 	}
+	
+	public TextureRegion getCurrentRegion() {
+		return regions[currentFrame];
+	}
 
 }
@@ -11,12 +11,16 @@ import com.accele.gage.Registry;
 import com.accele.gage.Resource;
 import com.accele.gage.gfx.VBO.VBOMeta;
 import com.accele.gage.math.Matrix4f;
+import com.accele.gage.math.Vector4f;
+import com.accele.gage.profile.Profiler;
+import com.accele.gage.profile.ProfilerPass;
 
 public class BatchedRenderer implements Graphics {
 
 	private final int batchSize;
 	private Shader rectShader;
 	private Shader texturedRectShader;
+	private Shader instancedRectShader;
 	private Matrix4f viewMatrix;
 	private Matrix4f projectionMatrix;
 	private Color color;
@@ -30,13 +34,19 @@ public class BatchedRenderer implements Graphics {
 	private VAO texturedRectOutlineVao;
 	private FloatBuffer batchBuffer;
 	private int drawCount;
-	private Texture texture;
+	private TextureRegion region;
+	private Matrix4f charMatrix;
+	private Matrix4f charModelMatrix;
+	private Vector4f tint;
 	private boolean drawing;
 	private int mode;
 	private int vertexCount;
+	private ProfilerPass flushPass;
+	private boolean sharedResources;
 	
-	public BatchedRenderer(int batchSize, Registry<Shader> shaderRegistry, Registry<Font> fontRegistry) {
+	public BatchedRenderer(int batchSize, Registry<Shader> shaderRegistry, Registry<Font> fontRegistry, Profiler profiler) {
 		this.batchSize = batchSize;
+		this.flushPass = profiler.getPass("gage.batched.flush", true);
 		this.rectShader = new Shader("gage.batched.rect",
 				new Resource<>((src, args) -> "#version 330 core\n" + 
 						"\n" + 
@@ -79,7 +89,10 @@ public class BatchedRenderer implements Graphics {
 						"\n" + 
 						"void main() {\n" + 
 						"	frag_color = color;\n" + 
-						"	frag_textureCoords = vec2((position.x * 0.5 + 0.5) * textureCoords.z + textureCoords.x, (position.y * 0.5 + 0.5) * textureCoords.w + textureCoords.y);\n" + 
+						"	vec2 uv = position.xy * 0.5 + 0.5;\n" + 
+						"	if (textureCoords.z < 0.0)\n" + 
+						"		uv = vec2(1.0 - uv.y, uv.x);\n" + 
+						"	frag_textureCoords = uv * abs(textureCoords.zw) + textureCoords.xy;\n" + 
 						"	gl_Position = projection * view * model * vec4(position, 1.0);\n" + 
 						"}", null),
 				new Resource<>((src, args) -> "#version 330 core\n" + 
@@ -95,6 +108,39 @@ public class BatchedRenderer implements Graphics {
 						"	color = texture(sampler, frag_textureCoords) * frag_color;\n" + 
 						"}", null));
 		shaderRegistry.register(texturedRectShader);
+		this.instancedRectShader = new Shader("gage.batched.instanced_rect",
+				new Resource<>((src, args) -> "#version 330 core\n" + 
+						"\n" + 
+						"layout (location = 0) in vec3 position;\n" + 
+						"layout (location = 1) in vec4 rect;\n" + 
+						"layout (location = 2) in vec4 textureCoords;\n" + 
+						"\n" + 
+						"out vec2 frag_textureCoords;\n" + 
+						"\n" + 
+						"uniform mat4 model;\n" + 
+						"uniform mat4 view;\n" + 
+						"uniform mat4 projection;\n" + 
+						"\n" + 
+						"void main() {\n" + 
+						"	vec2 uv = position.xy * 0.5 + 0.5;\n" + 
+						"	if (textureCoords.z < 0.0)\n" + 
+						"		uv = vec2(1.0 - uv.y, uv.x);\n" + 
+						"	frag_textureCoords = uv * abs(textureCoords.zw) + textureCoords.xy;\n" + 
+						"	gl_Position = projection * view * model * vec4(position.xy * rect.zw + rect.xy, position.z, 1.0);\n" + 
+						"}", null),
+				new Resource<>((src, args) -> "#version 330 core\n" + 
+						"\n" + 
+						"in vec2 frag_textureCoords;\n" + 
+						"\n" + 
+						"out vec4 color;\n" + 
+						"\n" + 
+						"uniform sampler2D sampler;\n" + 
+						"uniform vec4 tint;\n" + 
+						"\n" + 
+						"void main() {\n" + 
+						"	color = texture(sampler, frag_textureCoords) * tint;\n" + 
+						"}", null));
+		shaderRegistry.register(instancedRectShader);
 		this.viewMatrix = new Matrix4f();
 		this.projectionMatrix = new Matrix4f().setOrtho2D(-1, 1, -1, 1);
 		this.color = Color.WHITE;
@@ -103,9 +149,37 @@ public class BatchedRenderer implements Graphics {
 				-1f, -1f, 0f, 1f, -1f, 0f, 1f, 1f, 0f,
 				-1f, -1f, 0f, 1f, 1f, 0f, -1f, 1f, 0f
 				}, GL15.GL_STATIC_DRAW), null));
+		this.rectOutlineModel = new VBO(new Resource<>((src, args) -> new VBOMeta(GL15.GL_ARRAY_BUFFER, new float[] {
+				-1, -1, 0, 1, -1, 0, 1, 1, 0, -1, 1, 0
+		}, GL15.GL_STATIC_DRAW), null));
+		
+		createContextResources();
+	}
+	
+	public BatchedRenderer(BatchedRenderer shared) {
+		this.batchSize = shared.batchSize;
+		this.flushPass = shared.flushPass;
+		this.rectShader = shared.rectShader;
+		this.texturedRectShader = shared.texturedRectShader;
+		this.instancedRectShader = shared.instancedRectShader;
+		this.viewMatrix = new Matrix4f();
+		this.projectionMatrix = new Matrix4f().setOrtho2D(-1, 1, -1, 1);
+		this.color = Color.WHITE;
+		this.font = shared.font;
+		this.rectModel = shared.rectModel;
+		this.rectOutlineModel = shared.rectOutlineModel;
+		this.sharedResources = true;
+		
+		createContextResources();
+	}
+	
+	private void createContextResources() {
 		this.batchVbo = new VBO(new Resource<>((src, args) -> new VBOMeta(GL15.GL_ARRAY_BUFFER, batchSize * 24 * Float.BYTES, GL15.GL_DYNAMIC_DRAW), null));
 		this.batchBuffer = MemoryUtil.memAllocFloat(batchSize * 24);
 		this.mode = -1;
+		this.charMatrix = new Matrix4f();
+		this.charModelMatrix = new Matrix4f();
+		this.tint = new Vector4f();
 
 		this.rectVao = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
 				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, rectModel),
@@ -126,9 +200,6 @@ public class BatchedRenderer implements Graphics {
 				new VAO.VertexAttributeLayout(6, 4, GL11.GL_FLOAT, false, 24 * Float.BYTES, 20 * Float.BYTES, batchVbo, 1)
 		}, null));
 		
-		this.rectOutlineModel = new VBO(new Resource<>((src, args) -> new VBOMeta(GL15.GL_ARRAY_BUFFER, new float[] {
-				-1, -1, 0, 1, -1, 0, 1, 1, 0, -1, 1, 0
-		}, GL15.GL_STATIC_DRAW), null));
 		this.rectOutlineVao = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
 				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, rectOutlineModel),
 				new VAO.VertexAttributeLayout(1, 4, GL11.GL_FLOAT, false, 20 * Float.BYTES, 0, batchVbo, 1),
@@ -173,13 +244,14 @@ public class BatchedRenderer implements Graphics {
 	}
 	
 	private void flushInternal() {
+		flushPass.begin();
 		batchBuffer.flip();
 		batchVbo.bind();
 		//GL15.glBufferData(GL15.GL_ARRAY_BUFFER, batchBuffer.capacity() * Float.BYTES, GL15.GL_DYNAMIC_DRAW); // Buffer orphaning needed?
 		GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, batchBuffer);
 
-		if (texture != null) {
-			texture.bind(0);
+		if (region != null) {
+			region.bind(0);
 			texturedRectShader.bind();
 			if (mode == GL11.GL_LINE_LOOP)
 				texturedRectOutlineVao.bind();
@@ -203,7 +275,8 @@ public class BatchedRenderer implements Graphics {
 		
 		batchBuffer.clear();
 		drawCount = 0;
-		texture = null;
+		region = null;
+		flushPass.end();
 	}
 
 	private void checkBatchBuffer(int vertexSize) {
@@ -218,83 +291,130 @@ public class BatchedRenderer implements Graphics {
 		this.vertexCount = mode == GL11.GL_LINE_LOOP ? 4 : 6;
 	}
 	
-	private void checkTexture(Texture texture) {
-		if ((this.texture == null && batchBuffer.remaining() < batchBuffer.capacity()) 
-				|| (this.texture != null && this.texture.getTextureId() != texture.getTextureId()))
+	private void checkRegion(TextureRegion region) {
+		if ((this.region == null && batchBuffer.remaining() < batchBuffer.capacity()) 
+				|| (this.region != null && this.region.getTextureId() != region.getTextureId()))
 			flushInternal();
-		this.texture = texture;
+		this.region = region;
+	}
+	
+	private void putMatrix(Matrix4f m) {
+		batchBuffer.put(m.m00).put(m.m01).put(m.m02).put(m.m03);
+		batchBuffer.put(m.m10).put(m.m11).put(m.m12).put(m.m13);
+		batchBuffer.put(m.m20).put(m.m21).put(m.m22).put(m.m23);
+		batchBuffer.put(m.m30).put(m.m31).put(m.m32).put(m.m33);
 	}
 
 	@Override
 	public void drawRect(Matrix4f modelMatrix) {
-		if (texture != null)
+		if (region != null)
 			flushInternal();
 		checkBatchBuffer(20);
 		checkMode(GL11.GL_TRIANGLES);
 		batchBuffer.put(color.getR()).put(color.getG()).put(color.getB()).put(color.getA());
-		batchBuffer.put(modelMatrix.toFloatBuffer());
+		putMatrix(modelMatrix);
 		drawCount++;
 	}
 
 	@Override
 	public void drawRect(Matrix4f modelMatrix, Texture texture) {
+		drawRect(modelMatrix, texture.getRegion());
+	}
+
+	@Override
+	public void drawRect(Matrix4f modelMatrix, TextureRegion region) {
 		checkBatchBuffer(24);
 		checkMode(GL11.GL_TRIANGLES);
-		checkTexture(texture);
-		batchBuffer.put(texture.getX()).put(texture.getY()).put(texture.getWidth()).put(texture.getHeight());
+		checkRegion(region);
+		batchBuffer.put(region.getX()).put(region.getY()).put(region.isRotated() ? -region.getWidth() : region.getWidth()).put(region.getHeight());
 		batchBuffer.put(color.getR()).put(color.getG()).put(color.getB()).put(color.getA());
-		batchBuffer.put(modelMatrix.toFloatBuffer());
+		putMatrix(modelMatrix);
 		drawCount++;
 	}
 
 	@Override
 	public void drawRectOutline(Matrix4f modelMatrix) {
-		if (texture != null)
+		if (region != null)
 			flushInternal();
 		checkBatchBuffer(20);
 		checkMode(GL11.GL_LINE_LOOP);
 		batchBuffer.put(color.getR()).put(color.getG()).put(color.getB()).put(color.getA());
-		batchBuffer.put(modelMatrix.toFloatBuffer());
+		putMatrix(modelMatrix);
 		drawCount++;
 	}
 
 	@Override
 	public void drawRectOutline(Matrix4f modelMatrix, Texture texture) {
+		drawRectOutline(modelMatrix, texture.getRegion());
+	}
+
+	@Override
+	public void drawRectOutline(Matrix4f modelMatrix, TextureRegion region) {
 		checkBatchBuffer(24);
 		checkMode(GL11.GL_LINE_LOOP);
-		checkTexture(texture);
-		batchBuffer.put(texture.getX()).put(texture.getY()).put(texture.getWidth()).put(texture.getHeight());
+		checkRegion(region);
+		batchBuffer.put(region.getX()).put(region.getY()).put(region.isRotated() ? -region.getWidth() : region.getWidth()).put(region.getHeight());
 		batchBuffer.put(color.getR()).put(color.getG()).put(color.getB()).put(color.getA());
-		batchBuffer.put(modelMatrix.toFloatBuffer());
+		putMatrix(modelMatrix);
 		drawCount++;
 	}
 
 	@Override
 	public void drawString(String str, Matrix4f modelMatrix) {
 		CharMeta[] chars = font.getChars();
-		Texture texture = font.getTexture();
 
 		float currentX = 0;
 		for (int i = 0; i < str.length(); i++) {
 			char c = str.charAt(i);
 			CharMeta meta = chars[(int) c];
-			drawChar(texture, meta, currentX, modelMatrix);
+			drawChar(font.getGlyph(c), meta, currentX, modelMatrix);
 			currentX += 2f * meta.getWidth();
 		}
 	}
 
-	private void drawChar(Texture texture, CharMeta c, float currentX, Matrix4f modelMatrix) {
-		Matrix4f mat = new Matrix4f().setTranslation(currentX + c.getWidth(), 0, 0).setScaling(c.getWidth(), c.getHeight(), 1);
-		drawRect(new Matrix4f(modelMatrix).mul(mat), texture.subRegion(c.getX(), c.getY(), c.getWidth(), c.getHeight()));
+	private void drawChar(TextureRegion glyph, CharMeta c, float currentX, Matrix4f modelMatrix) {
+		charMatrix.toIdentity().setTranslation(currentX + c.getWidth(), 0, 0).setScaling(c.getWidth(), c.getHeight(), 1);
+		drawRect(charModelMatrix.set(modelMatrix).mul(charMatrix), glyph);
+	}
+
+	@Override
+	public void drawInstanceBatch(InstanceBatch batch, Matrix4f modelMatrix) {
+		if (batch.getSize() == 0)
+			return;
+		if (drawCount > 0)
+			flushInternal();
+		
+		flushPass.begin();
+		batch.getRegion().bind(0);
+		instancedRectShader.bind();
+		batch.prepare(rectModel);
+		
+		instancedRectShader.setUniform("model", modelMatrix);
+		instancedRectShader.setUniform("view", viewMatrix);
+		instancedRectShader.setUniform("projection", projectionMatrix);
+		instancedRectShader.setUniform("tint", tint.set(color.getR(), color.getG(), color.getB(), color.getA()));
+		
+		GL33.glDrawArraysInstanced(GL11.GL_TRIANGLES, 0, 6, batch.getSize());
+		flushPass.end();
+	}
+
+	@Override
+	public Graphics createSharedInstance() {
+		return new BatchedRenderer(this);
 	}
 
 	@Override
 	public void clean() {
-		rectModel.clean();
 		batchVbo.clean();
 		rectVao.clean();
 		texturedRectVao.clean();
+		rectOutlineVao.clean();
+		texturedRectOutlineVao.clean();
 		MemoryUtil.memFree(batchBuffer);
+		if (sharedResources)
+			return;
+		rectModel.clean();
+		rectOutlineModel.clean();
 		rectShader.clean();
 	}
 
@@ -0,0 +1,307 @@
+package com.accele.gage.gfx;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL30;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGE;
+import com.accele.gage.GAGEException;
+import com.accele.gage.Indexable;
+import com.accele.gage.Resource;
+
+public class DynamicTextureAtlas implements Indexable, Cleanable {
+	
+	private static final int DEFAULT_PADDING = 1;
+	private static final int CLEAR_STRIP_HEIGHT = 64;
+	
+	private String registryId;
+	private int pageSize;
+	private int maxPages;
+	private int padding;
+	private int[] parameters;
+	private List<Page> pages;
+	private Map<Texture, Region> regions;
+	private long usedArea;
+	private boolean fragmented;
+	private int nextRegionId;
+	
+	public DynamicTextureAtlas(String registryId, int pageSize, int initialPages, int maxPages, int padding, int[] parameters) {
+		if (pageSize < 1)
+			throw new IllegalArgumentException("The page size must be positive.");
+		if (maxPages < 1 || initialPages < 0 || initialPages > maxPages)
+			throw new IllegalArgumentException("The number of initial pages must be between 0 and the maximum number of pages, which must be positive.");
+		if (padding < 0)
+			throw new IllegalArgumentException("The padding cannot be negative.");
+		
+		this.registryId = registryId;
+		this.pageSize = pageSize;
+		this.maxPages = maxPages;
+		this.padding = padding;
+		this.parameters = parameters;
+		this.pages = new ArrayList<>();
+		this.regions = new IdentityHashMap<>();
+		
+		for (int i = 0; i < initialPages; i++)
+			pages.add(new Page(createPageTexture()));
+	}
+	
+	public DynamicTextureAtlas(String registryId, int pageSize, int maxPages) {
+		this(registryId, pageSize, 1, maxPages, DEFAULT_PADDING, GAGE.getInstance().getConfig().getTextureParameters());
+	}
+	
+	public Texture add(Resource<TextureMeta> meta) throws GAGEException {
+		TextureMeta tm = meta.get();
+		try {
+			return add(tm);
+		} finally {
+			tm.getCleanupTask().clean();
+		}
+	}
+	
+	public Texture add(TextureMeta meta) throws GAGEException {
+		if (meta.isCompressed())
+			throw new GAGEException("Compressed textures cannot be added to dynamic texture atlas \"" + registryId + "\".");
+		int w = meta.getWidth() + padding * 2;
+		int h = meta.getHeight() + padding * 2;
+		if (w > pageSize || h > pageSize)
+			throw new GAGEException("A " + meta.getWidth() + "x" + meta.getHeight() + " texture does not fit on a " + pageSize + "x" + pageSize + " dynamic atlas page.");
+		
+		Region region = insert(w, h);
+		if (region == null) {
+			if (pages.size() == maxPages)
+				throw new GAGEException("Dynamic texture atlas \"" + registryId + "\" is full (" + maxPages + " pages of " + pageSize + "x" + pageSize + ")"
+						+ (fragmented ? "; compact it to reclaim the space of removed textures." : "."));
+			pages.add(new Page(createPageTexture()));
+			region = insert(w, h);
+		}
+		Page page = region.page;
+		
+		GL13.glActiveTexture(GL13.GL_TEXTURE0);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, page.textureId);
+		GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, region.x + padding, region.y + padding, meta.getWidth(), meta.getHeight(),
+				meta.getFormat(), GL11.GL_UNSIGNED_BYTE, meta.getPixels());
+		
+		Texture texture = new Texture(registryId + "_region_" + nextRegionId++, page.textureId, pageSize, pageSize, 0, 0, 0, 0, false);
+		region.texture = texture;
+		region.update();
+		regions.put(texture, region);
+		usedArea += (long) w * h;
+		return texture;
+	}
+	
+	public void remove(Texture texture) {
+		Region region = regions.remove(texture);
+		if (region == null)
+			throw new IllegalArgumentException("The texture \"" + texture.getRegistryId() + "\" is not a region of dynamic texture atlas \"" + registryId + "\".");
+		region.page.packer.free(region.x, region.y, region.width, region.height);
+		usedArea -= (long) region.width * region.height;
+		fragmented = true;
+	}
+	
+	public boolean contains(Texture texture) {
+		return regions.containsKey(texture);
+	}
+	
+	public void compact() throws GAGEException {
+		List<Region> live = new ArrayList<>(regions.values());
+		live.sort((a, b) -> {
+			int sideA = Math.max(a.width, a.height);
+			int sideB = Math.max(b.width, b.height);
+			if (sideA != sideB)
+				return sideB - sideA;
+			return Integer.compare(b.width * b.height, a.width * a.height);
+		});
+		
+		List<MaxRectsPacker> packers = new ArrayList<>();
+		int[][] placements = new int[live.size()][];
+		int[] targets = new int[live.size()];
+		for (int i = 0; i < placements.length; i++) {
+			Region region = live.get(i);
+			for (int j = 0; j < packers.size() && placements[i] == null; j++) {
+				placements[i] = packers.get(j).insert(region.width, region.height);
+				targets[i] = j;
+			}
+			if (placements[i] == null) {
+				if (packers.size() == maxPages)
+					throw new GAGEException("Failed to compact dynamic texture atlas \"" + registryId + "\" into " + maxPages + " pages.");
+				packers.add(new MaxRectsPacker(pageSize, pageSize, false));
+				placements[i] = packers.get(packers.size() - 1).insert(region.width, region.height);
+				targets[i] = packers.size() - 1;
+			}
+		}
+		
+		List<Page> compacted = new ArrayList<>(packers.size());
+		for (MaxRectsPacker packer : packers)
+			compacted.add(new Page(createPageTexture(), packer));
+		if (compacted.isEmpty() && !pages.isEmpty())
+			compacted.add(new Page(createPageTexture()));
+		
+		int previousReadFramebuffer = GL11.glGetInteger(GL30.GL_READ_FRAMEBUFFER_BINDING);
+		int previousDrawFramebuffer = GL11.glGetInteger(GL30.GL_DRAW_FRAMEBUFFER_BINDING);
+		int readFramebuffer = GL30.glGenFramebuffers();
+		int drawFramebuffer = GL30.glGenFramebuffers();
+		GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, readFramebuffer);
+		GL30.glBindFramebuffer(GL30.GL_DRAW_FRAMEBUFFER, drawFramebuffer);
+		
+		int attachedRead = -1;
+		int attachedDraw = -1;
+		for (int i = 0; i < placements.length; i++) {
+			Region region = live.get(i);
+			Page target = compacted.get(targets[i]);
+			if (attachedRead != region.page.textureId) {
+				GL30.glFramebufferTexture2D(GL30.GL_READ_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL11.GL_TEXTURE_2D, region.page.textureId, 0);
+				attachedRead = region.page.textureId;
+			}
+			if (attachedDraw != target.textureId) {
+				GL30.glFramebufferTexture2D(GL30.GL_DRAW_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0, GL11.GL_TEXTURE_2D, target.textureId, 0);
+				attachedDraw = target.textureId;
+			}
+			GL30.glBlitFramebuffer(region.x, region.y, region.x + region.width, region.y + region.height,
+					placements[i][0], placements[i][1], placements[i][0] + region.width, placements[i][1] + region.height,
+					GL11.GL_COLOR_BUFFER_BIT, GL11.GL_NEAREST);
+		}
+		
+		GL30.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER, previousReadFramebuffer);
+		GL30.glBindFramebuffer(GL30.GL_DRAW_FRAMEBUFFER, previousDrawFramebuffer);
+		GL30.glDeleteFramebuffers(readFramebuffer);
+		GL30.glDeleteFramebuffers(drawFramebuffer);
+		
+		for (Page page : pages)
+			GL11.glDeleteTextures(page.textureId);
+		
+		for (int i = 0; i < placements.length; i++) {
+			Region region = live.get(i);
+			region.page = compacted.get(targets[i]);
+			region.x = placements[i][0];
+			region.y = placements[i][1];
+			region.update();
+		}
+		
+		this.pages = compacted;
+		this.fragmented = false;
+		Texture.markMoved();
+	}
+	
+	private Region insert(int width, int height) {
+		for (Page page : pages) {
+			int[] placement = page.packer.insert(width, height);
+			if (placement != null)
+				return new Region(page, placement[0], placement[1], width, height);
+		}
+		return null;
+	}
+	
+	private int createPageTexture() {
+		int textureId = GL11.glGenTextures();
+		GL13.glActiveTexture(GL13.GL_TEXTURE0);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, pageSize, pageSize, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+		
+		int stripHeight = Math.min(pageSize, CLEAR_STRIP_HEIGHT);
+		ByteBuffer clear = BufferUtils.createByteBuffer(pageSize * stripHeight * 4);
+		for (int y = 0; y < pageSize; y += stripHeight)
+			GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, y, pageSize, Math.min(stripHeight, pageSize - y), GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, clear);
+		
+		for (int i = 0; i < parameters.length; i++) {
+			int key = parameters[i++];
+			int value = parameters[i];
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, key, value);
+		}
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL12.GL_TEXTURE_MAX_LEVEL, 0);
+		
+		return textureId;
+	}
+	
+	@Override
+	public void clean() {
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+		for (Page page : pages)
+			GL11.glDeleteTextures(page.textureId);
+		pages.clear();
+		regions.clear();
+		usedArea = 0;
+	}
+	
+	@Override
+	public String getRegistryId() {
+		return registryId;
+	}
+	
+	public int getPageSize() {
+		return pageSize;
+	}
+	
+	public int getPageCount() {
+		return pages.size();
+	}
+	
+	public int getMaxPages() {
+		return maxPages;
+	}
+	
+	public int getPadding() {
+		return padding;
+	}
+	
+	public int getRegionCount() {
+		return regions.size();
+	}
+	
+	public int getPageTextureId(int page) {
+		return pages.get(page).textureId;
+	}
+	
+	public float getOccupancy() {
+		return pages.isEmpty() ? 0 : (float) ((double) usedArea / ((double) pageSize * pageSize * pages.size()));
+	}
+	
+	private class Page {
+		
+		private int textureId;
+		private MaxRectsPacker packer;
+		
+		private Page(int textureId, MaxRectsPacker packer) {
+			this.textureId = textureId;
+			this.packer = packer;
+		}
+		
+		private Page(int textureId) {
+			this(textureId, new MaxRectsPacker(pageSize, pageSize, false));
+		}
+		
+	}
+	
+	private class Region {
+		
+		private Page page;
+		private Texture texture;
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+		
+		private Region(Page page, int x, int y, int width, int height) {
+			this.page = page;
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+		
+		private void update() {
+			texture.setRegion(page.textureId, (float) (x + padding) / pageSize, (float) (y + padding) / pageSize,
+					(float) (width - padding * 2) / pageSize, (float) (height - padding * 2) / pageSize);
+		}
+		
+	}
+	
+}
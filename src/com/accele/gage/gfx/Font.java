@@ -11,6 +11,7 @@ public class Font implements Indexable, Cleanable {
 	private int size;
 	private Texture texture;
 	private CharMeta[] chars;
+	private TextureRegion[] glyphs;
 	
 	public Font(String registryId, Resource<FontMeta> meta) {
 		this.registryId = registryId;
@@ -21,6 +22,10 @@ public class Font implements Indexable, Cleanable {
 			this.size = data.getSize();
 			this.texture = data.getFontTexture();
 			this.chars = data.getChars();
+			this.glyphs = new TextureRegion[chars.length];
+			for (int i = 0; i < chars.length; i++)
+				if (chars[i] != null)
+					glyphs[i] = new TextureRegion(texture, chars[i].getX(), chars[i].getY(), chars[i].getWidth(), chars[i].getHeight());
 		} catch (GAGEException e) {
 			e.printStackTrace();
 		}
@@ -48,6 +53,10 @@ public class Font implements Indexable, Cleanable {
 		return chars;
 	}
 	
+	public TextureRegion getGlyph(char c) {
+		return glyphs[c];
+	}
+	
 	public float getCharWidth(char c) {
 		return chars[c].getWidth();
 	}
@@ -17,12 +17,18 @@ public interface Graphics extends Cleanable {
 	
 	public void drawRect(Matrix4f modelMatrix, Texture texture);
 	
+	public void drawRect(Matrix4f modelMatrix, TextureRegion region);
+	
 	public void drawRectOutline(Matrix4f modelMatrix);
 	
 	public void drawRectOutline(Matrix4f modelMatrix, Texture texture);
 	
+	public void drawRectOutline(Matrix4f modelMatrix, TextureRegion region);
+	
 	public void drawString(String str, Matrix4f modelMatrix);
 	
+	public void drawInstanceBatch(InstanceBatch batch, Matrix4f modelMatrix);
+	
 	public Color getColor();
 	
 	public void setColor(Color color);
@@ -39,4 +45,6 @@ public interface Graphics extends Cleanable {
 	
 	public void setProjectionMatrix(Matrix4f projectionMatrix);
 	
+	public Graphics createSharedInstance();
+	
 }
@@ -1,5 +1,7 @@
 package com.accele.gage.gfx;
 
+import java.nio.FloatBuffer;
+
 import org.lwjgl.opengl.GL11;
 import org.lwjgl.opengl.GL15;
 
@@ -52,14 +54,7 @@ public class ImmediateRenderer implements Graphics {
 		modelRegistry.register(rect);
 		modelRegistry.register(texturedRect);
 		
-		this.rectVAO = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
-				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, rect.getBuffers()[0])
-		}, null));
-		
-		this.texturedRectVAO = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
-				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, texturedRect.getBuffers()[0]),
-				new VAO.VertexAttributeLayout(1, 2, GL11.GL_FLOAT, false, 0, 0, texturedRect.getBuffers()[1]),
-		}, null));
+		createContextResources();
 		
 		rectShader = new Shader("gage.immediate.rect", new Resource<>((src, args) -> "#version 330 core\n"
 				+ "layout(location = 0) in vec3 position; uniform mat4 model; uniform mat4 view; uniform mat4 projection;"
@@ -70,7 +65,8 @@ public class ImmediateRenderer implements Graphics {
 		texturedRectShader = new Shader("gage.immediate.textured_rect", new Resource<>((src, args) -> "#version 330 core\n"
 				+ "layout(location = 0) in vec3 position; layout(location = 1) in vec2 textureCoords;"
 				+ "out vec2 frag_textureCoords; uniform mat4 model; uniform mat4 view; uniform mat4 projection; uniform vec2 offset; uniform vec2 size;"
-				+ "void main() { gl_Position = projection * view * model * vec4(position, 1); frag_textureCoords = textureCoords * size + offset; }", null), 
+				+ "void main() { gl_Position = projection * view * model * vec4(position, 1);"
+				+ "vec2 uv = size.x < 0.0 ? vec2(1.0 - textureCoords.y, textureCoords.x) : textureCoords; frag_textureCoords = uv * abs(size) + offset; }", null), 
 				new Resource<>((src, args) -> "#version 330 core\n in vec2 frag_textureCoords; out vec4 color; uniform sampler2D sampler; uniform vec4 frag_color;"
 						+ "void main() { color = frag_color * texture(sampler, frag_textureCoords); }", null));
 		shaderRegistry.register(rectShader);
@@ -80,6 +76,33 @@ public class ImmediateRenderer implements Graphics {
 		this.useViewMatrix = true;
 	}
 	
+	public ImmediateRenderer(ImmediateRenderer shared) {
+		this.color = Color.WHITE;
+		this.font = shared.font;
+		this.projectionMatrix = new Matrix4f().setOrtho2D(-1, 1, -1, 1);
+		this.rect = shared.rect;
+		this.texturedRect = shared.texturedRect;
+		this.rectShader = shared.rectShader;
+		this.texturedRectShader = shared.texturedRectShader;
+		this.modelShader = shared.modelShader;
+		this.texturedModelShader = shared.texturedModelShader;
+		this.viewMatrix = new Matrix4f();
+		this.useViewMatrix = true;
+		
+		createContextResources();
+	}
+	
+	private void createContextResources() {
+		this.rectVAO = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
+				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, rect.getBuffers()[0])
+		}, null));
+		
+		this.texturedRectVAO = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
+				new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, texturedRect.getBuffers()[0]),
+				new VAO.VertexAttributeLayout(1, 2, GL11.GL_FLOAT, false, 0, 0, texturedRect.getBuffers()[1]),
+		}, null));
+	}
+	
 	public void drawRect(float x, float y, float width, float height) {
 		Matrix4f mat = new Matrix4f();
 		mat.setTranslation(x + width / 2, y + height / 2, 0);
@@ -124,13 +147,18 @@ public class ImmediateRenderer implements Graphics {
 	
 	@Override
 	public void drawRect(Matrix4f modelMatrix, Texture texture) {
+		drawRect(modelMatrix, texture.getRegion());
+	}
+	
+	@Override
+	public void drawRect(Matrix4f modelMatrix, TextureRegion region) {
 		texturedRectVAO.bind();
-		texture.bind(0);
+		region.bind(0);
 		texturedRectShader.bind();
 		texturedRect.getIndices().bind();
 		
-		texturedRectShader.setUniform("offset", new Vector2f(texture.getX(), texture.getY()));
-		texturedRectShader.setUniform("size", new Vector2f(texture.getWidth(), texture.getHeight()));
+		texturedRectShader.setUniform("offset", new Vector2f(region.getX(), region.getY()));
+		texturedRectShader.setUniform("size", new Vector2f(region.isRotated() ? -region.getWidth() : region.getWidth(), region.getHeight()));
 		texturedRectShader.setUniform("projection", projectionMatrix);
 		texturedRectShader.setUniform("view", useViewMatrix ? viewMatrix : new Matrix4f());
 		texturedRectShader.setUniform("model", modelMatrix);
@@ -155,13 +183,18 @@ public class ImmediateRenderer implements Graphics {
 	
 	@Override
 	public void drawRectOutline(Matrix4f modelMatrix, Texture texture) {
+		drawRectOutline(modelMatrix, texture.getRegion());
+	}
+	
+	@Override
+	public void drawRectOutline(Matrix4f modelMatrix, TextureRegion region) {
 		texturedRectVAO.bind();
-		texture.bind(0);
+		region.bind(0);
 		texturedRectShader.bind();
 		texturedRect.getIndices().bind();
 		
-		texturedRectShader.setUniform("offset", new Vector2f(texture.getX(), texture.getY()));
-		texturedRectShader.setUniform("size", new Vector2f(texture.getWidth(), texture.getHeight()));
+		texturedRectShader.setUniform("offset", new Vector2f(region.getX(), region.getY()));
+		texturedRectShader.setUniform("size", new Vector2f(region.isRotated() ? -region.getWidth() : region.getWidth(), region.getHeight()));
 		texturedRectShader.setUniform("projection", projectionMatrix);
 		texturedRectShader.setUniform("view", useViewMatrix ? viewMatrix : new Matrix4f());
 		texturedRectShader.setUniform("model", modelMatrix);
@@ -173,20 +206,46 @@ public class ImmediateRenderer implements Graphics {
 	@Override
 	public void drawString(String str, Matrix4f modelMatrix) {
 		CharMeta[] chars = font.getChars();
-		Texture texture = font.getTexture();
 		
 		float currentX = 0;
 		for (int i = 0; i < str.length(); i++) {
 			char c = str.charAt(i);
 			CharMeta meta = chars[(int) c];
-			drawChar(texture, meta, currentX, modelMatrix);
+			drawChar(font.getGlyph(c), meta, currentX, modelMatrix);
 			currentX += 2f * meta.getWidth();
 		}
 	}
 	
-	private void drawChar(Texture texture, CharMeta c, float currentX, Matrix4f modelMatrix) {
+	private void drawChar(TextureRegion glyph, CharMeta c, float currentX, Matrix4f modelMatrix) {
 		Matrix4f mat = new Matrix4f().setTranslation(currentX + c.getWidth(), 0, 0).scale(c.getWidth(), c.getHeight(), 1);
-		drawRect(new Matrix4f(modelMatrix).mul(mat), texture.subRegion(c.getX(), c.getY(), c.getWidth(), c.getHeight()));
+		drawRect(new Matrix4f(modelMatrix).mul(mat), glyph);
+	}
+	
+	@Override
+	public void drawInstanceBatch(InstanceBatch batch, Matrix4f modelMatrix) {
+		if (batch.getSize() == 0)
+			return;
+		
+		texturedRectVAO.bind();
+		batch.getRegion().bind(0);
+		texturedRectShader.bind();
+		texturedRect.getIndices().bind();
+		
+		texturedRectShader.setUniform("projection", projectionMatrix);
+		texturedRectShader.setUniform("view", useViewMatrix ? viewMatrix : new Matrix4f());
+		texturedRectShader.setUniform("frag_color", new Vector4f(color.getR(), color.getG(), color.getB(), color.getA()));
+		
+		FloatBuffer data = batch.getData();
+		Matrix4f instanceMatrix = new Matrix4f();
+		for (int i = 0; i < batch.getSize(); i++) {
+			int offset = i * InstanceBatch.INSTANCE_SIZE;
+			instanceMatrix.toIdentity().setTranslation(data.get(offset), data.get(offset + 1), 0).scale(data.get(offset + 2), data.get(offset + 3), 1);
+			
+			texturedRectShader.setUniform("offset", new Vector2f(data.get(offset + 4), data.get(offset + 5)));
+			texturedRectShader.setUniform("size", new Vector2f(data.get(offset + 6), data.get(offset + 7)));
+			texturedRectShader.setUniform("model", new Matrix4f(modelMatrix).mul(instanceMatrix));
+			GL11.glDrawElements(GL11.GL_TRIANGLES, texturedRect.getIndices().getSize(), GL11.GL_UNSIGNED_INT, 0);
+		}
 	}
 	
 	public void drawModel(Model model, Matrix4f modelMatrix) {
@@ -262,6 +321,11 @@ public class ImmediateRenderer implements Graphics {
 		this.useViewMatrix = useViewMatrix;
 	}
 	
+	@Override
+	public Graphics createSharedInstance() {
+		return new ImmediateRenderer(this);
+	}
+	
 	@Override
 	public void clean() {	
 		rectVAO.clean();
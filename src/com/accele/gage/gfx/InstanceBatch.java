@@ -0,0 +1,194 @@
+package com.accele.gage.gfx;
+
+import java.nio.FloatBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.system.MemoryUtil;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.Resource;
+import com.accele.gage.gfx.VBO.VBOMeta;
+
+/**
+ * A set of textured rectangles that is stored on the GPU and drawn with a single draw call.
+ * <p>
+ * Unlike the rectangles drawn with {@link com.accele.gage.gfx.Graphics#drawRect(com.accele.gage.math.Matrix4f, TextureRegion) drawRect()},
+ * which are sent to the GPU again every frame, the instances of an {@code InstanceBatch} are only uploaded when the batch has changed
+ * since it was last drawn. This makes it suitable for large amounts of static geometry such as the chunks of a
+ * {@link com.accele.gage.tile.TileMap TileMap}.
+ * </p>
+ * <p>
+ * Every instance is an axis-aligned rectangle with a position, a size, and a {@link com.accele.gage.gfx.TextureRegion TextureRegion}.
+ * All regions in a batch must lie on textures with the same {@link com.accele.gage.gfx.Texture#getRoot() root}, such as the entries of one texture atlas. The instance buffer of a batch is created the first time it is
+ * drawn and is shared by all OpenGL contexts that share objects with the context that drew it. Vertex arrays cannot be shared between contexts,
+ * so the batch creates one for each context it is drawn from, and a batch can be drawn by every {@link com.accele.gage.gfx.Graphics Graphics} created
+ * with {@link com.accele.gage.gfx.Graphics#createSharedInstance() createSharedInstance()}.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class InstanceBatch implements Cleanable {
+	
+	static final int INSTANCE_SIZE = 8;
+	
+	private final int capacity;
+	private FloatBuffer data;
+	private Texture texture;
+	private TextureRegion region;
+	private int size;
+	private boolean dirty;
+	private VBO vbo;
+	private Map<Long, VAO> vaos;
+	private long cachedContext;
+	private VAO cachedVao;
+	
+	/**
+	 * Creates an empty {@code InstanceBatch} that can hold the specified number of instances.
+	 *
+	 * @param capacity the maximum number of instances in the batch
+	 * @throws IllegalArgumentException if {@code capacity} is not positive
+	 */
+	public InstanceBatch(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity must be positive.");
+		this.capacity = capacity;
+		this.data = MemoryUtil.memAllocFloat(capacity * INSTANCE_SIZE);
+		this.vaos = new HashMap<>();
+	}
+	
+	/**
+	 * Adds a rectangle to the batch.
+	 *
+	 * @param x the x-coordinate of the center of the rectangle
+	 * @param y the y-coordinate of the center of the rectangle
+	 * @param width half of the width of the rectangle
+	 * @param height half of the height of the rectangle
+	 * @param region the texture region drawn on the rectangle
+	 * @throws IllegalStateException if the batch is full
+	 * @throws IllegalArgumentException if {@code region} lies on a texture with a different root than the rectangles already in the batch
+	 */
+	public void add(float x, float y, float width, float height, TextureRegion region) {
+		if (size == capacity)
+			throw new IllegalStateException("Instance batch is full.");
+		if (texture == null) {
+			this.texture = region.getTexture().getRoot();
+			this.region = region;
+		} else if (texture != region.getTexture().getRoot())
+			throw new IllegalArgumentException("All regions in an instance batch must lie on the same texture.");
+		
+		data.put(x).put(y).put(width).put(height);
+		data.put(region.getX()).put(region.getY()).put(region.isRotated() ? -region.getWidth() : region.getWidth()).put(region.getHeight());
+		size++;
+		dirty = true;
+	}
+	
+	/**
+	 * Removes all rectangles from the batch.
+	 */
+	public void clear() {
+		data.clear();
+		texture = null;
+		region = null;
+		size = 0;
+		dirty = true;
+	}
+	
+	void prepare(VBO model) {
+		if (vbo == null)
+			this.vbo = new VBO(new Resource<>((src, args) -> new VBOMeta(GL15.GL_ARRAY_BUFFER, capacity * INSTANCE_SIZE * Float.BYTES, GL15.GL_STATIC_DRAW), null));
+		
+		if (dirty) {
+			vbo.bind();
+			GL15.glBufferSubData(GL15.GL_ARRAY_BUFFER, 0, getData());
+			vbo.unbind();
+			dirty = false;
+		}
+		getVao(model).bind();
+	}
+	
+	private VAO getVao(VBO model) {
+		long context = GLFW.glfwGetCurrentContext();
+		if (context == cachedContext && cachedVao != null)
+			return cachedVao;
+		
+		VAO vao = vaos.get(context);
+		if (vao == null) {
+			vao = new VAO(new Resource<>((src, args) -> new VAO.VertexAttributeLayout[] {
+					new VAO.VertexAttributeLayout(0, 3, GL11.GL_FLOAT, false, 0, 0, model),
+					new VAO.VertexAttributeLayout(1, 4, GL11.GL_FLOAT, false, INSTANCE_SIZE * Float.BYTES, 0, vbo, 1),
+					new VAO.VertexAttributeLayout(2, 4, GL11.GL_FLOAT, false, INSTANCE_SIZE * Float.BYTES, 4 * Float.BYTES, vbo, 1)
+			}, null));
+			vaos.put(context, vao);
+		}
+		cachedContext = context;
+		cachedVao = vao;
+		return vao;
+	}
+	
+	FloatBuffer getData() {
+		return data.duplicate().flip();
+	}
+	
+	TextureRegion getRegion() {
+		return region;
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.gfx.Texture#getRoot() root texture} that the rectangles in this batch are drawn with.
+	 *
+	 * @return the texture of the batch, or null if the batch is empty
+	 */
+	public Texture getTexture() {
+		return texture;
+	}
+	
+	/**
+	 * Returns the number of rectangles in this batch.
+	 *
+	 * @return the number of rectangles in this batch
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Returns the maximum number of rectangles this batch can hold.
+	 *
+	 * @return the capacity of this batch
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+	
+	@Override
+	public void clean() {
+		if (!vaos.isEmpty()) {
+			long previous = GLFW.glfwGetCurrentContext();
+			for (Map.Entry<Long, VAO> e : vaos.entrySet()) {
+				if (e.getKey() != GLFW.glfwGetCurrentContext())
+					GLFW.glfwMakeContextCurrent(e.getKey());
+				e.getValue().clean();
+			}
+			if (previous != GLFW.glfwGetCurrentContext())
+				GLFW.glfwMakeContextCurrent(previous);
+			vaos.clear();
+			cachedContext = 0;
+			cachedVao = null;
+		}
+		if (vbo != null) {
+			vbo.clean();
+			vbo = null;
+		}
+		if (data != null) {
+			MemoryUtil.memFree(data);
+			data = null;
+		}
+	}
+	
+}
@@ -0,0 +1,160 @@
+package com.accele.gage.gfx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MaxRectsPacker {
+	
+	private int width;
+	private int height;
+	private boolean allowRotation;
+	private List<Rect> freeRects;
+	private List<Rect> newFreeRects;
+	
+	MaxRectsPacker(int width, int height, boolean allowRotation) {
+		this.width = width;
+		this.height = height;
+		this.allowRotation = allowRotation;
+		this.freeRects = new ArrayList<>();
+		this.newFreeRects = new ArrayList<>();
+		freeRects.add(new Rect(0, 0, width, height));
+	}
+	
+	int[] insert(int rectWidth, int rectHeight) {
+		Rect best = null;
+		boolean bestRotated = false;
+		int bestShortSide = Integer.MAX_VALUE;
+		int bestLongSide = Integer.MAX_VALUE;
+		
+		for (Rect free : freeRects) {
+			if (free.width >= rectWidth && free.height >= rectHeight) {
+				int shortSide = Math.min(free.width - rectWidth, free.height - rectHeight);
+				int longSide = Math.max(free.width - rectWidth, free.height - rectHeight);
+				if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+					best = free;
+					bestRotated = false;
+					bestShortSide = shortSide;
+					bestLongSide = longSide;
+				}
+			}
+			if (allowRotation && rectWidth != rectHeight && free.width >= rectHeight && free.height >= rectWidth) {
+				int shortSide = Math.min(free.width - rectHeight, free.height - rectWidth);
+				int longSide = Math.max(free.width - rectHeight, free.height - rectWidth);
+				if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+					best = free;
+					bestRotated = true;
+					bestShortSide = shortSide;
+					bestLongSide = longSide;
+				}
+			}
+		}
+		
+		if (best == null)
+			return null;
+		
+		Rect placed = bestRotated ? new Rect(best.x, best.y, rectHeight, rectWidth) : new Rect(best.x, best.y, rectWidth, rectHeight);
+		place(placed);
+		return new int[] { placed.x, placed.y, bestRotated ? 1 : 0 };
+	}
+	
+	void free(int x, int y, int rectWidth, int rectHeight) {
+		freeRects.add(new Rect(x, y, rectWidth, rectHeight));
+		merge();
+		prune();
+	}
+	
+	private void place(Rect placed) {
+		newFreeRects.clear();
+		for (int i = 0; i < freeRects.size(); i++) {
+			Rect free = freeRects.get(i);
+			if (split(free, placed)) {
+				freeRects.remove(i--);
+			}
+		}
+		freeRects.addAll(newFreeRects);
+		prune();
+	}
+	
+	private boolean split(Rect free, Rect used) {
+		if (used.x >= free.x + free.width || used.x + used.width <= free.x
+				|| used.y >= free.y + free.height || used.y + used.height <= free.y)
+			return false;
+		
+		if (used.x > free.x)
+			newFreeRects.add(new Rect(free.x, free.y, used.x - free.x, free.height));
+		if (used.x + used.width < free.x + free.width)
+			newFreeRects.add(new Rect(used.x + used.width, free.y, free.x + free.width - used.x - used.width, free.height));
+		if (used.y > free.y)
+			newFreeRects.add(new Rect(free.x, free.y, free.width, used.y - free.y));
+		if (used.y + used.height < free.y + free.height)
+			newFreeRects.add(new Rect(free.x, used.y + used.height, free.width, free.y + free.height - used.y - used.height));
+		
+		return true;
+	}
+	
+	private void prune() {
+		for (int i = 0; i < freeRects.size(); i++) {
+			for (int j = i + 1; j < freeRects.size(); j++) {
+				if (freeRects.get(j).contains(freeRects.get(i))) {
+					freeRects.remove(i--);
+					break;
+				}
+				if (freeRects.get(i).contains(freeRects.get(j)))
+					freeRects.remove(j--);
+			}
+		}
+	}
+	
+	private void merge() {
+		boolean merged = true;
+		while (merged) {
+			merged = false;
+			for (int i = 0; i < freeRects.size() && !merged; i++) {
+				for (int j = i + 1; j < freeRects.size(); j++) {
+					Rect a = freeRects.get(i);
+					Rect b = freeRects.get(j);
+					Rect union = null;
+					if (a.x == b.x && a.width == b.width && (a.y + a.height == b.y || b.y + b.height == a.y))
+						union = new Rect(a.x, Math.min(a.y, b.y), a.width, a.height + b.height);
+					else if (a.y == b.y && a.height == b.height && (a.x + a.width == b.x || b.x + b.width == a.x))
+						union = new Rect(Math.min(a.x, b.x), a.y, a.width + b.width, a.height);
+					if (union != null) {
+						freeRects.remove(j);
+						freeRects.set(i, union);
+						merged = true;
+						break;
+					}
+				}
+			}
+		}
+	}
+	
+	int getWidth() {
+		return width;
+	}
+	
+	int getHeight() {
+		return height;
+	}
+	
+	private static class Rect {
+		
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+		
+		private Rect(int x, int y, int width, int height) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+		}
+		
+		private boolean contains(Rect other) {
+			return other.x >= x && other.y >= y && other.x + other.width <= x + width && other.y + other.height <= y + height;
+		}
+		
+	}
+	
+}
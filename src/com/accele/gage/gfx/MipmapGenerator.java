@@ -0,0 +1,148 @@
+package com.accele.gage.gfx;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+/**
+ * Generates mip chains for uncompressed images on the CPU.
+ * <p>
+ * Each level is half the size of the previous level, down to 1x1, and each pixel is the average of a 2x2 block of the previous level.
+ * The average is computed in linear space rather than on the sRGB values stored in the image, so that mipmapped textures do not get darker
+ * in the distance, and colors are weighted by their alpha, so that transparent pixels do not bleed dark fringes into the edges of sprites.
+ * </p>
+ * <p>
+ * This class does not make any OpenGL calls, so it can be used on worker threads and by offline tools.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class MipmapGenerator {
+	
+	private static final int LINEAR_TO_SRGB_SIZE = 4096;
+	private static final float[] SRGB_TO_LINEAR = new float[256];
+	private static final byte[] LINEAR_TO_SRGB = new byte[LINEAR_TO_SRGB_SIZE];
+	
+	static {
+		for (int i = 0; i < SRGB_TO_LINEAR.length; i++) {
+			double c = i / 255.0;
+			SRGB_TO_LINEAR[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+		}
+		for (int i = 0; i < LINEAR_TO_SRGB_SIZE; i++) {
+			double l = (double) i / (LINEAR_TO_SRGB_SIZE - 1);
+			double c = l <= 0.0031308 ? l * 12.92 : 1.055 * Math.pow(l, 1 / 2.4) - 0.055;
+			LINEAR_TO_SRGB[i] = (byte) Math.round(c * 255);
+		}
+	}
+	
+	private MipmapGenerator() {}
+	
+	/**
+	 * Returns whether mip chains can be generated for images in the specified pixel format.
+	 *
+	 * @param format the OpenGL pixel format of the image
+	 * @return whether the format is {@code GL_RGBA}, {@code GL_BGRA}, {@code GL_RGB}, or {@code GL_BGR}
+	 */
+	public static boolean isSupported(int format) {
+		return getChannels(format) != 0;
+	}
+	
+	/**
+	 * Generates the mip chain of the specified image.
+	 * <p>
+	 * The rows of the image and of every generated level are padded to a multiple of 4 bytes, which is the default OpenGL unpack alignment.
+	 * The first element of the returned array is the {@code pixels} buffer itself; the remaining levels are allocated as direct buffers.
+	 * </p>
+	 *
+	 * @param pixels the pixels of the image, starting with the bottom row
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @param format the OpenGL pixel format of the image
+	 * @return every level of the mip chain, starting with the full-size image
+	 * @throws IllegalArgumentException if mip chains cannot be generated for images in the specified format
+	 */
+	public static ByteBuffer[] generate(ByteBuffer pixels, int width, int height, int format) {
+		int channels = getChannels(format);
+		if (channels == 0)
+			throw new IllegalArgumentException("Cannot generate mipmaps for pixel format 0x" + Integer.toHexString(format) + ".");
+		
+		int levelCount = 32 - Integer.numberOfLeadingZeros(Math.max(width, height));
+		ByteBuffer[] levels = new ByteBuffer[levelCount];
+		levels[0] = pixels;
+		for (int i = 1; i < levelCount; i++) {
+			int srcWidth = Math.max(1, width >> (i - 1));
+			int srcHeight = Math.max(1, height >> (i - 1));
+			int dstWidth = Math.max(1, width >> i);
+			int dstHeight = Math.max(1, height >> i);
+			levels[i] = BufferUtils.createByteBuffer(getStride(dstWidth, channels) * dstHeight);
+			downsample(levels[i - 1], srcWidth, srcHeight, levels[i], dstWidth, dstHeight, channels);
+		}
+		return levels;
+	}
+	
+	private static void downsample(ByteBuffer src, int srcWidth, int srcHeight, ByteBuffer dst, int dstWidth, int dstHeight, int channels) {
+		int srcStride = getStride(srcWidth, channels);
+		int dstStride = getStride(dstWidth, channels);
+		int base = src.position();
+		boolean alpha = channels == 4;
+		
+		for (int y = 0; y < dstHeight; y++) {
+			int row0 = base + Math.min(y * 2, srcHeight - 1) * srcStride;
+			int row1 = base + Math.min(y * 2 + 1, srcHeight - 1) * srcStride;
+			for (int x = 0; x < dstWidth; x++) {
+				int col0 = Math.min(x * 2, srcWidth - 1) * channels;
+				int col1 = Math.min(x * 2 + 1, srcWidth - 1) * channels;
+				int p0 = row0 + col0;
+				int p1 = row0 + col1;
+				int p2 = row1 + col0;
+				int p3 = row1 + col1;
+				
+				float w0 = 1, w1 = 1, w2 = 1, w3 = 1;
+				if (alpha) {
+					w0 = (src.get(p0 + 3) & 0xff) / 255f;
+					w1 = (src.get(p1 + 3) & 0xff) / 255f;
+					w2 = (src.get(p2 + 3) & 0xff) / 255f;
+					w3 = (src.get(p3 + 3) & 0xff) / 255f;
+				}
+				float weight = w0 + w1 + w2 + w3;
+				if (weight == 0) {
+					w0 = w1 = w2 = w3 = 1;
+					weight = 4;
+				}
+				
+				int out = y * dstStride + x * channels;
+				for (int c = 0; c < 3; c++) {
+					float linear = SRGB_TO_LINEAR[src.get(p0 + c) & 0xff] * w0 + SRGB_TO_LINEAR[src.get(p1 + c) & 0xff] * w1
+							+ SRGB_TO_LINEAR[src.get(p2 + c) & 0xff] * w2 + SRGB_TO_LINEAR[src.get(p3 + c) & 0xff] * w3;
+					dst.put(out + c, LINEAR_TO_SRGB[Math.min(LINEAR_TO_SRGB_SIZE - 1, (int) (linear / weight * (LINEAR_TO_SRGB_SIZE - 1) + 0.5f))]);
+				}
+				if (alpha) {
+					int a = (src.get(p0 + 3) & 0xff) + (src.get(p1 + 3) & 0xff) + (src.get(p2 + 3) & 0xff) + (src.get(p3 + 3) & 0xff);
+					dst.put(out + 3, (byte) ((a + 2) / 4));
+				}
+			}
+		}
+	}
+	
+	private static int getChannels(int format) {
+		switch (format) {
+			case GL11.GL_RGBA:
+			case GL12.GL_BGRA:
+				return 4;
+			case GL11.GL_RGB:
+			case GL12.GL_BGR:
+				return 3;
+			default:
+				return 0;
+		}
+	}
+	
+	private static int getStride(int width, int channels) {
+		return (width * channels + 3) & ~3;
+	}
+	
+}
@@ -0,0 +1,43 @@
+package com.accele.gage.gfx;
+
+/**
+ * Specifies how the mip chain of a {@link com.accele.gage.gfx.Texture Texture} is created.
+ * <p>
+ * The texture loaders in {@link com.accele.gage.ResourceLoaders ResourceLoaders} use the
+ * {@link com.accele.gage.GameConfiguration#getTextureMipmapPolicy() configured policy} unless a policy is passed as the first loader argument of the
+ * {@link com.accele.gage.Resource Resource}, which allows individual textures such as UI and pixel art to opt out of mipmapping.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public enum MipmapPolicy {
+	
+	/**
+	 * Uploads only the full-size image.
+	 * <p>
+	 * Mipmapped minifying filters sample the full-size image, so textures that are always drawn at or near their original size, such as fonts, UI, and pixel art,
+	 * use a quarter less GPU memory without any visible difference.
+	 * </p>
+	 */
+	NONE,
+	
+	/**
+	 * Uploads the full-size image and lets the driver generate the mip chain with {@code glGenerateMipmap}.
+	 * <p>
+	 * This costs GPU time when the texture is created, and the filter used to generate the mip chain depends on the driver.
+	 * </p>
+	 */
+	RUNTIME,
+	
+	/**
+	 * Generates the mip chain with a gamma-correct, alpha-weighted filter while the texture is loaded and uploads each level explicitly.
+	 * <p>
+	 * The mip chain is generated by the {@link com.accele.gage.gfx.MipmapGenerator MipmapGenerator} on the thread that loads the texture,
+	 * which is a worker thread for textures loaded through the {@link com.accele.gage.gfx.TextureUploader TextureUploader}.
+	 * </p>
+	 */
+	PRECOMPUTED;
+	
+}
@@ -1,6 +1,9 @@
 package com.accele.gage.gfx;
 
+import java.nio.ByteBuffer;
+
 import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
 import org.lwjgl.opengl.GL13;
 import org.lwjgl.opengl.GL30;
 
@@ -27,6 +30,8 @@ import com.accele.gage.Resource;
  */
 public class Texture implements Indexable, Cleanable {
 
+	private static int moveCount;
+	
 	private String registryId;
 	private int textureId;
 	private int totalWidth;
@@ -35,6 +40,16 @@ public class Texture implements Indexable, Cleanable {
 	private float y;
 	private float width;
 	private float height;
+	private boolean rotated;
+	private TextureRegion region;
+	private TextureUploader.Upload upload;
+	private Texture parent;
+	private Resource<TextureMeta> source;
+	private long size;
+	private long lastBound;
+	private boolean pinned;
+	private boolean evicted;
+	private TextureResidencyManager residencyManager;
 	
 	/**
 	 * Creates a new {@code Texture} with the specified {@code registryId} and metadata.
@@ -58,19 +73,10 @@ public class Texture implements Indexable, Cleanable {
 		} catch (GAGEException e) {
 			e.printStackTrace();
 		}
-		this.textureId = GL11.glGenTextures();
-		GL13.glActiveTexture(GL13.GL_TEXTURE0);
-		GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
-		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, tm.getWidth(), tm.getHeight(), 0, tm.getFormat(), GL11.GL_UNSIGNED_BYTE, tm.getPixels());
-		
-		for (int i = 0; i < tm.getParameters().length; i++) {
-			int key = tm.getParameters()[i++];
-			int value = tm.getParameters()[i];
-			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, key, value);
-		}
-		
-		if (tm.shouldGenerateMipmaps())
-			GL30.glGenerateMipmap(GL11.GL_TEXTURE_2D);
+		this.textureId = createTexture(tm);
+		this.size = estimateSize(tm);
+		this.source = isReloadable(meta) ? meta : null;
+		tm.getCleanupTask().clean();
 		
 		this.totalWidth = tm.getWidth();
 		this.totalHeight = tm.getHeight();
@@ -80,8 +86,15 @@ public class Texture implements Indexable, Cleanable {
 		this.height = 1;
 	}
 	
-	private Texture(String registryId, int textureId, int totalWidth, int totalHeight, float x, float y, float width, float height) {
+	Texture(String registryId, int placeholderId, TextureUploader.Upload upload, Resource<TextureMeta> source) {
+		this(registryId, placeholderId, 1, 1, 0, 0, 1, 1, false);
+		this.upload = upload;
+		this.source = isReloadable(source) ? source : null;
+	}
+	
+	Texture(String registryId, int textureId, int totalWidth, int totalHeight, float x, float y, float width, float height, boolean rotated) {
 		this.registryId = registryId;
+		this.rotated = rotated;
 		this.totalWidth = totalWidth;
 		this.totalHeight = totalHeight;
 		this.textureId = textureId;
@@ -91,13 +104,63 @@ public class Texture implements Indexable, Cleanable {
 		this.height = height;
 	}
 	
+	static int createTexture(TextureMeta tm) {
+		int textureId = GL11.glGenTextures();
+		GL13.glActiveTexture(GL13.GL_TEXTURE0);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+		
+		for (int i = 0; i < tm.getParameters().length; i++) {
+			int key = tm.getParameters()[i++];
+			int value = tm.getParameters()[i];
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, key, value);
+		}
+		
+		uploadLevels(tm, 0);
+		return textureId;
+	}
+	
+	static void uploadLevels(TextureMeta tm, int firstLevel) {
+		ByteBuffer[] levels = tm.getLevels();
+		for (int i = firstLevel; i < levels.length; i++) {
+			int width = Math.max(1, tm.getWidth() >> i);
+			int height = Math.max(1, tm.getHeight() >> i);
+			if (tm.isCompressed())
+				GL13.glCompressedTexImage2D(GL11.GL_TEXTURE_2D, i, tm.getFormat(), width, height, 0, levels[i]);
+			else
+				GL11.glTexImage2D(GL11.GL_TEXTURE_2D, i, GL11.GL_RGBA, width, height, 0, tm.getFormat(), GL11.GL_UNSIGNED_BYTE, levels[i]);
+		}
+		
+		if (tm.shouldGenerateMipmaps())
+			GL30.glGenerateMipmap(GL11.GL_TEXTURE_2D);
+		else
+			GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL12.GL_TEXTURE_MAX_LEVEL, levels.length - 1);
+	}
+	
+	static long estimateSize(TextureMeta tm) {
+		long size = 0;
+		if (tm.isCompressed()) {
+			for (ByteBuffer level : tm.getLevels())
+				size += level.remaining();
+			return size;
+		}
+		
+		int levelCount = tm.shouldGenerateMipmaps() ? 32 - Integer.numberOfLeadingZeros(Math.max(tm.getWidth(), tm.getHeight())) : tm.getLevelCount();
+		for (int i = 0; i < levelCount; i++)
+			size += (long) Math.max(1, tm.getWidth() >> i) * Math.max(1, tm.getHeight() >> i) * 4;
+		return size;
+	}
+	
+	private static boolean isReloadable(Resource<TextureMeta> source) {
+		return source != null && source.getSrc() != null && !source.getSrc().hasInputStream();
+	}
+	
 	/**
 	 * Binds the {@code Texture} to the current graphics context along with the specified active texture unit.
 	 * @param sample the active texture unit to use with this {@code Texture}
 	 */
 	public void bind(int sample) {
 		GL13.glActiveTexture(GL13.GL_TEXTURE0 + sample);
-		GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, getTextureId());
 	}
 	
 	/**
@@ -116,7 +179,7 @@ public class Texture implements Indexable, Cleanable {
 	 * @return a view of this {@code Texture} with a new {@code registryId} and within the specified dimensions on the original texture
 	 */
 	public Texture subRegion(String registryId, float x, float y, float width, float height) {
-		return new Texture(registryId, textureId, totalWidth, totalHeight, x, y, width, height);
+		return subRegion(registryId, x, y, width, height, false);
 	}
 	
 	/**
@@ -135,11 +198,169 @@ public class Texture implements Indexable, Cleanable {
 	 * @return a view of this {@code Texture} with a new {@code registryId} and within the specified dimensions on the original texture
 	 */
 	public Texture subRegion(float x, float y, float width, float height) {
-		return subRegion(registryId + "_sub_region_" + x + "_" + y + "_" + width + "_" + height, x, y, width, height);
+		return subRegion(x, y, width, height, false);
+	}
+	
+	Texture subRegion(float x, float y, float width, float height, boolean rotated) {
+		return subRegion(registryId + "_sub_region_" + x + "_" + y + "_" + width + "_" + height, x, y, width, height, rotated);
+	}
+	
+	private Texture subRegion(String registryId, float x, float y, float width, float height, boolean rotated) {
+		Texture view = new Texture(registryId, textureId, totalWidth, totalHeight, x, y, width, height, rotated);
+		view.parent = parent != null ? parent : this;
+		return view;
+	}
+	
+	void setRegion(int textureId, float x, float y, float width, float height) {
+		this.textureId = textureId;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+	}
+	
+	static void markMoved() {
+		moveCount++;
+	}
+	
+	/**
+	 * Returns how many times textures have been moved to a different place or page of a {@link com.accele.gage.gfx.DynamicTextureAtlas DynamicTextureAtlas}.
+	 * <p>
+	 * The {@link #getRegion() regions} of textures follow them when they move, but texture coordinates that have been copied elsewhere, such as into an
+	 * {@link com.accele.gage.gfx.InstanceBatch InstanceBatch}, do not. Code that keeps such copies can compare this count with the one it saw when it made them
+	 * and make them again if it has changed.
+	 * </p>
+	 * 
+	 * @return the number of times textures have been moved
+	 */
+	public static int getMoveCount() {
+		return moveCount;
+	}
+	
+	void finishUpload(int textureId, int totalWidth, int totalHeight, long size) {
+		this.textureId = textureId;
+		this.totalWidth = totalWidth;
+		this.totalHeight = totalHeight;
+		this.size = size;
+		this.upload = null;
+	}
+	
+	boolean isEvictable() {
+		return parent == null && upload == null && !evicted && !pinned && source != null;
+	}
+	
+	void evict() {
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+		GL11.glDeleteTextures(textureId);
+		this.textureId = 0;
+		this.evicted = true;
+	}
+	
+	void reload() throws GAGEException {
+		this.evicted = false;
+		TextureMeta tm;
+		try {
+			tm = source.get();
+		} catch (GAGEException e) {
+			this.source = null;
+			throw e;
+		}
+		this.textureId = createTexture(tm);
+		tm.getCleanupTask().clean();
+	}
+	
+	boolean isEvicted() {
+		return evicted;
+	}
+	
+	long getLastBound() {
+		return lastBound;
+	}
+	
+	void setLastBound(long lastBound) {
+		this.lastBound = lastBound;
+	}
+	
+	void setResidencyManager(TextureResidencyManager residencyManager) {
+		this.residencyManager = residencyManager;
+	}
+	
+	/**
+	 * Returns whether the image of this {@code Texture} is currently on the GPU.
+	 * <p>
+	 * This is false for textures created through {@link com.accele.gage.gfx.TextureUploader#load(String, com.accele.gage.Resource) TextureUploader.load()}
+	 * whose image is still being loaded; such textures are drawn with a transparent placeholder until they become resident.
+	 * It is also false for textures that have been evicted by the {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager};
+	 * those are reloaded from their resource the next time they are bound.
+	 * </p>
+	 * 
+	 * @return whether this {@code Texture} is resident
+	 */
+	public boolean isResident() {
+		if (parent != null)
+			return parent.isResident();
+		return upload == null && !evicted;
+	}
+	
+	/**
+	 * Returns the estimated amount of GPU memory used by the image of this {@code Texture}, including its mipmaps.
+	 * <p>
+	 * The estimate is kept while the texture is evicted, so it is the amount of memory the texture would use again once it is reloaded.
+	 * Sub-textures do not own an image of their own, so their size is always 0, as is the size of a texture whose image is still being uploaded.
+	 * </p>
+	 * 
+	 * @return the estimated GPU memory used by this {@code Texture} in bytes
+	 */
+	public long getSize() {
+		return parent != null ? 0 : size;
+	}
+	
+	/**
+	 * Returns whether this {@code Texture} is pinned. Pinned textures are never evicted by the
+	 * {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager}.
+	 * 
+	 * @return whether this {@code Texture} is pinned
+	 */
+	public boolean isPinned() {
+		return pinned;
+	}
+	
+	/**
+	 * Sets whether this {@code Texture} is pinned. Pinned textures are never evicted by the
+	 * {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager}, 
+	 * which is useful for textures that must never cause a reload hitch, such as those used by the HUD.
+	 * Pinning an evicted texture does not reload it until it is next bound.
+	 * 
+	 * @param pinned whether this {@code Texture} should be pinned
+	 */
+	public void setPinned(boolean pinned) {
+		this.pinned = pinned;
+	}
+	
+	/**
+	 * Returns a {@link com.accele.gage.gfx.TextureRegion TextureRegion} covering the same area as this {@code Texture}.
+	 * <p>
+	 * The region is created on the first call and the same instance is returned afterwards, 
+	 * so this method can be used every frame without allocating. The region reads its area from this texture whenever it is drawn,
+	 * so it remains valid if the texture is moved by a {@link com.accele.gage.gfx.DynamicTextureAtlas DynamicTextureAtlas}.
+	 * </p>
+	 * 
+	 * @return the region covered by this {@code Texture}
+	 */
+	public TextureRegion getRegion() {
+		if (region == null)
+			region = new TextureRegion(this);
+		return region;
 	}
 	
 	@Override
 	public void clean() {
+		if (upload != null) {
+			upload.cancel();
+			return;
+		}
+		if (evicted)
+			return;
 		GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
 		GL11.glDeleteTextures(textureId);
 	}
@@ -219,12 +440,47 @@ public class Texture implements Indexable, Cleanable {
 		return height;
 	}
 	
+	/**
+	 * Returns whether the image of this {@code Texture} is stored rotated by 90 degrees clockwise within its parent texture.
+	 * <p>
+	 * This is only ever the case for entries of a {@link com.accele.gage.gfx.TextureAtlas TextureAtlas} that was stitched with rotation enabled.
+	 * The {@link com.accele.gage.gfx.Graphics Graphics} implementations undo the rotation when drawing, so rotated textures are drawn upright.
+	 * The position and dimensions of a rotated texture describe the rotated area on the parent texture.
+	 * </p>
+	 * 
+	 * @return whether this {@code Texture} is stored rotated
+	 */
+	public boolean isRotated() {
+		return rotated;
+	}
+	
+	/**
+	 * Returns the texture whose image this {@code Texture} is part of.
+	 * <p>
+	 * Sub-textures, such as the entries of a {@link com.accele.gage.gfx.TextureAtlas TextureAtlas} or the textures returned by
+	 * {@link #subRegion(String, float, float, float, float) subRegion()}, return the texture they were created from; all other textures return themselves.
+	 * Textures with the same root are always drawn from the same OpenGL texture.
+	 * </p>
+	 * 
+	 * @return the root texture of this {@code Texture}
+	 */
+	public Texture getRoot() {
+		return parent != null ? parent : this;
+	}
+	
 	/**
 	 * Returns the texture ID of the {@code Texture} used by OpenGL.
+	 * <p>
+	 * If the texture has been evicted by the {@link com.accele.gage.gfx.TextureResidencyManager TextureResidencyManager}, it is reloaded first.
+	 * </p>
 	 * 
 	 * @return the texture ID of the {@code Texture} used by OpenGL
 	 */
 	public int getTextureId() {
+		if (parent != null)
+			return parent.getTextureId();
+		if (residencyManager != null)
+			residencyManager.touch(this);
 		return textureId;
 	}
 	
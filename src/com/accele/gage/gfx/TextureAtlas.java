@@ -7,6 +7,8 @@ import com.accele.gage.Resource;
 public class TextureAtlas extends Texture implements Cleanable {
 
 	private TextureAtlasEntry[] entries;
+	private Texture[] entryTextures;
+	private TextureRegion[] regions;
 	
 	public TextureAtlas(String registryId, Resource<TextureAtlasMeta> meta) {
 		super(registryId, new Resource<>((src, args) -> meta.get().getMeta(), null));
@@ -15,6 +17,13 @@ public class TextureAtlas extends Texture implements Cleanable {
 		} catch (GAGEException e) {
 			e.printStackTrace();
 		}
+		
+		this.entryTextures = new Texture[entries.length];
+		this.regions = new TextureRegion[entries.length];
+		for (int i = 0; i < entries.length; i++) {
+			entryTextures[i] = subRegion(entries[i].getX(), entries[i].getY(), entries[i].getWidth(), entries[i].getHeight(), entries[i].isRotated());
+			regions[i] = entryTextures[i].getRegion();
+		}
 	}
 	
 	public TextureAtlasEntry[] getEntries() {
@@ -22,7 +31,11 @@ public class TextureAtlas extends Texture implements Cleanable {
 	}
 	
 	public Texture getEntry(int index) {
-		return subRegion(entries[index].getX(), entries[index].getY(), entries[index].getWidth(), entries[index].getHeight());
+		return entryTextures[index];
+	}
+	
+	public TextureRegion getRegion(int index) {
+		return regions[index];
 	}
 	
 }
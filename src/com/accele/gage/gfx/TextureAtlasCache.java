@@ -0,0 +1,239 @@
+package com.accele.gage.gfx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.lwjgl.opengl.GL11;
+
+import com.accele.gage.GAGE;
+import com.accele.gage.GAGEException;
+import com.accele.gage.GameConfiguration;
+import com.accele.gage.Resource;
+import com.accele.gage.ResourceLoader;
+import com.accele.gage.ResourceLoaders;
+import com.accele.gage.ResourceLocation;
+
+class TextureAtlasCache {
+	
+	private static final int MAGIC = 0x4741544C; // "GATL"
+	private static final int VERSION = 2;
+	private static final int KEY_LENGTH = 32;
+	private static final String FILE_EXTENSION = ".atlas";
+	
+	private Path directory;
+	
+	TextureAtlasCache(Path directory) {
+		this.directory = directory;
+	}
+	
+	byte[] computeKey(List<Resource<TextureMeta>> textures, int padding, boolean allowRotation, int maxPageSize, boolean powerOfTwo) throws GAGEException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new GAGEException(e);
+		}
+		
+		ByteBuffer params = ByteBuffer.allocate(24);
+		params.putInt(VERSION).putInt(textures.size()).putInt(padding).putInt(allowRotation ? 1 : 0).putInt(maxPageSize).putInt(powerOfTwo ? 1 : 0);
+		digest.update(params.array());
+		
+		// The built-in texture loaders take their parameters and default mipmap policy from the configuration, so these are part of the key
+		// as well; otherwise changing them would keep returning atlases with the old parameters.
+		if (GAGE.isInitialized()) {
+			GameConfiguration config = GAGE.getInstance().getConfig();
+			int[] parameters = config.getTextureParameters();
+			ByteBuffer configParams = ByteBuffer.allocate(4 + parameters.length * 4);
+			configParams.putInt(parameters.length);
+			for (int parameter : parameters)
+				configParams.putInt(parameter);
+			digest.update(configParams.array());
+			update(digest, config.getTextureMipmapPolicy().name());
+		}
+		
+		byte[] chunk = new byte[8192];
+		for (Resource<TextureMeta> texture : textures) {
+			ResourceLocation src = texture.getSrc();
+			if (src == null || src.hasInputStream())
+				return null;
+			
+			String loader = getLoaderName(texture.getLoader());
+			if (loader == null)
+				return null;
+			update(digest, loader);
+			Object[] args = texture.getLoaderArgs();
+			update(digest, String.valueOf(args.length));
+			for (Object arg : args) {
+				String value = getArgValue(arg);
+				if (value == null)
+					return null;
+				update(digest, value);
+			}
+			
+			update(digest, src.toString());
+			try (InputStream in = Files.newInputStream(src.toPath())) {
+				int read;
+				while ((read = in.read(chunk)) != -1)
+					digest.update(chunk, 0, read);
+			} catch (IOException e) {
+				throw new GAGEException(e);
+			}
+		}
+		
+		return digest.digest();
+	}
+	
+	/**
+	 * Returns a name for the loader that is the same every time the game is run, or null if there is none.
+	 * The loaders in ResourceLoaders are named after their field; lambdas and other hidden classes have names that change between runs.
+	 */
+	private static String getLoaderName(ResourceLoader<?> loader) {
+		for (Field field : ResourceLoaders.class.getFields()) {
+			try {
+				if (Modifier.isStatic(field.getModifiers()) && field.get(null) == loader)
+					return "ResourceLoaders." + field.getName();
+			} catch (IllegalAccessException e) {
+			}
+		}
+		Class<?> type = loader.getClass();
+		return type.isSynthetic() || type.isAnonymousClass() || type.getName().contains("$$Lambda") ? null : type.getName();
+	}
+	
+	/**
+	 * Returns a description of the loader argument that identifies it across runs, or null if it cannot be described.
+	 */
+	private static String getArgValue(Object arg) {
+		if (arg == null)
+			return "null";
+		if (arg instanceof Enum)
+			return ((Enum<?>) arg).getDeclaringClass().getName() + "." + ((Enum<?>) arg).name();
+		if (arg instanceof String || arg instanceof Number || arg instanceof Boolean || arg instanceof Character)
+			return arg.getClass().getName() + ":" + arg;
+		return null;
+	}
+	
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+	
+	TextureAtlasMeta[] read(byte[] key) {
+		Path file = getFile(key);
+		if (!Files.isReadable(file))
+			return null;
+		
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			
+			if (data.getInt() != MAGIC || data.getInt() != VERSION)
+				return null;
+			byte[] storedKey = new byte[KEY_LENGTH];
+			data.get(storedKey);
+			if (!Arrays.equals(key, storedKey))
+				return null;
+			
+			int[] parameters = new int[data.getInt()];
+			for (int i = 0; i < parameters.length; i++)
+				parameters[i] = data.getInt();
+			
+			TextureAtlasMeta[] atlases = new TextureAtlasMeta[data.getInt()];
+			int[][] sizes = new int[atlases.length][];
+			TextureAtlasEntry[][] entries = new TextureAtlasEntry[atlases.length][];
+			for (int i = 0; i < atlases.length; i++) {
+				int width = data.getInt();
+				int height = data.getInt();
+				sizes[i] = new int[] { width, height };
+				entries[i] = new TextureAtlasEntry[data.getInt()];
+				for (int j = 0; j < entries[i].length; j++) {
+					int x = data.getInt();
+					int y = data.getInt();
+					int w = data.getInt();
+					int h = data.getInt();
+					int flags = data.getInt();
+					int sourceIndex = data.getInt();
+					entries[i][j] = new TextureAtlasEntry(x, y, w, h, width, height, (flags & 1) != 0, sourceIndex);
+				}
+			}
+			
+			for (int i = 0; i < atlases.length; i++) {
+				int length = sizes[i][0] * sizes[i][1] * 4;
+				if (data.remaining() < length)
+					return null;
+				ByteBuffer pixels = data.slice();
+				pixels.limit(length);
+				data.position(data.position() + length);
+				atlases[i] = new TextureAtlasMeta(new TextureMeta(pixels, sizes[i][0], sizes[i][1], GL11.GL_RGBA, parameters, false), entries[i]);
+			}
+			
+			return atlases;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+	
+	void write(byte[] key, TextureAtlasMeta[] atlases) throws GAGEException {
+		int[] parameters = atlases[0].getMeta().getParameters();
+		int headerSize = 8 + KEY_LENGTH + 4 + parameters.length * 4 + 4;
+		for (TextureAtlasMeta atlas : atlases)
+			headerSize += 12 + atlas.getEntries().length * 24;
+		
+		ByteBuffer header = ByteBuffer.allocate(headerSize);
+		header.putInt(MAGIC).putInt(VERSION).put(key);
+		header.putInt(parameters.length);
+		for (int parameter : parameters)
+			header.putInt(parameter);
+		header.putInt(atlases.length);
+		for (TextureAtlasMeta atlas : atlases) {
+			header.putInt(atlas.getMeta().getWidth()).putInt(atlas.getMeta().getHeight()).putInt(atlas.getEntries().length);
+			for (TextureAtlasEntry entry : atlas.getEntries()) {
+				header.putInt(entry.getPixelX()).putInt(entry.getPixelY()).putInt(entry.getPixelWidth()).putInt(entry.getPixelHeight());
+				header.putInt(entry.isRotated() ? 1 : 0).putInt(entry.getSourceIndex());
+			}
+		}
+		header.flip();
+		
+		Path file = getFile(key);
+		try {
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				writeFully(channel, header);
+				for (TextureAtlasMeta atlas : atlases)
+					writeFully(channel, atlas.getMeta().getPixels().duplicate());
+			} catch (IOException e) {
+				Files.deleteIfExists(temp);
+				throw e;
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new GAGEException("Failed to write texture atlas cache file " + file + ".", e);
+		}
+	}
+	
+	Path getFile(byte[] key) {
+		StringBuilder name = new StringBuilder(key.length * 2 + FILE_EXTENSION.length());
+		for (byte b : key)
+			name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		return directory.resolve(name.append(FILE_EXTENSION).toString());
+	}
+	
+	private void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+	
+}
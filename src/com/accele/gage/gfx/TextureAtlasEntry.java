@@ -10,8 +10,16 @@ public class TextureAtlasEntry {
 	private int pixelY;
 	private int pixelWidth;
 	private int pixelHeight;
+	private boolean rotated;
+	private int sourceIndex;
 	
 	public TextureAtlasEntry(int pixelX, int pixelY, int pixelWidth, int pixelHeight, int atlasWidth, int atlasHeight) {
+		this(pixelX, pixelY, pixelWidth, pixelHeight, atlasWidth, atlasHeight, false, -1);
+	}
+	
+	public TextureAtlasEntry(int pixelX, int pixelY, int pixelWidth, int pixelHeight, int atlasWidth, int atlasHeight, boolean rotated, int sourceIndex) {
+		this.rotated = rotated;
+		this.sourceIndex = sourceIndex;
 		this.pixelX = pixelX;
 		this.pixelY = pixelY;
 		this.pixelWidth = pixelWidth;
@@ -55,4 +63,12 @@ public class TextureAtlasEntry {
 		return pixelHeight;
 	}
 	
+	public boolean isRotated() {
+		return rotated;
+	}
+	
+	public int getSourceIndex() {
+		return sourceIndex;
+	}
+	
 }
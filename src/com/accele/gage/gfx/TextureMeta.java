@@ -2,6 +2,8 @@ package com.accele.gage.gfx;
 
 import java.nio.ByteBuffer;
 
+import com.accele.gage.Cleanable;
+
 public class TextureMeta {
 
 	private ByteBuffer pixels;
@@ -10,14 +12,33 @@ public class TextureMeta {
 	private int format;
 	private int[] parameters;
 	private boolean generateMipmaps;
+	private Cleanable cleanupTask;
+	private ByteBuffer[] levels;
+	private boolean compressed;
 	
 	public TextureMeta(ByteBuffer pixels, int width, int height, int format, int[] parameters, boolean generateMipmaps) {
+		this(pixels, width, height, format, parameters, generateMipmaps, () -> {});
+	}
+	
+	public TextureMeta(ByteBuffer pixels, int width, int height, int format, int[] parameters, boolean generateMipmaps, Cleanable cleanupTask) {
 		this.pixels = pixels;
 		this.width = width;
 		this.height = height;
 		this.format = format;
 		this.parameters = parameters;
 		this.generateMipmaps = generateMipmaps;
+		this.cleanupTask = cleanupTask;
+		this.levels = new ByteBuffer[] { pixels };
+	}
+	
+	public TextureMeta(ByteBuffer[] levels, int width, int height, int format, int[] parameters, boolean compressed, Cleanable cleanupTask) {
+		this(levels[0], width, height, format, parameters, false, cleanupTask);
+		this.levels = levels;
+		this.compressed = compressed;
+	}
+	
+	public TextureMeta(ByteBuffer[] levels, int width, int height, int internalFormat, int[] parameters, Cleanable cleanupTask) {
+		this(levels, width, height, internalFormat, parameters, true, cleanupTask);
 	}
 	
 	public ByteBuffer getPixels() {
@@ -44,4 +65,20 @@ public class TextureMeta {
 		return generateMipmaps;
 	}
 	
+	public Cleanable getCleanupTask() {
+		return cleanupTask;
+	}
+	
+	public ByteBuffer[] getLevels() {
+		return levels;
+	}
+	
+	public int getLevelCount() {
+		return levels.length;
+	}
+	
+	public boolean isCompressed() {
+		return compressed;
+	}
+	
 }
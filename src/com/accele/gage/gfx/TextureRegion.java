@@ -0,0 +1,149 @@
+package com.accele.gage.gfx;
+
+/**
+ * A view of a rectangular area of a {@link com.accele.gage.gfx.Texture Texture}.
+ * <p>
+ * Unlike {@link com.accele.gage.gfx.Texture#subRegion(float, float, float, float) Texture.subRegion()}, a {@code TextureRegion} carries no registry ID
+ * and is meant to be created once and then drawn any number of times. The regions of {@link com.accele.gage.gfx.TextureAtlas TextureAtlas} entries
+ * and {@link com.accele.gage.gfx.Font Font} glyphs are created when the atlas or font is created, so drawing them does not allocate anything.
+ * </p>
+ * <p>
+ * The position and dimensions of a region are texture coordinates on the whole OpenGL texture, in the range [0, 1].
+ * A region created with one of the constructors never changes. The region returned by {@link com.accele.gage.gfx.Texture#getRegion() Texture.getRegion()}
+ * instead reads its area from the texture every time, so it stays correct when a {@link com.accele.gage.gfx.DynamicTextureAtlas DynamicTextureAtlas}
+ * moves the texture to a different place or page while compacting.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public final class TextureRegion {
+
+	private final Texture texture;
+	private final float x;
+	private final float y;
+	private final float width;
+	private final float height;
+	private final boolean rotated;
+	private final boolean live;
+
+	/**
+	 * Creates a new {@code TextureRegion} of the specified {@link com.accele.gage.gfx.Texture Texture}.
+	 *
+	 * @param texture the texture the region lies on
+	 * @param x the lower-left x-coordinate of the region on the whole texture
+	 * @param y the lower-left y-coordinate of the region on the whole texture
+	 * @param width the width of the region
+	 * @param height the height of the region
+	 * @param rotated whether the image within the region is stored rotated by 90 degrees clockwise
+	 */
+	public TextureRegion(Texture texture, float x, float y, float width, float height, boolean rotated) {
+		this.texture = texture;
+		this.x = x;
+		this.y = y;
+		this.width = width;
+		this.height = height;
+		this.rotated = rotated;
+		this.live = false;
+	}
+	
+	TextureRegion(Texture texture) {
+		this.texture = texture;
+		this.x = 0;
+		this.y = 0;
+		this.width = 0;
+		this.height = 0;
+		this.rotated = false;
+		this.live = true;
+	}
+
+	/**
+	 * Creates a new {@code TextureRegion} of the specified {@link com.accele.gage.gfx.Texture Texture} that is not rotated.
+	 *
+	 * @param texture the texture the region lies on
+	 * @param x the lower-left x-coordinate of the region on the whole texture
+	 * @param y the lower-left y-coordinate of the region on the whole texture
+	 * @param width the width of the region
+	 * @param height the height of the region
+	 */
+	public TextureRegion(Texture texture, float x, float y, float width, float height) {
+		this(texture, x, y, width, height, false);
+	}
+
+	/**
+	 * Binds the texture of this region to the current graphics context along with the specified active texture unit.
+	 *
+	 * @param sample the active texture unit to use
+	 */
+	public void bind(int sample) {
+		texture.bind(sample);
+	}
+
+	/**
+	 * Returns the {@link com.accele.gage.gfx.Texture Texture} this region lies on.
+	 *
+	 * @return the texture of this region
+	 */
+	public Texture getTexture() {
+		return texture;
+	}
+
+	/**
+	 * Returns the texture ID of the texture this region lies on, as used by OpenGL.
+	 *
+	 * @return the OpenGL texture ID of this region
+	 */
+	public int getTextureId() {
+		return texture.getTextureId();
+	}
+
+	/**
+	 * Returns the lower-left x-coordinate of this region on the whole texture.
+	 *
+	 * @return the x-coordinate of this region
+	 */
+	public float getX() {
+		return live ? texture.getX() : x;
+	}
+
+	/**
+	 * Returns the lower-left y-coordinate of this region on the whole texture.
+	 *
+	 * @return the y-coordinate of this region
+	 */
+	public float getY() {
+		return live ? texture.getY() : y;
+	}
+
+	/**
+	 * Returns the width of this region on the whole texture.
+	 *
+	 * @return the width of this region
+	 */
+	public float getWidth() {
+		return live ? texture.getWidth() : width;
+	}
+
+	/**
+	 * Returns the height of this region on the whole texture.
+	 *
+	 * @return the height of this region
+	 */
+	public float getHeight() {
+		return live ? texture.getHeight() : height;
+	}
+
+	/**
+	 * Returns whether the image within this region is stored rotated by 90 degrees clockwise.
+	 * <p>
+	 * The {@link com.accele.gage.gfx.Graphics Graphics} implementations undo the rotation when drawing, so rotated regions are drawn upright.
+	 * </p>
+	 *
+	 * @return whether this region is stored rotated
+	 */
+	public boolean isRotated() {
+		return live ? texture.isRotated() : rotated;
+	}
+
+}
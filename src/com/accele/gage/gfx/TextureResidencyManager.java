@@ -0,0 +1,164 @@
+package com.accele.gage.gfx;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.accele.gage.GAGEException;
+import com.accele.gage.GameConfiguration;
+import com.accele.gage.Registry;
+
+/**
+ * Keeps the textures in the texture {@link com.accele.gage.Registry Registry} within the configured GPU memory budget.
+ * <p>
+ * Every registered {@link com.accele.gage.gfx.Texture Texture} reports its {@link com.accele.gage.gfx.Texture#getSize() estimated size} on the GPU.
+ * Once per game loop cycle, the residency manager adds up the sizes of all resident textures, and if they exceed
+ * {@link com.accele.gage.GameConfiguration#getTextureMemoryBudget() getTextureMemoryBudget()}, the least recently bound textures are evicted until
+ * the total fits the budget again. Textures bound during the previous cycle are never evicted, so a scene that needs more memory than the budget
+ * allows only goes over budget rather than reloading textures every cycle.
+ * </p>
+ * <p>
+ * Evicted textures are reloaded from the {@link com.accele.gage.Resource Resource} they were created from the next time they are bound,
+ * which blocks the game loop while the image is decoded. Only textures created from a file can be evicted; textures created from a stream,
+ * sub-textures, atlas and font textures, textures that are still being uploaded, and {@link com.accele.gage.gfx.Texture#setPinned(boolean) pinned}
+ * textures are always kept.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TextureResidencyManager {
+	
+	private GameConfiguration config;
+	private Set<Texture> textures;
+	private List<Texture> candidates;
+	private long frame;
+	private long residentBytes;
+	private int residentCount;
+	private long evictionCount;
+	private long reloadCount;
+	
+	public TextureResidencyManager(GameConfiguration config, Registry<Texture> textureRegistry) {
+		this.config = config;
+		this.textures = new HashSet<>();
+		this.candidates = new ArrayList<>();
+		
+		textureRegistry.addEntryAddCallback(this::track);
+		textureRegistry.addEntryRemoveCallback(this::untrack);
+	}
+	
+	private void track(Texture texture) {
+		textures.add(texture);
+		texture.setResidencyManager(this);
+		texture.setLastBound(frame);
+	}
+	
+	private void untrack(Texture texture) {
+		textures.remove(texture);
+		texture.setResidencyManager(null);
+	}
+	
+	void touch(Texture texture) {
+		texture.setLastBound(frame);
+		if (!texture.isEvicted())
+			return;
+		
+		try {
+			texture.reload();
+			residentBytes += texture.getSize();
+			residentCount++;
+			reloadCount++;
+		} catch (GAGEException | RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	/**
+	 * Evicts the least recently bound textures if the resident textures exceed the configured budget.
+	 * <p>
+	 * This method is called by GAGE once per game loop cycle and should not be called manually.
+	 * </p>
+	 */
+	public void update() {
+		frame++;
+		
+		residentBytes = 0;
+		residentCount = 0;
+		for (Texture texture : textures) {
+			if (texture.isResident()) {
+				residentBytes += texture.getSize();
+				residentCount++;
+			}
+		}
+		
+		long budget = (long) (config.getTextureMemoryBudget() * 1024 * 1024);
+		if (budget == 0 || residentBytes <= budget)
+			return;
+		
+		candidates.clear();
+		for (Texture texture : textures) {
+			if (texture.isEvictable() && texture.getLastBound() < frame - 1)
+				candidates.add(texture);
+		}
+		candidates.sort(Comparator.comparingLong(Texture::getLastBound));
+		
+		for (Texture texture : candidates) {
+			if (residentBytes <= budget)
+				break;
+			texture.evict();
+			residentBytes -= texture.getSize();
+			residentCount--;
+			evictionCount++;
+		}
+		candidates.clear();
+	}
+	
+	/**
+	 * Returns the estimated amount of GPU memory used by the resident textures in the texture registry.
+	 *
+	 * @return the resident texture memory in bytes
+	 */
+	public long getResidentBytes() {
+		return residentBytes;
+	}
+	
+	/**
+	 * Returns the number of resident textures in the texture registry.
+	 *
+	 * @return the number of resident textures
+	 */
+	public int getResidentCount() {
+		return residentCount;
+	}
+	
+	/**
+	 * Returns the number of textures in the texture registry, whether they are resident or not.
+	 *
+	 * @return the number of tracked textures
+	 */
+	public int getTextureCount() {
+		return textures.size();
+	}
+	
+	/**
+	 * Returns the number of times a texture has been evicted since the engine started.
+	 *
+	 * @return the total number of evictions
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+	
+	/**
+	 * Returns the number of times an evicted texture has been reloaded since the engine started.
+	 *
+	 * @return the total number of reloads
+	 */
+	public long getReloadCount() {
+		return reloadCount;
+	}
+	
+}
@@ -2,214 +2,415 @@ package com.accele.gage.gfx;
 
 import java.awt.image.BufferedImage;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.lwjgl.BufferUtils;
 import org.lwjgl.opengl.GL11;
 
+import com.accele.gage.GAGE;
 import com.accele.gage.GAGEException;
 import com.accele.gage.Resource;
 import com.accele.gage.gfx.TextureMeta;
 
 public class TextureStitcher {
-
+	
+	private static final int DEFAULT_MAX_PAGE_SIZE = 4096;
+	private static final double GROWTH_FACTOR = 1.05;
+	
 	private List<Resource<TextureMeta>> textures;
 	private TextureMeta[] metas;
+	private int padding;
+	private boolean allowRotation;
+	private int maxPageSize;
+	private boolean powerOfTwo;
+	private ExecutorService executor;
+	private Path cacheDirectory;
 	
 	public TextureStitcher(List<Resource<TextureMeta>> textures) {
 		this.textures = textures;
+		this.padding = 0;
+		this.allowRotation = false;
+		this.maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+		this.powerOfTwo = true;
+	}
+	
+	public TextureStitcher setPadding(int padding) {
+		if (padding < 0)
+			throw new IllegalArgumentException("The padding cannot be negative.");
+		this.padding = padding;
+		return this;
+	}
+	
+	public TextureStitcher setAllowRotation(boolean allowRotation) {
+		this.allowRotation = allowRotation;
+		return this;
+	}
+	
+	public TextureStitcher setMaxPageSize(int maxPageSize) {
+		if (maxPageSize < 1)
+			throw new IllegalArgumentException("The maximum page size must be positive.");
+		this.maxPageSize = maxPageSize;
+		return this;
+	}
+	
+	public TextureStitcher setPowerOfTwo(boolean powerOfTwo) {
+		this.powerOfTwo = powerOfTwo;
+		return this;
+	}
+	
+	public TextureStitcher setExecutor(ExecutorService executor) {
+		this.executor = executor;
+		return this;
+	}
+	
+	public TextureStitcher setCacheDirectory(Path cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+		return this;
+	}
+	
+	public int getPadding() {
+		return padding;
+	}
+	
+	public boolean isRotationAllowed() {
+		return allowRotation;
+	}
+	
+	public int getMaxPageSize() {
+		return maxPageSize;
+	}
+	
+	public boolean isPowerOfTwo() {
+		return powerOfTwo;
+	}
+	
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+	
+	public Path getCacheDirectory() {
+		return cacheDirectory;
 	}
 	
 	public TextureAtlas stitchToTextureAtlas(String atlasRegistryId) throws GAGEException {
-		this.metas = new TextureMeta[textures.size()];
-		for (int i = 0; i < textures.size(); i++) {
-			metas[i] = textures.get(i).get();
+		TextureAtlasMeta[] atlases = stitch();
+		if (atlases.length > 1)
+			throw new GAGEException("The textures do not fit on a single " + maxPageSize + "x" + maxPageSize + " atlas page; use stitchToTextureAtlases(String) instead.");
+		return createAtlas(atlasRegistryId, atlases[0]);
+	}
+	
+	public TextureAtlas[] stitchToTextureAtlases(String atlasRegistryId) throws GAGEException {
+		TextureAtlasMeta[] atlases = stitch();
+		TextureAtlas[] result = new TextureAtlas[atlases.length];
+		for (int i = 0; i < result.length; i++)
+			result[i] = createAtlas(result.length == 1 ? atlasRegistryId : atlasRegistryId + "_" + i, atlases[i]);
+		return result;
+	}
+	
+	public BufferedImage stitchToBufferedImage() throws GAGEException {
+		loadMetas();
+		try {
+			List<Page> pages = pack();
+			if (pages.size() > 1)
+				throw new GAGEException("The textures do not fit on a single " + maxPageSize + "x" + maxPageSize + " atlas page.");
+			Page page = pages.get(0);
+			return rawPixelsToBufferedImage(getPixels(page), page.width, page.height);
+		} finally {
+			freeMetas();
 		}
+	}
+	
+	private void loadMetas() throws GAGEException {
+		if (textures.isEmpty())
+			throw new GAGEException("Cannot stitch an empty list of textures.");
 		
-		int[] normalizedSize = getNormalizedSize(metas);
-		ByteBuffer[] normalizedTextures = getNormalizedTextures(metas, normalizedSize);
-		int[] atlasDimensions = getAtlasDimensions(normalizedSize, metas.length);
-		TextureAtlasEntry[] entries = getEntries(normalizedTextures, normalizedSize, atlasDimensions);
-		ByteBuffer dest = BufferUtils.createByteBuffer(atlasDimensions[0] * atlasDimensions[1] * 4);
-		
-		for (int i = 0; i < normalizedTextures.length; i++) {
-			ByteBuffer buf = normalizedTextures[i];
-			
-			for (int childY = 0; childY < entries[i].getPixelHeight(); childY++) {
-				for (int childX = 0; childX < entries[i].getPixelWidth(); childX++) {
-					int atlasY = entries[i].getPixelY() + childY;
-					int atlasX = entries[i].getPixelX() + childX;
-					
-					byte r = buf.get();
-					byte g = buf.get();
-					byte b = buf.get();
-					byte a = buf.get();
-					
-					int actualPos = atlasDimensions[0] * 4 * atlasY + atlasX * 4;
-					
-					dest.put(actualPos, r);
-					dest.put(actualPos + 1, g);
-					dest.put(actualPos + 2, b);
-					dest.put(actualPos + 3, a);
-				}
+		this.metas = new TextureMeta[textures.size()];
+		ExecutorService pool = executor != null ? executor : GAGE.isInitialized() ? GAGE.getInstance().getWorkerPool() : null;
+		if (pool == null || textures.size() == 1) {
+			for (int i = 0; i < textures.size(); i++)
+				metas[i] = textures.get(i).get();
+		} else {
+			// Each task stores its own result so that textures which finish loading after the stitch has been abandoned
+			// are freed by the task that loaded them instead of being lost along with their future.
+			TextureMeta[] loaded = metas;
+			AtomicBoolean abandoned = new AtomicBoolean();
+			List<Future<?>> futures = new ArrayList<>(textures.size());
+			for (int i = 0; i < textures.size(); i++) {
+				int index = i;
+				Resource<TextureMeta> texture = textures.get(i);
+				futures.add(pool.submit(() -> {
+					TextureMeta meta = texture.get();
+					synchronized (abandoned) {
+						if (!abandoned.get()) {
+							loaded[index] = meta;
+							return null;
+						}
+					}
+					meta.getCleanupTask().clean();
+					return null;
+				}));
+			}
+			try {
+				for (Future<?> future : futures)
+					future.get();
+			} catch (ExecutionException e) {
+				abandonMetas(futures, abandoned);
+				if (e.getCause() instanceof GAGEException)
+					throw (GAGEException) e.getCause();
+				throw new GAGEException("Failed to load a texture for stitching.", e.getCause());
+			} catch (InterruptedException e) {
+				abandonMetas(futures, abandoned);
+				Thread.currentThread().interrupt();
+				throw new GAGEException("Interrupted while loading textures for stitching.", e);
 			}
 		}
 		
-		TextureMeta tm = new TextureMeta(dest, atlasDimensions[0], atlasDimensions[1], GL11.GL_RGBA, metas[0].getParameters(), false);
-		TextureAtlasMeta meta = new TextureAtlasMeta(tm, entries);
-		
-		return new TextureAtlas(atlasRegistryId, new Resource<>((src, args) -> meta, null));
+		for (int i = 0; i < metas.length; i++) {
+			if (metas[i].getFormat() != GL11.GL_RGBA) {
+				freeMetas();
+				throw new GAGEException("Only RGBA textures can be stitched (texture " + i + ").");
+			}
+		}
 	}
 	
-	public BufferedImage stitchToBufferedImage() throws GAGEException {
-		this.metas = new TextureMeta[textures.size()];
-		for (int i = 0; i < textures.size(); i++) {
-			metas[i] = textures.get(i).get();
+	private TextureAtlasMeta[] stitch() throws GAGEException {
+		TextureAtlasCache cache = cacheDirectory != null ? new TextureAtlasCache(cacheDirectory) : null;
+		byte[] key = cache != null ? cache.computeKey(textures, padding, allowRotation, maxPageSize, powerOfTwo) : null;
+		if (key != null) {
+			TextureAtlasMeta[] cached = cache.read(key);
+			if (cached != null)
+				return cached;
 		}
 		
-		int[] normalizedSize = getNormalizedSize(metas);
-		ByteBuffer[] normalizedTextures = getNormalizedTextures(metas, normalizedSize);
-		int[] atlasDimensions = getAtlasDimensions(normalizedSize, metas.length);
-		TextureAtlasEntry[] entries = getEntries(normalizedTextures, normalizedSize, atlasDimensions);
-		ByteBuffer dest = BufferUtils.createByteBuffer(atlasDimensions[0] * atlasDimensions[1] * 4);
+		loadMetas();
+		TextureAtlasMeta[] atlases;
+		try {
+			List<Page> pages = pack();
+			atlases = new TextureAtlasMeta[pages.size()];
+			for (int i = 0; i < atlases.length; i++)
+				atlases[i] = createAtlasMeta(pages.get(i));
+		} finally {
+			freeMetas();
+		}
 		
-		for (int i = 0; i < normalizedTextures.length; i++) {
-			ByteBuffer buf = normalizedTextures[i];
-			
-			for (int childY = 0; childY < entries[i].getPixelHeight(); childY++) {
-				for (int childX = 0; childX < entries[i].getPixelWidth(); childX++) {
-					int atlasX = entries[i].getPixelX() + childX;
-					int atlasY = entries[i].getPixelY() + (entries[i].getPixelHeight() - childY - 1);
-					
-					byte r = buf.get();
-					byte g = buf.get();
-					byte b = buf.get();
-					byte a = buf.get();
-					
-					int actualPos = atlasDimensions[0] * 4 * atlasY + atlasX * 4;
-					
-					dest.put(actualPos, r);
-					dest.put(actualPos + 1, g);
-					dest.put(actualPos + 2, b);
-					dest.put(actualPos + 3, a);
-				}
+		if (key != null) {
+			try {
+				cache.write(key, atlases);
+			} catch (GAGEException e) {
+				e.printStackTrace();
 			}
 		}
 		
-		return rawPixelsToBufferedImage(dest, atlasDimensions[0], atlasDimensions[1]);
+		return atlases;
 	}
 	
-	private int[] getNormalizedSize(TextureMeta[] metas) {
-		int maxWidth = 0;
-		int maxHeight = 0;
-		
-		for (TextureMeta meta : metas) {
-			if (meta.getWidth() > maxWidth)
-				maxWidth = meta.getWidth();
-			if (meta.getHeight() > maxHeight)
-				maxHeight = meta.getHeight();
+	private void abandonMetas(List<Future<?>> futures, AtomicBoolean abandoned) {
+		futures.forEach(f -> f.cancel(true));
+		synchronized (abandoned) {
+			abandoned.set(true);
+			freeMetas();
 		}
-		
-		if (maxWidth < maxHeight)
-			maxWidth = maxHeight;
-		if (maxHeight < maxWidth)
-			maxHeight = maxWidth;
-		int n = getLargestPowerOf2(maxWidth);
-		return new int[] { n, n };
 	}
 	
-	private ByteBuffer[] getNormalizedTextures(TextureMeta[] metas, int[] normalizedSize) {
-		ByteBuffer[] result = new ByteBuffer[metas.length];
-		for (int i = 0; i < metas.length; i++) {
-			result[i] = getNormalizedTexture(metas[i], normalizedSize);
+	private void freeMetas() {
+		for (TextureMeta meta : metas)
+			if (meta != null)
+				meta.getCleanupTask().clean();
+		this.metas = null;
+	}
+	
+	private TextureAtlas createAtlas(String atlasRegistryId, TextureAtlasMeta meta) {
+		return new TextureAtlas(atlasRegistryId, new Resource<>((src, args) -> meta, null));
+	}
+	
+	private TextureAtlasMeta createAtlasMeta(Page page) {
+		TextureAtlasEntry[] entries = new TextureAtlasEntry[page.indices.length];
+		for (int i = 0; i < entries.length; i++) {
+			TextureMeta src = metas[page.indices[i]];
+			int[] placement = page.placements[i];
+			boolean rotated = placement[2] != 0;
+			entries[i] = new TextureAtlasEntry(placement[0] + padding, placement[1] + padding,
+					rotated ? src.getHeight() : src.getWidth(), rotated ? src.getWidth() : src.getHeight(),
+					page.width, page.height, rotated, page.indices[i]);
 		}
-		return result;
+		
+		TextureMeta tm = new TextureMeta(getPixels(page), page.width, page.height, GL11.GL_RGBA, metas[page.indices[0]].getParameters(), false);
+		return new TextureAtlasMeta(tm, entries);
 	}
 	
-	private ByteBuffer getNormalizedTexture(TextureMeta meta, int[] normalizedSize) {
-		if (meta.getWidth() == normalizedSize[0] && meta.getHeight() == normalizedSize[1])
-			return meta.getPixels();
+	private ByteBuffer getPixels(Page page) {
+		ByteBuffer dest = BufferUtils.createByteBuffer(page.width * page.height * 4);
+		ByteBuffer destRow = dest.duplicate();
 		
-		ByteBuffer dest = BufferUtils.createByteBuffer(normalizedSize[0] * normalizedSize[1] * 4);
-		for (int y = 0; y < normalizedSize[1]; y++) {
-			if (y >= meta.getHeight()) {
-				for (int x = 0; x < normalizedSize[0]; x++)
-					dest.putInt(0);
+		for (int i = 0; i < page.indices.length; i++) {
+			TextureMeta src = metas[page.indices[i]];
+			ByteBuffer buf = src.getPixels();
+			int base = buf.position();
+			int width = src.getWidth();
+			int height = src.getHeight();
+			int atlasX = page.placements[i][0] + padding;
+			int atlasY = page.placements[i][1] + padding;
+			
+			if (page.placements[i][2] != 0) {
+				for (int srcY = 0; srcY < height; srcY++) {
+					int destX = atlasX + height - 1 - srcY;
+					for (int srcX = 0; srcX < width; srcX++)
+						dest.putInt(((atlasY + srcX) * page.width + destX) * 4, buf.getInt(base + (srcY * width + srcX) * 4));
+				}
 			} else {
-				for (int x = 0; x < normalizedSize[0]; x++) {
-					if (x >= meta.getWidth())
-						dest.putInt(0);
-					else {
-						dest.put(meta.getPixels().get());
-						dest.put(meta.getPixels().get());
-						dest.put(meta.getPixels().get());
-						dest.put(meta.getPixels().get());
-					}
+				ByteBuffer srcRow = buf.duplicate();
+				for (int srcY = 0; srcY < height; srcY++) {
+					int srcOffset = base + srcY * width * 4;
+					srcRow.limit(srcOffset + width * 4).position(srcOffset);
+					destRow.position(((atlasY + srcY) * page.width + atlasX) * 4);
+					destRow.put(srcRow);
 				}
 			}
 		}
-		dest.flip();
+		
 		return dest;
 	}
 	
-	private int[] getAtlasDimensions(int[] normalizedSize, int numTextures) {
-		int side = (int) Math.ceil(Math.sqrt(numTextures)) * normalizedSize[0];
-		double log = Math.log(side) / Math.log(2);
-		if (Math.ceil(log) != Math.floor(log))
-			side = getLargestPowerOf2(side);
-		return new int[] { side, side };
-	}
-	
-	private int getLargestPowerOf2(int n) {
-		int result = 2;
-		int exp = 1;
-		while (result < n) {
-			result = (int) Math.pow(2, ++exp);
+	private List<Page> pack() throws GAGEException {
+		Integer[] order = new Integer[metas.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> {
+			int sideA = Math.max(metas[a].getWidth(), metas[a].getHeight());
+			int sideB = Math.max(metas[b].getWidth(), metas[b].getHeight());
+			if (sideA != sideB)
+				return sideB - sideA;
+			return Integer.compare(metas[b].getWidth() * metas[b].getHeight(), metas[a].getWidth() * metas[a].getHeight());
+		});
+		
+		List<Page> pages = new ArrayList<>();
+		List<Integer> remaining = new ArrayList<>(Arrays.asList(order));
+		while (!remaining.isEmpty()) {
+			MaxRectsPacker packer = new MaxRectsPacker(maxPageSize, maxPageSize, allowRotation);
+			List<Integer> pageIndices = new ArrayList<>();
+			List<Integer> next = new ArrayList<>();
+			for (int index : remaining) {
+				if (packer.insert(metas[index].getWidth() + padding * 2, metas[index].getHeight() + padding * 2) != null)
+					pageIndices.add(index);
+				else
+					next.add(index);
+			}
+			if (pageIndices.isEmpty())
+				throw new GAGEException("Texture " + next.get(0) + " (" + metas[next.get(0)].getWidth() + "x" + metas[next.get(0)].getHeight()
+						+ ") does not fit on a " + maxPageSize + "x" + maxPageSize + " atlas page.");
+			pages.add(packPage(pageIndices));
+			remaining = next;
 		}
-		return result;
+		return pages;
 	}
 	
-	private TextureAtlasEntry[] getEntries(ByteBuffer[] normalizedTextures, int[] normalizedSize, int[] atlasDimensions) {
-		TextureAtlasEntry[] result = new TextureAtlasEntry[normalizedTextures.length];
+	private Page packPage(List<Integer> indices) throws GAGEException {
+		long area = 0;
+		int minWidth = 1;
+		int minHeight = 1;
+		for (int index : indices) {
+			int w = metas[index].getWidth() + padding * 2;
+			int h = metas[index].getHeight() + padding * 2;
+			area += (long) w * h;
+			minWidth = Math.max(minWidth, allowRotation ? Math.min(w, h) : w);
+			minHeight = Math.max(minHeight, allowRotation ? Math.min(w, h) : h);
+		}
 		
-		int x = 0;
-		int y = 0;
-		for (int i = 0; i < result.length; i++) {
-			if (x + normalizedSize[0] > atlasDimensions[0]) {
-				x = 0;
-				y += normalizedSize[1];
-				
-				if (y > atlasDimensions[1])
+		if (powerOfTwo) {
+			List<int[]> candidates = new ArrayList<>();
+			for (int w = 1; w <= maxPageSize; w <<= 1)
+				for (int h = 1; h <= maxPageSize; h <<= 1)
+					if ((long) w * h >= area && w >= minWidth && h >= minHeight)
+						candidates.add(new int[] { w, h });
+			candidates.sort((a, b) -> {
+				long areaA = (long) a[0] * a[1];
+				long areaB = (long) b[0] * b[1];
+				if (areaA != areaB)
+					return Long.compare(areaA, areaB);
+				return Integer.compare(Math.abs(a[0] - a[1]), Math.abs(b[0] - b[1]));
+			});
+			for (int[] size : candidates) {
+				Page page = tryPack(indices, size[0], size[1]);
+				if (page != null)
+					return page;
+			}
+			Page page = tryPack(indices, maxPageSize, maxPageSize);
+			if (page != null)
+				return page;
+		} else {
+			int side = (int) Math.ceil(Math.sqrt(area));
+			int w = Math.min(maxPageSize, Math.max(side, minWidth));
+			int h = Math.min(maxPageSize, Math.max(side, minHeight));
+			while (true) {
+				Page page = tryPack(indices, w, h);
+				if (page != null)
+					return shrink(page);
+				if (w == maxPageSize && h == maxPageSize)
 					break;
+				if ((w <= h && w < maxPageSize) || h == maxPageSize)
+					w = Math.min(maxPageSize, Math.max(w + 1, (int) (w * GROWTH_FACTOR)));
+				else
+					h = Math.min(maxPageSize, Math.max(h + 1, (int) (h * GROWTH_FACTOR)));
 			}
-			
-			result[i] = new TextureAtlasEntry(x, y, normalizedSize[0], normalizedSize[1], atlasDimensions[0], atlasDimensions[1]);
-			
-			x += normalizedSize[0];
 		}
 		
-		return result;
+		throw new GAGEException("Failed to pack " + indices.size() + " textures into a " + maxPageSize + "x" + maxPageSize + " atlas page.");
+	}
+	
+	private Page tryPack(List<Integer> indices, int width, int height) {
+		MaxRectsPacker packer = new MaxRectsPacker(width, height, allowRotation);
+		int[][] placements = new int[indices.size()][];
+		for (int i = 0; i < placements.length; i++) {
+			TextureMeta meta = metas[indices.get(i)];
+			placements[i] = packer.insert(meta.getWidth() + padding * 2, meta.getHeight() + padding * 2);
+			if (placements[i] == null)
+				return null;
+		}
+		
+		Integer[] byIndex = new Integer[placements.length];
+		for (int i = 0; i < byIndex.length; i++)
+			byIndex[i] = i;
+		Arrays.sort(byIndex, (a, b) -> Integer.compare(indices.get(a), indices.get(b)));
+		
+		Page page = new Page(width, height, new int[placements.length], new int[placements.length][]);
+		for (int i = 0; i < byIndex.length; i++) {
+			page.indices[i] = indices.get(byIndex[i]);
+			page.placements[i] = placements[byIndex[i]];
+		}
+		return page;
+	}
+	
+	private Page shrink(Page page) {
+		int width = 1;
+		int height = 1;
+		for (int i = 0; i < page.indices.length; i++) {
+			TextureMeta meta = metas[page.indices[i]];
+			boolean rotated = page.placements[i][2] != 0;
+			width = Math.max(width, page.placements[i][0] + (rotated ? meta.getHeight() : meta.getWidth()) + padding * 2);
+			height = Math.max(height, page.placements[i][1] + (rotated ? meta.getWidth() : meta.getHeight()) + padding * 2);
+		}
+		return new Page(width, height, page.indices, page.placements);
 	}
 	
 	private BufferedImage rawPixelsToBufferedImage(ByteBuffer pixels, int width, int height) throws GAGEException {
-		pixels.mark();
+		int base = pixels.position();
+		int[] row = new int[width];
 		
 		BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 		for (int y = 0; y < height; y++) {
-			for (int x = 0; x < width; x++) {
-				byte r = pixels.get();
-				byte g = pixels.get();
-				byte b = pixels.get();
-				byte a = pixels.get();
-				
-				int pixel = convertColor(r, g, b, a);
-				
-				img.setRGB(x, y, pixel);
-			}
+			int offset = base + y * width * 4;
+			for (int x = 0; x < width; x++, offset += 4)
+				row[x] = convertColor(pixels.get(offset), pixels.get(offset + 1), pixels.get(offset + 2), pixels.get(offset + 3));
+			img.setRGB(0, height - y - 1, width, 1, row, 0, width);
 		}
 		
-		pixels.reset();
-		
 		return img;
 	}
 	
@@ -217,4 +418,20 @@ public class TextureStitcher {
 		return ((a & 0xff) << 24) | ((r & 0xff) << 16) | ((g & 0xff) << 8) | (b & 0xff);
 	}
 	
+	private static class Page {
+		
+		private int width;
+		private int height;
+		private int[] indices;
+		private int[][] placements;
+		
+		private Page(int width, int height, int[] indices, int[][] placements) {
+			this.width = width;
+			this.height = height;
+			this.indices = indices;
+			this.placements = placements;
+		}
+		
+	}
+	
 }
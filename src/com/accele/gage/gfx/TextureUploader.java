@@ -0,0 +1,370 @@
+package com.accele.gage.gfx;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.ARBBufferStorage;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+import org.lwjgl.opengl.GL13;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL44;
+import org.lwjgl.opengl.GLCapabilities;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGEException;
+import com.accele.gage.GameConfiguration;
+import com.accele.gage.Resource;
+
+/**
+ * Loads {@link com.accele.gage.gfx.Texture Texture}{@code s} in the background so that loading new art does not stall the game loop.
+ * <p>
+ * {@link #load(String, Resource)} returns a texture immediately. Until its image has been uploaded, the texture is bound to a transparent 1x1 placeholder
+ * and {@link com.accele.gage.gfx.Texture#isResident() isResident()} returns false. The image is decoded on the
+ * {@link com.accele.gage.GAGE#getWorkerPool() worker pool} and then copied into a ring of pixel buffer objects by the game loop,
+ * from which OpenGL uploads it without blocking. At most {@link com.accele.gage.GameConfiguration#getTextureUploadBudget() getTextureUploadBudget()}
+ * megabytes are uploaded per game loop cycle; larger textures are uploaded a few rows at a time over several cycles.
+ * </p>
+ * <p>
+ * If {@code GL_ARB_buffer_storage} is available, the pixel buffers are persistently mapped. Otherwise each cycle's part of the ring is mapped and unmapped.
+ * </p>
+ * <p>
+ * {@link com.accele.gage.gfx.TextureMeta#isCompressed() Compressed} textures are already small and cannot be uploaded a few rows at a time,
+ * so they bypass the pixel buffers and are uploaded whole as soon as they have been read.
+ * </p>
+ * <p>
+ * Sub-regions may be taken from a texture before it is resident. They share the texture of their parent, so they are drawn with the placeholder
+ * until the parent becomes resident and with its image from then on.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TextureUploader implements Cleanable {
+	
+	private static final int SEGMENT_COUNT = 3;
+	private static final int MIN_SEGMENT_SIZE = 1 << 16;
+	private static final int UNPACK_ALIGNMENT = 4;
+	
+	private GameConfiguration config;
+	private ExecutorService workerPool;
+	private Queue<Upload> decoded;
+	private List<Upload> uploading;
+	private List<Chunk> chunks;
+	private AtomicInteger pendingUploads;
+	private int placeholderId;
+	private int pbo;
+	private int segmentSize;
+	private int segment;
+	private long[] fences;
+	private ByteBuffer mapped;
+	private boolean persistent;
+	private long bytesUploaded;
+	
+	public TextureUploader(GameConfiguration config, ExecutorService workerPool) {
+		this.config = config;
+		this.workerPool = workerPool;
+		this.decoded = new ConcurrentLinkedQueue<>();
+		this.uploading = new ArrayList<>();
+		this.chunks = new ArrayList<>();
+		this.pendingUploads = new AtomicInteger();
+		this.fences = new long[SEGMENT_COUNT];
+		
+		GLCapabilities caps = GL.getCapabilities();
+		this.persistent = caps.OpenGL44 || caps.GL_ARB_buffer_storage;
+		
+		this.placeholderId = GL11.glGenTextures();
+		GL13.glActiveTexture(GL13.GL_TEXTURE0);
+		GL11.glBindTexture(GL11.GL_TEXTURE_2D, placeholderId);
+		GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, 1, 1, 0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, BufferUtils.createByteBuffer(4));
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+		GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+	}
+	
+	/**
+	 * Creates a {@link com.accele.gage.gfx.Texture Texture} whose image is loaded in the background.
+	 * <p>
+	 * The texture can be registered and drawn right away; it shows a transparent placeholder until its image has been uploaded.
+	 * If the image fails to load, the error is printed and the texture keeps showing the placeholder.
+	 * </p>
+	 *
+	 * @param registryId the unique ID to use in the texture {@link com.accele.gage.Registry Registry}
+	 * @param meta the metadata for the {@code Texture}, which is loaded on a worker thread
+	 * @return the new texture
+	 */
+	public Texture load(String registryId, Resource<TextureMeta> meta) {
+		Upload upload = new Upload();
+		Texture texture = new Texture(registryId, placeholderId, upload, meta);
+		upload.texture = texture;
+		pendingUploads.incrementAndGet();
+		
+		workerPool.submit(() -> {
+			try {
+				upload.meta = meta.get();
+			} catch (GAGEException | RuntimeException e) {
+				upload.error = e;
+			}
+			decoded.add(upload);
+		});
+		
+		return texture;
+	}
+	
+	/**
+	 * Uploads the next part of the pending textures, within the configured budget.
+	 * <p>
+	 * This method is called by GAGE once per game loop cycle and should not be called manually.
+	 * </p>
+	 */
+	public void update() {
+		bytesUploaded = 0;
+		Upload next;
+		while ((next = decoded.poll()) != null) {
+			if (next.error != null) {
+				next.error.printStackTrace();
+				pendingUploads.decrementAndGet();
+			} else if (next.cancelled) {
+				next.meta.getCleanupTask().clean();
+				pendingUploads.decrementAndGet();
+			} else if (next.meta.isCompressed()) {
+				next.texture.finishUpload(Texture.createTexture(next.meta), next.meta.getWidth(), next.meta.getHeight(), Texture.estimateSize(next.meta));
+				for (ByteBuffer level : next.meta.getLevels())
+					bytesUploaded += level.remaining();
+				next.meta.getCleanupTask().clean();
+				pendingUploads.decrementAndGet();
+			} else
+				uploading.add(next);
+		}
+		
+		if (uploading.isEmpty())
+			return;
+		
+		long budget = Math.max(1, (long) (config.getTextureUploadBudget() * 1024 * 1024));
+		ensureCapacity((int) Math.min(Integer.MAX_VALUE / SEGMENT_COUNT, Math.max(MIN_SEGMENT_SIZE, budget)));
+		
+		if (fences[segment] != 0) {
+			if (GL32.glClientWaitSync(fences[segment], 0, 0) == GL32.GL_TIMEOUT_EXPIRED)
+				return;
+			GL32.glDeleteSync(fences[segment]);
+			fences[segment] = 0;
+		}
+		
+		GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, pbo);
+		
+		ByteBuffer dest = persistent ? mapped : GL30.glMapBufferRange(GL21.GL_PIXEL_UNPACK_BUFFER, (long) segment * segmentSize, segmentSize,
+				GL30.GL_MAP_WRITE_BIT | GL30.GL_MAP_INVALIDATE_RANGE_BIT | GL30.GL_MAP_UNSYNCHRONIZED_BIT);
+		int base = persistent ? segment * segmentSize : 0;
+		int offset = 0;
+		
+		chunks.clear();
+		for (int i = 0; i < uploading.size() && bytesUploaded < budget; i++) {
+			Upload upload = uploading.get(i);
+			if (upload.cancelled)
+				continue;
+			
+			TextureMeta meta = upload.meta;
+			int stride = getStride(meta);
+			int rows = (int) Math.min(meta.getHeight() - upload.row, Math.max(1, (budget - bytesUploaded) / stride));
+			rows = Math.min(rows, (segmentSize - offset) / stride);
+			if (rows <= 0)
+				break;
+			
+			ByteBuffer src = meta.getPixels().duplicate();
+			int srcOffset = src.position() + upload.row * stride;
+			src.limit(Math.min(src.limit(), srcOffset + rows * stride)).position(srcOffset);
+			ByteBuffer target = dest.duplicate();
+			target.position(base + offset);
+			target.put(src);
+			
+			chunks.add(new Chunk(upload, upload.row, rows, (long) segment * segmentSize + offset));
+			upload.row += rows;
+			offset += rows * stride;
+			bytesUploaded += (long) rows * stride;
+		}
+		
+		if (!persistent)
+			GL15.glUnmapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER);
+		
+		GL13.glActiveTexture(GL13.GL_TEXTURE0);
+		for (Chunk chunk : chunks) {
+			Upload upload = chunk.upload;
+			TextureMeta meta = upload.meta;
+			if (upload.textureId == 0) {
+				upload.textureId = GL11.glGenTextures();
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, upload.textureId);
+				GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+				GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA, meta.getWidth(), meta.getHeight(), 0, meta.getFormat(), GL11.GL_UNSIGNED_BYTE, (ByteBuffer) null);
+				GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, pbo);
+				for (int i = 0; i < meta.getParameters().length; i++) {
+					int key = meta.getParameters()[i++];
+					int value = meta.getParameters()[i];
+					GL11.glTexParameteri(GL11.GL_TEXTURE_2D, key, value);
+				}
+			} else
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, upload.textureId);
+			GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, 0, chunk.row, meta.getWidth(), chunk.rows, meta.getFormat(), GL11.GL_UNSIGNED_BYTE, chunk.offset);
+		}
+		
+		fences[segment] = GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+		segment = (segment + 1) % SEGMENT_COUNT;
+		GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+		
+		for (int i = 0; i < uploading.size(); i++) {
+			Upload upload = uploading.get(i);
+			if (upload.cancelled) {
+				if (upload.textureId != 0)
+					GL11.glDeleteTextures(upload.textureId);
+			} else if (upload.row == upload.meta.getHeight()) {
+				GL11.glBindTexture(GL11.GL_TEXTURE_2D, upload.textureId);
+				Texture.uploadLevels(upload.meta, 1);
+				upload.texture.finishUpload(upload.textureId, upload.meta.getWidth(), upload.meta.getHeight(), Texture.estimateSize(upload.meta));
+			} else
+				continue;
+			upload.meta.getCleanupTask().clean();
+			uploading.remove(i--);
+			pendingUploads.decrementAndGet();
+		}
+	}
+	
+	private void ensureCapacity(int size) {
+		if (pbo != 0 && segmentSize == size)
+			return;
+		
+		deletePbo();
+		this.segmentSize = size;
+		this.segment = 0;
+		this.pbo = GL15.glGenBuffers();
+		GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, pbo);
+		long total = (long) segmentSize * SEGMENT_COUNT;
+		if (persistent) {
+			int flags = GL30.GL_MAP_WRITE_BIT | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+			if (GL.getCapabilities().OpenGL44)
+				GL44.glBufferStorage(GL21.GL_PIXEL_UNPACK_BUFFER, total, flags);
+			else
+				ARBBufferStorage.glBufferStorage(GL21.GL_PIXEL_UNPACK_BUFFER, total, flags);
+			this.mapped = GL30.glMapBufferRange(GL21.GL_PIXEL_UNPACK_BUFFER, 0, total, flags);
+		} else
+			GL15.glBufferData(GL21.GL_PIXEL_UNPACK_BUFFER, total, GL15.GL_STREAM_DRAW);
+		GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+	}
+	
+	private void deletePbo() {
+		for (int i = 0; i < fences.length; i++) {
+			if (fences[i] != 0) {
+				GL32.glDeleteSync(fences[i]);
+				fences[i] = 0;
+			}
+		}
+		if (pbo != 0) {
+			GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, pbo);
+			if (persistent)
+				GL15.glUnmapBuffer(GL21.GL_PIXEL_UNPACK_BUFFER);
+			GL15.glBindBuffer(GL21.GL_PIXEL_UNPACK_BUFFER, 0);
+			GL15.glDeleteBuffers(pbo);
+			pbo = 0;
+			mapped = null;
+		}
+	}
+	
+	private int getStride(TextureMeta meta) {
+		int bytesPerPixel;
+		switch (meta.getFormat()) {
+		case GL11.GL_RED:
+		case GL11.GL_ALPHA:
+			bytesPerPixel = 1;
+			break;
+		case GL30.GL_RG:
+			bytesPerPixel = 2;
+			break;
+		case GL11.GL_RGB:
+		case GL12.GL_BGR:
+			bytesPerPixel = 3;
+			break;
+		default:
+			bytesPerPixel = 4;
+		}
+		return (meta.getWidth() * bytesPerPixel + UNPACK_ALIGNMENT - 1) / UNPACK_ALIGNMENT * UNPACK_ALIGNMENT;
+	}
+	
+	@Override
+	public void clean() {
+		for (Upload upload : uploading) {
+			if (upload.textureId != 0)
+				GL11.glDeleteTextures(upload.textureId);
+			upload.meta.getCleanupTask().clean();
+		}
+		uploading.clear();
+		deletePbo();
+		GL11.glDeleteTextures(placeholderId);
+	}
+	
+	/**
+	 * Returns the number of textures that have been requested through {@link #load(String, Resource)} but are not resident yet.
+	 *
+	 * @return the number of pending texture uploads
+	 */
+	public int getPendingUploads() {
+		return pendingUploads.get();
+	}
+	
+	/**
+	 * Returns the number of bytes of texture data uploaded during the most recent game loop cycle.
+	 *
+	 * @return the number of bytes uploaded during the last cycle
+	 */
+	public long getBytesUploaded() {
+		return bytesUploaded;
+	}
+	
+	/**
+	 * Returns whether the pixel buffers used for uploading are persistently mapped.
+	 *
+	 * @return whether persistent mapping is used
+	 */
+	public boolean isPersistentlyMapped() {
+		return persistent;
+	}
+	
+	static class Upload {
+		
+		private Texture texture;
+		private volatile TextureMeta meta;
+		private volatile Exception error;
+		private volatile boolean cancelled;
+		private int textureId;
+		private int row;
+		
+		void cancel() {
+			cancelled = true;
+		}
+		
+	}
+	
+	private static class Chunk {
+		
+		private Upload upload;
+		private int row;
+		private int rows;
+		private long offset;
+		
+		private Chunk(Upload upload, int row, int rows, long offset) {
+			this.upload = upload;
+			this.row = row;
+			this.rows = rows;
+			this.offset = offset;
+		}
+		
+	}
+	
+}
@@ -176,6 +176,25 @@ public class Window implements Cleanable {
 		GLFW.glfwMakeContextCurrent(0);
 	}
 	
+	/**
+	 * Detaches the OpenGL context associated with this window and attaches the context associated with the {@code target} window.
+	 * <p>
+	 * This is equivalent to calling {@link #detachContext()} on this window followed by {@link #attachContext()} on the {@code target} window,
+	 * but only requires a single call to {@code glfwMakeContextCurrent}, since making a context current implicitly releases the previous one.
+	 * </p>
+	 *
+	 * @param target the window whose context should be attached
+	 */
+	public void transferContext(Window target) {
+		if (target == this) {
+			attachContext();
+			return;
+		}
+		contextCurrent = false;
+		target.contextCurrent = true;
+		GLFW.glfwMakeContextCurrent(target.pointer);
+	}
+	
 	/**
 	 * Returns the full screen status of the window.
 	 * <p>
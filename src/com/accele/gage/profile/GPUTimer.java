@@ -0,0 +1,107 @@
+package com.accele.gage.profile;
+
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL33;
+
+import com.accele.gage.Cleanable;
+
+class GPUTimer implements Cleanable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Profiler profiler;
+	private final Frame[] frames;
+	private int current;
+	private long currentFrame;
+
+	GPUTimer(Profiler profiler, int latency) {
+		this.profiler = profiler;
+		this.frames = new Frame[latency + 1];
+		for (int i = 0; i < frames.length; i++)
+			frames[i] = new Frame();
+		this.currentFrame = profiler.getFrame();
+	}
+
+	int begin(ProfilerPass pass) {
+		if (profiler.getFrame() != currentFrame) {
+			currentFrame = profiler.getFrame();
+			current = (current + 1) % frames.length;
+			resolve(frames[current]);
+		}
+
+		Frame frame = frames[current];
+		int record = frame.count++;
+		frame.ensureCapacity(frame.count);
+		frame.owners[record] = pass;
+		GL33.glQueryCounter(frame.queries[record * 2], GL33.GL_TIMESTAMP);
+		return record;
+	}
+
+	void end(int record) {
+		Frame frame = frames[current];
+		if (record >= frame.count)
+			return;
+		GL33.glQueryCounter(frame.queries[record * 2 + 1], GL33.GL_TIMESTAMP);
+		frame.ended[record] = true;
+	}
+
+	private void resolve(Frame frame) {
+		if (frame.count == 0)
+			return;
+
+		boolean available = true;
+		for (int i = 0; i < frame.count && available; i++)
+			available = frame.ended[i] && GL15.glGetQueryObjecti(frame.queries[i * 2 + 1], GL15.GL_QUERY_RESULT_AVAILABLE) == GL15.GL_TRUE;
+
+		if (available) {
+			for (int i = 0; i < frame.count; i++) {
+				long start = GL33.glGetQueryObjecti64(frame.queries[i * 2], GL15.GL_QUERY_RESULT);
+				long end = GL33.glGetQueryObjecti64(frame.queries[i * 2 + 1], GL15.GL_QUERY_RESULT);
+				frame.owners[i].accumulateGpuTime(end - start);
+			}
+			for (int i = 0; i < frame.count; i++)
+				frame.owners[i].publishGpuTime();
+		} else {
+			profiler.onGPUFrameDropped();
+		}
+
+		Arrays.fill(frame.owners, 0, frame.count, null);
+		Arrays.fill(frame.ended, 0, frame.count, false);
+		frame.count = 0;
+	}
+
+	@Override
+	public void clean() {
+		for (Frame frame : frames) {
+			if (frame.queries.length > 0)
+				GL15.glDeleteQueries(frame.queries);
+			frame.queries = new int[0];
+			frame.count = 0;
+		}
+	}
+
+	private static class Frame {
+
+		private int[] queries = new int[0];
+		private ProfilerPass[] owners = new ProfilerPass[0];
+		private boolean[] ended = new boolean[0];
+		private int count;
+
+		private void ensureCapacity(int records) {
+			if (records <= owners.length)
+				return;
+			int capacity = Math.max(INITIAL_CAPACITY, owners.length * 2);
+			int[] generated = new int[(capacity - owners.length) * 2];
+			GL15.glGenQueries(generated);
+			int[] grown = Arrays.copyOf(queries, capacity * 2);
+			System.arraycopy(generated, 0, grown, queries.length, generated.length);
+			queries = grown;
+			owners = Arrays.copyOf(owners, capacity);
+			ended = Arrays.copyOf(ended, capacity);
+		}
+
+	}
+
+}
@@ -0,0 +1,231 @@
+package com.accele.gage.profile;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.lwjgl.glfw.GLFW;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import com.accele.gage.Cleanable;
+
+/**
+ * Collects CPU and GPU timings for named passes of the game loop.
+ * <p>
+ * A pass is any section of work that is measured once or several times per frame, such as rendering a context or flushing a batch of draw calls.
+ * Passes are created with {@link #getPass(String, boolean)} and measured by calling {@link com.accele.gage.profile.ProfilerPass#begin() begin()}
+ * and {@link com.accele.gage.profile.ProfilerPass#end() end()} around the work. All measurements made for the same pass during one frame are added together.
+ * </p>
+ * <p>
+ * GPU timings are taken with OpenGL timestamp queries. Query results are never waited on; they are read back {@link #getGPULatency()} frames after
+ * they were issued, so the reported GPU time of a pass always lags behind its CPU time by a few frames. If the results of a frame are still not available
+ * by then, that frame is dropped instead of stalling the pipeline (see {@link #getDroppedGPUFrames()}).
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class Profiler implements Cleanable {
+
+	private static final int DEFAULT_GPU_LATENCY = 3;
+
+	private Map<String, ProfilerPass> passes;
+	private Map<Long, GPUTimer> gpuTimers;
+	private boolean enabled;
+	private boolean gpuTimingEnabled;
+	private int gpuLatency;
+	private long frame;
+	private long droppedGPUFrames;
+	private long cachedContext;
+	private GPUTimer cachedTimer;
+
+	/**
+	 * Creates a new {@code Profiler} with both CPU and GPU timing enabled.
+	 * <p>
+	 * This constructor should not be called by the user; the {@link com.accele.gage.GAGE GAGE} class already contains an instance of this class.
+	 * </p>
+	 *
+	 * @see com.accele.gage.GAGE#getProfiler() getProfiler()
+	 */
+	public Profiler() {
+		this.passes = new LinkedHashMap<>();
+		this.gpuTimers = new HashMap<>();
+		this.enabled = true;
+		this.gpuTimingEnabled = true;
+		this.gpuLatency = DEFAULT_GPU_LATENCY;
+	}
+
+	/**
+	 * Returns the pass with the specified {@code name}, creating it if it does not exist yet.
+	 * <p>
+	 * If the pass already exists, {@code gpuTimed} is ignored.
+	 * </p>
+	 *
+	 * @param name the name of the pass
+	 * @param gpuTimed whether the pass should also be measured on the GPU
+	 * @return the pass with the specified {@code name}
+	 */
+	public ProfilerPass getPass(String name, boolean gpuTimed) {
+		ProfilerPass pass = passes.get(name);
+		if (pass == null) {
+			pass = new ProfilerPass(this, name, gpuTimed);
+			passes.put(name, pass);
+		}
+		return pass;
+	}
+
+	/**
+	 * Returns the pass with the specified {@code name}, creating a CPU-only pass if it does not exist yet.
+	 *
+	 * @param name the name of the pass
+	 * @return the pass with the specified {@code name}
+	 */
+	public ProfilerPass getPass(String name) {
+		return getPass(name, false);
+	}
+
+	/**
+	 * Returns an immutable view of all passes known to this {@code Profiler}, in the order in which they were created.
+	 *
+	 * @return an unmodifiable {@link java.util.Collection Collection} of all passes
+	 */
+	public Collection<ProfilerPass> getPasses() {
+		return Collections.unmodifiableCollection(passes.values());
+	}
+
+	/**
+	 * Marks the start of a new frame. The CPU timings gathered during the previous frame are published to their passes.
+	 * <p>
+	 * This method is called by the engine at the start of every game loop cycle and should not be called by the user.
+	 * </p>
+	 */
+	public void beginFrame() {
+		for (ProfilerPass pass : passes.values())
+			pass.publishCpuTime();
+		frame++;
+	}
+
+	GPUTimer getCurrentGPUTimer() {
+		if (!gpuTimingEnabled)
+			return null;
+		long context = GLFW.glfwGetCurrentContext();
+		if (context == 0)
+			return null;
+		if (context == cachedContext)
+			return cachedTimer;
+
+		GPUTimer timer = gpuTimers.get(context);
+		if (timer == null && !gpuTimers.containsKey(context)) {
+			GLCapabilities caps = GL.getCapabilities();
+			timer = caps.OpenGL33 || caps.GL_ARB_timer_query ? new GPUTimer(this, gpuLatency) : null;
+			gpuTimers.put(context, timer);
+		}
+		cachedContext = context;
+		cachedTimer = timer;
+		return timer;
+	}
+
+	void onGPUFrameDropped() {
+		droppedGPUFrames++;
+	}
+
+	/**
+	 * Returns the index of the current frame.
+	 *
+	 * @return the number of times {@link #beginFrame()} has been called
+	 */
+	public long getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the number of frames whose GPU timings were discarded because the queries had not completed
+	 * by the time they were read back.
+	 *
+	 * @return the number of dropped GPU frames
+	 */
+	public long getDroppedGPUFrames() {
+		return droppedGPUFrames;
+	}
+
+	/**
+	 * Returns whether this {@code Profiler} is currently taking measurements.
+	 *
+	 * @return whether this {@code Profiler} is enabled
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Sets whether this {@code Profiler} should take measurements. Disabling the profiler also disables GPU timing.
+	 *
+	 * @param enabled whether this {@code Profiler} should be enabled
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns whether passes that support it are also measured on the GPU.
+	 *
+	 * @return whether GPU timing is enabled
+	 */
+	public boolean isGPUTimingEnabled() {
+		return enabled && gpuTimingEnabled;
+	}
+
+	/**
+	 * Sets whether passes that support it should also be measured on the GPU.
+	 *
+	 * @param gpuTimingEnabled whether GPU timing should be enabled
+	 */
+	public void setGPUTimingEnabled(boolean gpuTimingEnabled) {
+		this.gpuTimingEnabled = gpuTimingEnabled;
+	}
+
+	/**
+	 * Returns the number of frames GPU queries are left in flight before their results are read back.
+	 *
+	 * @return the GPU read-back latency, in frames
+	 */
+	public int getGPULatency() {
+		return gpuLatency;
+	}
+
+	/**
+	 * Sets the number of frames GPU queries are left in flight before their results are read back.
+	 * Higher values make dropped frames less likely at the cost of more delayed results.
+	 * This only affects contexts that have not issued any GPU query yet.
+	 *
+	 * @param gpuLatency the GPU read-back latency, in frames
+	 * @throws IllegalArgumentException if {@code gpuLatency} is less than 1
+	 */
+	public void setGPULatency(int gpuLatency) {
+		if (gpuLatency < 1)
+			throw new IllegalArgumentException("The GPU latency must be at least one frame.");
+		this.gpuLatency = gpuLatency;
+	}
+
+	@Override
+	public void clean() {
+		long previous = GLFW.glfwGetCurrentContext();
+		for (Map.Entry<Long, GPUTimer> e : gpuTimers.entrySet()) {
+			if (e.getValue() == null)
+				continue;
+			if (e.getKey() != GLFW.glfwGetCurrentContext())
+				GLFW.glfwMakeContextCurrent(e.getKey());
+			e.getValue().clean();
+		}
+		if (previous != GLFW.glfwGetCurrentContext())
+			GLFW.glfwMakeContextCurrent(previous);
+		gpuTimers.clear();
+		cachedContext = 0;
+		cachedTimer = null;
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.accele.gage.profile;
+
+/**
+ * A named section of the game loop measured by a {@link com.accele.gage.profile.Profiler Profiler}.
+ * <p>
+ * Passes are obtained through {@link com.accele.gage.profile.Profiler#getPass(String, boolean) getPass(String, boolean)} and measured by surrounding
+ * the work with {@link #begin()} and {@link #end()}. A pass may be measured any number of times per frame; the reported timings are the totals for a whole frame.
+ * Different passes may be nested inside each other, but a pass may not be nested inside itself.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class ProfilerPass {
+
+	private final Profiler profiler;
+	private final String name;
+	private final boolean gpuTimed;
+	private long cpuStart;
+	private long cpuAccumulated;
+	private int invocationsAccumulated;
+	private long gpuAccumulated;
+	private boolean gpuPending;
+	private GPUTimer activeTimer;
+	private int activeRecord;
+	private double cpuTime;
+	private double gpuTime;
+	private int invocations;
+
+	ProfilerPass(Profiler profiler, String name, boolean gpuTimed) {
+		this.profiler = profiler;
+		this.name = name;
+		this.gpuTimed = gpuTimed;
+	}
+
+	/**
+	 * Starts measuring this pass.
+	 */
+	public void begin() {
+		if (!profiler.isEnabled())
+			return;
+		if (gpuTimed && profiler.isGPUTimingEnabled()) {
+			activeTimer = profiler.getCurrentGPUTimer();
+			if (activeTimer != null)
+				activeRecord = activeTimer.begin(this);
+		}
+		cpuStart = System.nanoTime();
+	}
+
+	/**
+	 * Stops measuring this pass. Calling this method without a matching call to {@link #begin()} has no effect.
+	 */
+	public void end() {
+		if (cpuStart == 0)
+			return;
+		cpuAccumulated += System.nanoTime() - cpuStart;
+		invocationsAccumulated++;
+		cpuStart = 0;
+		if (activeTimer != null) {
+			activeTimer.end(activeRecord);
+			activeTimer = null;
+		}
+	}
+
+	void publishCpuTime() {
+		cpuTime = cpuAccumulated / 1_000_000.0;
+		invocations = invocationsAccumulated;
+		cpuAccumulated = 0;
+		invocationsAccumulated = 0;
+	}
+
+	void accumulateGpuTime(long nanos) {
+		gpuAccumulated += nanos;
+		gpuPending = true;
+	}
+
+	void publishGpuTime() {
+		if (!gpuPending)
+			return;
+		gpuTime = gpuAccumulated / 1_000_000.0;
+		gpuAccumulated = 0;
+		gpuPending = false;
+	}
+
+	/**
+	 * Returns the name of this pass.
+	 *
+	 * @return the name of this pass
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns whether this pass is also measured on the GPU.
+	 *
+	 * @return whether this pass is GPU-timed
+	 */
+	public boolean isGPUTimed() {
+		return gpuTimed;
+	}
+
+	/**
+	 * Returns the total CPU time spent in this pass during the previous frame.
+	 *
+	 * @return the CPU time of this pass, in milliseconds
+	 */
+	public double getCpuTime() {
+		return cpuTime;
+	}
+
+	/**
+	 * Returns the total GPU time spent in this pass during the most recent frame whose GPU results were available.
+	 * This value lags behind {@link #getCpuTime()} by {@link com.accele.gage.profile.Profiler#getGPULatency() getGPULatency()} frames
+	 * and is always 0 for passes that are not GPU-timed.
+	 *
+	 * @return the GPU time of this pass, in milliseconds
+	 */
+	public double getGpuTime() {
+		return gpuTime;
+	}
+
+	/**
+	 * Returns the number of times this pass was measured during the previous frame.
+	 *
+	 * @return the number of invocations of this pass in the previous frame
+	 */
+	public int getInvocations() {
+		return invocations;
+	}
+
+	@Override
+	public String toString() {
+		return name + ": cpu=" + String.format("%.3f", cpuTime) + "ms" + (gpuTimed ? ", gpu=" + String.format("%.3f", gpuTime) + "ms" : "") + " (" + invocations + "x)";
+	}
+
+}
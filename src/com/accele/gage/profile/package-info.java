@@ -0,0 +1,8 @@
+/**
+ * Contains classes used to measure how long the engine spends in each part of a frame, on both the CPU and the GPU.
+ * 
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+package com.accele.gage.profile;
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.nio.ShortBuffer;
 import org.lwjgl.openal.AL10;
 
 import com.accele.gage.Cleanable;
+import com.accele.gage.GAGE;
 import com.accele.gage.GAGEException;
 import com.accele.gage.Indexable;
 import com.accele.gage.Resource;
@@ -14,6 +15,7 @@ public class SoundBuffer implements Indexable, Cleanable {
 	private String registryId;
 	private int bufferId;
 	private int linkedSourceId;
+	private float length;
 	
 	public SoundBuffer(String registryId, Resource<SoundBufferMeta> data) {
 		this.registryId = registryId;
@@ -26,11 +28,14 @@ public class SoundBuffer implements Indexable, Cleanable {
 		
 		this.bufferId = AL10.alGenBuffers();
 		AL10.alBufferData(bufferId, meta.format, meta.data, meta.frequency);
+		int frameSize = AL10.alGetBufferi(bufferId, AL10.AL_BITS) / 8 * AL10.alGetBufferi(bufferId, AL10.AL_CHANNELS);
+		this.length = (float) AL10.alGetBufferi(bufferId, AL10.AL_SIZE) / frameSize / AL10.alGetBufferi(bufferId, AL10.AL_FREQUENCY);
 		meta.cleanupTask.clean();
 	}
 	
 	@Override
 	public void clean() {
+		GAGE.getInstance().getSoundHandler().getVoiceManager().stopAll(this);
 		if (linkedSourceId != 0) {
 			AL10.alSourceStop(linkedSourceId);
 			AL10.alSourcei(linkedSourceId, AL10.AL_BUFFER, 0);
@@ -46,6 +51,15 @@ public class SoundBuffer implements Indexable, Cleanable {
 		return bufferId;
 	}
 	
+	/**
+	 * Returns the length of this sound in seconds.
+	 * 
+	 * @return the length of the sound
+	 */
+	public float getLength() {
+		return length;
+	}
+	
 	@Override
 	public String getRegistryId() {
 		return registryId;
@@ -0,0 +1,334 @@
+package com.accele.gage.sfx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.lwjgl.openal.AL10;
+import org.lwjgl.openal.AL11;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGE;
+import com.accele.gage.callbacks.SoundEmitterCallback;
+
+/**
+ * A positioned sound that is played through the {@link com.accele.gage.sfx.VoiceManager VoiceManager} of the engine.
+ * <p>
+ * Unlike a {@link com.accele.gage.sfx.SoundSource SoundSource}, an emitter does not own an OpenAL source. While it is playing, the voice manager
+ * lends it one of its voices if it is among the most important sounds that can currently be heard, and otherwise plays it virtually by only keeping
+ * track of its playback position. Emitters are therefore cheap enough to attach one to every object that can make a sound.
+ * </p>
+ * <p>
+ * Emitters may be used from any thread.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class SoundEmitter implements Cleanable {
+	
+	private VoiceManager manager;
+	private SoundBuffer sound;
+	private List<SoundEmitterCallback> playbackFinishedCallbacks;
+	private volatile SoundState state;
+	private boolean looping;
+	private int priority;
+	private float volume;
+	private float pitch;
+	private float x;
+	private float y;
+	private float z;
+	private volatile float playbackPosition;
+	private int voice;
+	private float audibility;
+	private float score;
+	
+	/**
+	 * Creates a new {@code SoundEmitter} which plays the specified sound.
+	 *
+	 * @param soundId the registry ID of the {@link com.accele.gage.sfx.SoundBuffer SoundBuffer} to play
+	 */
+	public SoundEmitter(String soundId) {
+		this.manager = GAGE.getInstance().getSoundHandler().getVoiceManager();
+		this.playbackFinishedCallbacks = new ArrayList<>();
+		this.state = SoundState.STOPPED;
+		this.volume = 1;
+		this.pitch = 1;
+		this.sound = GAGE.getInstance().getSoundBufferRegistry().getEntry(soundId);
+	}
+	
+	/**
+	 * Adds a playback-finished callback to this {@code SoundEmitter}. The callback will be invoked on the game loop thread whenever the emitter
+	 * reaches the end of its sound, whether it was playing through a voice or virtually. It is not invoked when the emitter is {@link #stop() stopped}.
+	 *
+	 * @param callback the {@link com.accele.gage.callbacks.SoundEmitterCallback SoundEmitterCallback} to add
+	 */
+	public void addPlaybackFinishedCallback(SoundEmitterCallback callback) {
+		playbackFinishedCallbacks.add(callback);
+	}
+	
+	/**
+	 * Removes the specified playback-finished callback from this {@code SoundEmitter}, if it was already added.
+	 * Returns {@code true} if the callback was successfully removed and {@code false} otherwise.
+	 *
+	 * @param callback the {@link com.accele.gage.callbacks.SoundEmitterCallback SoundEmitterCallback} to remove
+	 * @return whether the callback was removed from the {@code SoundEmitter}
+	 */
+	public boolean removePlaybackFinishedCallback(SoundEmitterCallback callback) {
+		return playbackFinishedCallbacks.remove(callback);
+	}
+	
+	/**
+	 * Plays the sound of this emitter once. If the emitter is paused, playback resumes where it was paused; otherwise it starts from the beginning.
+	 */
+	public void play() {
+		manager.start(this, false);
+	}
+	
+	/**
+	 * Plays the sound of this emitter repeatedly until it is stopped. If the emitter is paused, playback resumes where it was paused;
+	 * otherwise it starts from the beginning.
+	 */
+	public void loop() {
+		manager.start(this, true);
+	}
+	
+	/**
+	 * Pauses this emitter, keeping its playback position and giving up its voice until it is played again.
+	 */
+	public void pause() {
+		manager.pause(this);
+	}
+	
+	/**
+	 * Stops this emitter and rewinds it to the beginning of its sound.
+	 */
+	public void stop() {
+		manager.stop(this);
+	}
+	
+	@Override
+	public void clean() {
+		stop();
+	}
+	
+	/**
+	 * Replaces the sound of this emitter, stopping it if it is playing.
+	 *
+	 * @param soundId the registry ID of the {@link com.accele.gage.sfx.SoundBuffer SoundBuffer} to play
+	 */
+	public void setSound(String soundId) {
+		SoundBuffer sound = GAGE.getInstance().getSoundBufferRegistry().getEntry(soundId);
+		synchronized (manager) {
+			manager.stop(this);
+			this.sound = sound;
+		}
+	}
+	
+	public SoundBuffer getSound() {
+		return sound;
+	}
+	
+	/**
+	 * Sets the priority of this emitter. When there are more audible emitters than voices, emitters with a higher priority always get a voice
+	 * before emitters with a lower priority, regardless of how loud they are. Emitters of the same priority are ordered by how loud they are
+	 * at the position of the listener. The default priority is 0.
+	 *
+	 * @param priority the priority of the emitter
+	 */
+	public void setPriority(int priority) {
+		synchronized (manager) {
+			this.priority = priority;
+		}
+	}
+	
+	public int getPriority() {
+		return priority;
+	}
+	
+	public void setVolume(float volume) {
+		if (volume < 0)
+			throw new IllegalArgumentException("Parameter 'volume' must be non-negative.");
+		synchronized (manager) {
+			this.volume = volume;
+			if (voice != 0)
+				applyProperties();
+		}
+	}
+	
+	public float getVolume() {
+		return volume;
+	}
+	
+	public void setPitch(float pitch) {
+		if (pitch <= 0)
+			throw new IllegalArgumentException("Parameter 'pitch' must be positive.");
+		synchronized (manager) {
+			this.pitch = pitch;
+			if (voice != 0)
+				applyProperties();
+		}
+	}
+	
+	public float getPitch() {
+		return pitch;
+	}
+	
+	public void setPosition(float x, float y, float z) {
+		synchronized (manager) {
+			this.x = x;
+			this.y = y;
+			this.z = z;
+			if (voice != 0)
+				AL10.alSource3f(voice, AL10.AL_POSITION, x, y, z);
+		}
+	}
+	
+	public float getX() {
+		return x;
+	}
+	
+	public float getY() {
+		return y;
+	}
+	
+	public float getZ() {
+		return z;
+	}
+	
+	public SoundState getState() {
+		return state;
+	}
+	
+	public boolean isLooping() {
+		return looping;
+	}
+	
+	/**
+	 * Returns whether this emitter is playing without a voice. A virtual emitter cannot be heard, but its playback position keeps advancing so that
+	 * it continues from the right place once it gets a voice again.
+	 *
+	 * @return whether the emitter is playing virtually
+	 */
+	public boolean isVirtual() {
+		return state == SoundState.PLAYING && voice == 0;
+	}
+	
+	/**
+	 * Returns the playback position of this emitter, in seconds from the beginning of its sound.
+	 * While the emitter is playing, the position is updated by the audio thread of the {@link com.accele.gage.sfx.SoundHandler SoundHandler}.
+	 *
+	 * @return the playback position of the emitter
+	 */
+	public float getPlaybackPosition() {
+		return playbackPosition;
+	}
+	
+	/**
+	 * Returns how loud this emitter was estimated to be at the position of the listener the last time the voices were assigned.
+	 *
+	 * @return the estimated gain of the emitter
+	 */
+	public float getAudibility() {
+		return audibility;
+	}
+	
+	void setState(SoundState state) {
+		this.state = state;
+	}
+	
+	void setLooping(boolean looping) {
+		this.looping = looping;
+		if (voice != 0)
+			AL10.alSourcei(voice, AL10.AL_LOOPING, looping ? AL10.AL_TRUE : AL10.AL_FALSE);
+	}
+	
+	void rewind() {
+		this.playbackPosition = 0;
+		if (voice != 0) {
+			AL10.alSourceStop(voice);
+			AL11.alSourcef(voice, AL11.AL_SEC_OFFSET, 0);
+			AL10.alSourcePlay(voice);
+		}
+	}
+	
+	int getVoice() {
+		return voice;
+	}
+	
+	float getScore() {
+		return score;
+	}
+	
+	float updateAudibility(float listenerX, float listenerY, float listenerZ, float referenceDistance, float rolloffFactor, float maxDistance) {
+		float dx = x - listenerX;
+		float dy = y - listenerY;
+		float dz = z - listenerZ;
+		float distance = Math.max(referenceDistance, Math.min(maxDistance, (float) Math.sqrt(dx * dx + dy * dy + dz * dz)));
+		float attenuation = referenceDistance / (referenceDistance + rolloffFactor * (distance - referenceDistance));
+		this.audibility = state == SoundState.PLAYING ? getGain() * attenuation : 0;
+		this.score = voice != 0 ? audibility * VoiceManager.VOICE_RETENTION_BIAS : audibility;
+		return audibility;
+	}
+	
+	/**
+	 * Advances the playback position of this emitter by the specified time. Returns {@code true} if the emitter reached the end of its sound.
+	 */
+	boolean advance(float delta) {
+		if (voice != 0) {
+			if (AL10.alGetSourcei(voice, AL10.AL_SOURCE_STATE) == AL10.AL_STOPPED)
+				return true;
+			this.playbackPosition = AL11.alGetSourcef(voice, AL11.AL_SEC_OFFSET);
+			return false;
+		}
+		
+		float length = sound.getLength();
+		this.playbackPosition += delta * getEffectivePitch();
+		if (playbackPosition < length)
+			return false;
+		if (!looping || length <= 0)
+			return true;
+		this.playbackPosition %= length;
+		return false;
+	}
+	
+	void bind(int voice) {
+		this.voice = voice;
+		AL10.alSourcei(voice, AL10.AL_BUFFER, sound.getBufferId());
+		AL10.alSourcei(voice, AL10.AL_LOOPING, looping ? AL10.AL_TRUE : AL10.AL_FALSE);
+		AL10.alSource3f(voice, AL10.AL_POSITION, x, y, z);
+		applyProperties();
+		AL11.alSourcef(voice, AL11.AL_SEC_OFFSET, playbackPosition);
+		AL10.alSourcePlay(voice);
+	}
+	
+	int unbind() {
+		int voice = this.voice;
+		if (state != SoundState.STOPPED)
+			this.playbackPosition = AL11.alGetSourcef(voice, AL11.AL_SEC_OFFSET);
+		AL10.alSourceStop(voice);
+		AL10.alSourcei(voice, AL10.AL_BUFFER, 0);
+		this.voice = 0;
+		return voice;
+	}
+	
+	void finish() {
+		this.state = SoundState.STOPPED;
+		this.playbackPosition = 0;
+		GAGE.getInstance().deferEvent(gage -> playbackFinishedCallbacks.forEach(c -> c.call(this)));
+	}
+	
+	private void applyProperties() {
+		AL10.alSourcef(voice, AL10.AL_GAIN, getGain());
+		AL10.alSourcef(voice, AL10.AL_PITCH, getEffectivePitch());
+	}
+	
+	private float getEffectivePitch() {
+		return Math.min(GAGE.getInstance().getConfig().getMasterPitch(), pitch);
+	}
+	
+	private float getGain() {
+		return GAGE.getInstance().getConfig().isMasterVolumeMuted() ? 0 : Math.min(GAGE.getInstance().getConfig().getMasterVolume(), volume);
+	}
+	
+}
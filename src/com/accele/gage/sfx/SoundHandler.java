@@ -1,5 +1,8 @@
 package com.accele.gage.sfx;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import org.lwjgl.openal.AL;
 import org.lwjgl.openal.ALC;
 import org.lwjgl.openal.ALC10;
@@ -9,8 +12,15 @@ import com.accele.gage.Cleanable;
 
 public class SoundHandler implements Cleanable {
 
+	private static final long UPDATE_INTERVAL = 5;
+	private static final int MAX_VOICES = 32;
+	
 	private long device;
 	private long context;
+	private List<SoundSource> sources;
+	private VoiceManager voiceManager;
+	private Thread audioThread;
+	private volatile boolean running;
 	
 	public SoundHandler() {
 		String defaultDeviceName = ALC10.alcGetString(0, ALC10.ALC_DEFAULT_DEVICE_SPECIFIER);
@@ -21,10 +31,56 @@ public class SoundHandler implements Cleanable {
 		}
 		ALCCapabilities caps = ALC.createCapabilities(device);
 		AL.createCapabilities(caps);
+		this.sources = new CopyOnWriteArrayList<>();
+		this.voiceManager = new VoiceManager(MAX_VOICES);
+		
+		this.running = true;
+		this.audioThread = new Thread(this::updateSources, "GAGE Audio");
+		audioThread.setDaemon(true);
+		audioThread.start();
+	}
+	
+	void addSource(SoundSource source) {
+		sources.add(source);
+	}
+	
+	void removeSource(SoundSource source) {
+		sources.remove(source);
+	}
+	
+	private void updateSources() {
+		while (running) {
+			for (SoundSource source : sources)
+				source.update();
+			voiceManager.update();
+			try {
+				Thread.sleep(UPDATE_INTERVAL);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.sfx.VoiceManager VoiceManager} which plays every {@link com.accele.gage.sfx.SoundEmitter SoundEmitter}.
+	 * 
+	 * @return the voice manager
+	 */
+	public VoiceManager getVoiceManager() {
+		return voiceManager;
 	}
 	
 	@Override
 	public void clean() {
+		running = false;
+		audioThread.interrupt();
+		try {
+			audioThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		voiceManager.clean();
 		ALC10.alcMakeContextCurrent(0);
 		ALC10.alcDestroyContext(context);
 		if (!ALC10.alcCloseDevice(device)) {
@@ -1,9 +1,11 @@
 package com.accele.gage.sfx;
 
+import java.nio.ShortBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.lwjgl.openal.AL10;
+import org.lwjgl.system.MemoryUtil;
 
 import com.accele.gage.Cleanable;
 import com.accele.gage.GAGE;
@@ -13,20 +15,35 @@ import com.accele.gage.callbacks.SoundSourceCallback;
 
 public class SoundSource implements Indexable, Tickable, Cleanable {
 
+	private static final int STREAM_BUFFER_COUNT = 4;
+	private static final int STREAM_BUFFER_FRAMES = 8192;
+	
 	private String registryId;
 	private int sourceId;
 	private SoundBuffer linkedSound;
 	private List<SoundSourceCallback> playbackFinishedCallbacks;
-	private int state;
+	private volatile int state;
+	private SoundStream linkedStream;
+	private int[] streamBuffers;
+	private ShortBuffer streamData;
+	private boolean streamPlaying;
+	private boolean streamLooping;
+	private boolean streamEnded;
 	
 	public SoundSource(String registryId) {
 		this.registryId = registryId;
 		this.sourceId = AL10.alGenSources();
 		this.playbackFinishedCallbacks = new ArrayList<>();
+		GAGE.getInstance().getSoundHandler().addSource(this);
 	}
 	
 	/**
 	 * Adds a playback-finished callback to this {@code SoundSource}. The callback will be invoked whenever the source finishes playback of its linked {@code SoundBuffer}.
+	 * <p>
+	 * Playback is tracked on the audio thread of the {@link com.accele.gage.sfx.SoundHandler SoundHandler}, which posts the callbacks to the game loop with
+	 * {@link com.accele.gage.GAGE#deferEvent(java.util.function.Consumer) deferEvent()}, so they run on the game loop thread at the end of the cycle
+	 * in which playback was found to have finished.
+	 * </p>
 	 * 
 	 * @param callback the {@link com.accele.gage.callbacks.SoundSourceCallback SoundSourceCallback} to add
 	 */
@@ -46,11 +63,18 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 	}
 	
 	/**
-	 * This method is not designed to be called at the same rate as normal tick methods; 
-	 * it should be called as many times as possible per second in order to ensure events are properly handled.
+	 * Does nothing. The state of the source is tracked on the audio thread of the {@link com.accele.gage.sfx.SoundHandler SoundHandler},
+	 * so sources no longer need to be ticked by the game loop.
 	 */
 	@Override
 	public void tick() {
+		
+	}
+	
+	synchronized void update() {
+		if (sourceId == 0)
+			return;
+		refillStream();
 		updateSourceState();
 	}
 	
@@ -58,12 +82,13 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 		int newState = AL10.alGetSourcei(sourceId, AL10.AL_SOURCE_STATE);
 		if (state != newState && newState == AL10.AL_STOPPED) {
 			state = newState;
-			playbackFinishedCallbacks.forEach(c -> c.call(this));
+			GAGE.getInstance().deferEvent(gage -> playbackFinishedCallbacks.forEach(c -> c.call(this)));
 		} else
 			state = newState;
 	}
 	
-	public void linkSound(String registryId) {
+	public synchronized void linkSound(String registryId) {
+		unlinkStream();
 		this.linkedSound = GAGE.getInstance().getSoundBufferRegistry().getEntry(registryId);
 		AL10.alSourcei(sourceId, AL10.AL_BUFFER, linkedSound.getBufferId());
 		linkedSound.setLinkedSourceId(sourceId);
@@ -73,6 +98,96 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 		return linkedSound;
 	}
 	
+	/**
+	 * Links a {@link com.accele.gage.sfx.SoundStream SoundStream} to this {@code SoundSource}, replacing the linked sound or stream.
+	 * <p>
+	 * The stream is played through a queue of four small buffers that the audio thread of the
+	 * {@link com.accele.gage.sfx.SoundHandler SoundHandler} refills as they finish playing, so less than a second of the stream is decoded at any time.
+	 * {@link #play() Playing} or {@link #loop() looping} a stream that is not paused starts it from the beginning.
+	 * </p>
+	 * 
+	 * @param stream the stream to play
+	 * @throws IllegalStateException if the stream is already linked to another source
+	 */
+	public synchronized void linkStream(SoundStream stream) {
+		if (stream.getLinkedSource() != null && stream.getLinkedSource() != this)
+			throw new IllegalStateException("Sound stream \"" + stream.getRegistryId() + "\" is already linked to another source.");
+		unlinkStream();
+		AL10.alSourceStop(sourceId);
+		AL10.alSourcei(sourceId, AL10.AL_BUFFER, 0);
+		if (linkedSound != null)
+			linkedSound.setLinkedSourceId(0);
+		this.linkedSound = null;
+		
+		if (streamBuffers == null) {
+			this.streamBuffers = new int[STREAM_BUFFER_COUNT];
+			AL10.alGenBuffers(streamBuffers);
+			this.streamData = MemoryUtil.memAllocShort(STREAM_BUFFER_FRAMES * 2);
+		}
+		this.linkedStream = stream;
+		stream.setLinkedSource(this);
+	}
+	
+	synchronized void unlinkStream() {
+		if (linkedStream == null)
+			return;
+		streamPlaying = false;
+		AL10.alSourceStop(sourceId);
+		AL10.alSourcei(sourceId, AL10.AL_BUFFER, 0);
+		linkedStream.setLinkedSource(null);
+		this.linkedStream = null;
+	}
+	
+	public SoundStream getLinkedStream() {
+		return linkedStream;
+	}
+	
+	private void refillStream() {
+		if (linkedStream == null || !streamPlaying)
+			return;
+		
+		int processed = AL10.alGetSourcei(sourceId, AL10.AL_BUFFERS_PROCESSED);
+		for (int i = 0; i < processed; i++) {
+			int buffer = AL10.alSourceUnqueueBuffers(sourceId);
+			if (fillStreamBuffer(buffer))
+				AL10.alSourceQueueBuffers(sourceId, buffer);
+		}
+		
+		if (!streamEnded && AL10.alGetSourcei(sourceId, AL10.AL_SOURCE_STATE) == AL10.AL_STOPPED
+				&& AL10.alGetSourcei(sourceId, AL10.AL_BUFFERS_QUEUED) > 0)
+			AL10.alSourcePlay(sourceId);
+	}
+	
+	private void restartStream() {
+		AL10.alSourceStop(sourceId);
+		AL10.alSourcei(sourceId, AL10.AL_BUFFER, 0);
+		linkedStream.rewind();
+		streamEnded = false;
+		for (int buffer : streamBuffers) {
+			if (!fillStreamBuffer(buffer))
+				break;
+			AL10.alSourceQueueBuffers(sourceId, buffer);
+		}
+	}
+	
+	private boolean fillStreamBuffer(int buffer) {
+		if (streamEnded)
+			return false;
+		streamData.clear();
+		int frames = linkedStream.read(streamData);
+		if (frames == 0 && streamLooping) {
+			linkedStream.rewind();
+			frames = linkedStream.read(streamData);
+		}
+		if (frames == 0) {
+			streamEnded = true;
+			return false;
+		}
+		streamData.limit(frames * linkedStream.getChannels());
+		AL10.alBufferData(buffer, linkedStream.getFormat(), streamData, linkedStream.getSampleRate());
+		return true;
+	}
+	
 	public float getVolume() {
 		return AL10.alGetSourcef(sourceId, AL10.AL_GAIN);
 	}
@@ -98,11 +213,7 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 	}
 	
 	public void loop(float volume, float pitch) {
-		AL10.alSourcei(sourceId, AL10.AL_LOOPING, AL10.AL_TRUE);
-		AL10.alSourcef(sourceId, AL10.AL_GAIN, GAGE.getInstance().getConfig().isMasterVolumeMuted() ? 0 
-				: Math.min(GAGE.getInstance().getConfig().getMasterVolume(), volume));
-		AL10.alSourcef(sourceId, AL10.AL_PITCH, Math.min(GAGE.getInstance().getConfig().getMasterPitch(), pitch));
-		AL10.alSourcePlay(sourceId);
+		start(true, volume, pitch);
 	}
 	
 	public void play() {
@@ -114,10 +225,20 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 	}
 	
 	public void play(float volume, float pitch) {
-		AL10.alSourcei(sourceId, AL10.AL_LOOPING, AL10.AL_FALSE);
+		start(false, volume, pitch);
+	}
+	
+	private synchronized void start(boolean looping, float volume, float pitch) {
+		AL10.alSourcei(sourceId, AL10.AL_LOOPING, looping && linkedStream == null ? AL10.AL_TRUE : AL10.AL_FALSE);
 		AL10.alSourcef(sourceId, AL10.AL_GAIN, GAGE.getInstance().getConfig().isMasterVolumeMuted() ? 0 
 				: Math.min(GAGE.getInstance().getConfig().getMasterVolume(), volume));
 		AL10.alSourcef(sourceId, AL10.AL_PITCH, Math.min(GAGE.getInstance().getConfig().getMasterPitch(), pitch));
+		if (linkedStream != null) {
+			this.streamLooping = looping;
+			if (AL10.alGetSourcei(sourceId, AL10.AL_SOURCE_STATE) != AL10.AL_PAUSED)
+				restartStream();
+			this.streamPlaying = true;
+		}
 		AL10.alSourcePlay(sourceId);
 	}
 	
@@ -137,14 +258,24 @@ public class SoundSource implements Indexable, Tickable, Cleanable {
 		play(volume, pitch);
 	}
 	
-	public void stop() {
+	public synchronized void stop() {
+		streamPlaying = false;
 		AL10.alSourceStop(sourceId);
 	}
 	
 	@Override
-	public void clean() {
+	public synchronized void clean() {
+		GAGE.getInstance().getSoundHandler().removeSource(this);
+		unlinkStream();
 		AL10.alSourceStop(sourceId);
 		AL10.alDeleteSources(sourceId);
+		this.sourceId = 0;
+		if (streamBuffers != null) {
+			AL10.alDeleteBuffers(streamBuffers);
+			MemoryUtil.memFree(streamData);
+			this.streamBuffers = null;
+			this.streamData = null;
+		}
 	}
 	
 	@Override
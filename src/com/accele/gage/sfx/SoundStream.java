@@ -0,0 +1,174 @@
+package com.accele.gage.sfx;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.openal.AL10;
+import org.lwjgl.stb.STBVorbis;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGEException;
+import com.accele.gage.Indexable;
+import com.accele.gage.Resource;
+
+/**
+ * A sound that is decoded a little at a time while it plays instead of being decoded into memory up front.
+ * <p>
+ * A {@code SoundStream} keeps only the compressed file in memory. When it is linked to a {@link com.accele.gage.sfx.SoundSource SoundSource}
+ * with {@link com.accele.gage.sfx.SoundSource#linkStream(SoundStream) linkStream()}, the source plays it through a small queue of OpenAL buffers
+ * that is refilled on the audio thread of the {@link com.accele.gage.sfx.SoundHandler SoundHandler}. This makes streams suitable for music and other long sounds,
+ * which would otherwise take a long time to decode and several megabytes of memory per minute of audio.
+ * </p>
+ * <p>
+ * A stream keeps track of its playback position, so it can only be linked to one source at a time.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.ResourceLoaders#OGG_STREAM_LOADER OGG_STREAM_LOADER
+ */
+public class SoundStream implements Indexable, Cleanable {
+	
+	private String registryId;
+	private ByteBuffer data;
+	private long decoder;
+	private int channels;
+	private int sampleRate;
+	private float length;
+	private SoundSource linkedSource;
+	
+	/**
+	 * Constructs a {@code SoundStream} with the specified registry ID and {@code SoundStreamMeta}.
+	 * 
+	 * @param registryId the registry ID of the stream
+	 * @param data the compressed sound data
+	 */
+	public SoundStream(String registryId, Resource<SoundStreamMeta> data) {
+		this.registryId = registryId;
+		try {
+			SoundStreamMeta meta = data.get();
+			this.data = meta.data;
+			this.decoder = meta.decoder;
+			this.channels = meta.channels;
+			this.sampleRate = meta.sampleRate;
+			this.length = STBVorbis.stb_vorbis_stream_length_in_seconds(decoder);
+		} catch (GAGEException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	int read(ShortBuffer pcm) {
+		return STBVorbis.stb_vorbis_get_samples_short_interleaved(decoder, channels, pcm);
+	}
+	
+	void rewind() {
+		STBVorbis.stb_vorbis_seek_start(decoder);
+	}
+	
+	void setLinkedSource(SoundSource linkedSource) {
+		this.linkedSource = linkedSource;
+	}
+	
+	SoundSource getLinkedSource() {
+		return linkedSource;
+	}
+	
+	/**
+	 * Returns the OpenAL format of the decoded samples.
+	 * 
+	 * @return {@code AL_FORMAT_MONO16} or {@code AL_FORMAT_STEREO16}
+	 */
+	public int getFormat() {
+		return channels == 1 ? AL10.AL_FORMAT_MONO16 : AL10.AL_FORMAT_STEREO16;
+	}
+	
+	/**
+	 * Returns the number of channels of the stream.
+	 * 
+	 * @return 1 for mono or 2 for stereo
+	 */
+	public int getChannels() {
+		return channels;
+	}
+	
+	/**
+	 * Returns the number of samples per second of the stream.
+	 * 
+	 * @return the sample rate of the stream
+	 */
+	public int getSampleRate() {
+		return sampleRate;
+	}
+	
+	/**
+	 * Returns the length of the stream.
+	 * 
+	 * @return the length of the stream in seconds
+	 */
+	public float getLength() {
+		return length;
+	}
+	
+	@Override
+	public void clean() {
+		if (linkedSource != null)
+			linkedSource.unlinkStream();
+		if (decoder != 0) {
+			STBVorbis.stb_vorbis_close(decoder);
+			decoder = 0;
+		}
+		data = null;
+	}
+	
+	@Override
+	public String getRegistryId() {
+		return registryId;
+	}
+	
+	/**
+	 * The compressed data of a {@link com.accele.gage.sfx.SoundStream SoundStream} and an open decoder for it.
+	 * 
+	 * @author William Garland
+	 * @version 1.0.0
+	 * @since 1.0.0
+	 */
+	public static class SoundStreamMeta {
+		private ByteBuffer data;
+		private long decoder;
+		private int channels;
+		private int sampleRate;
+		
+		/**
+		 * Constructs a {@code SoundStreamMeta}.
+		 * 
+		 * @param data the compressed data, which must stay valid for as long as the decoder is open
+		 * @param decoder the {@code stb_vorbis} decoder opened on {@code data}
+		 * @param channels the number of channels, which must be 1 or 2
+		 * @param sampleRate the number of samples per second
+		 */
+		public SoundStreamMeta(ByteBuffer data, long decoder, int channels, int sampleRate) {
+			this.data = data;
+			this.decoder = decoder;
+			this.channels = channels;
+			this.sampleRate = sampleRate;
+		}
+		
+		public ByteBuffer getData() {
+			return data;
+		}
+		
+		public long getDecoder() {
+			return decoder;
+		}
+		
+		public int getChannels() {
+			return channels;
+		}
+		
+		public int getSampleRate() {
+			return sampleRate;
+		}
+	}
+	
+}
@@ -0,0 +1,292 @@
+package com.accele.gage.sfx;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.lwjgl.openal.AL10;
+
+import com.accele.gage.Cleanable;
+
+/**
+ * Plays any number of {@link com.accele.gage.sfx.SoundEmitter SoundEmitters} through a fixed pool of OpenAL sources, called voices.
+ * <p>
+ * OpenAL implementations only support a limited number of sources, often no more than a few dozen. Every time the audio thread of the
+ * {@link com.accele.gage.sfx.SoundHandler SoundHandler} runs, the voice manager estimates how loud each playing emitter is at the position of the
+ * listener and orders the emitters by priority and then by loudness. The emitters at the front of that order are given a voice, taking it from
+ * less important emitters if none are free, and all other playing emitters are virtualised: they stay silent but keep advancing their playback position,
+ * so they resume from the right place once they become important enough to be heard again. Emitters quieter than the
+ * {@link #setAudibilityThreshold(float) audibility threshold} never take a voice.
+ * </p>
+ * <p>
+ * The loudness of an emitter is estimated with the same inverse distance model that OpenAL uses to attenuate the voices, so the
+ * {@link #setDistanceModel(float, float, float) distance model} of the voice manager applies to both.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class VoiceManager implements Cleanable {
+	
+	/**
+	 * The factor by which the loudness of an emitter that already has a voice is raised when the emitters are ordered, so that
+	 * emitters of about the same loudness do not keep taking the voice from each other.
+	 */
+	static final float VOICE_RETENTION_BIAS = 1.25f;
+	
+	private static final Comparator<SoundEmitter> EMITTER_ORDER = (a, b) -> {
+		if (a.getPriority() != b.getPriority())
+			return Integer.compare(b.getPriority(), a.getPriority());
+		return Float.compare(b.getScore(), a.getScore());
+	};
+	
+	private int[] voices;
+	private int[] freeVoices;
+	private int freeVoiceCount;
+	private List<SoundEmitter> emitters;
+	private float listenerX;
+	private float listenerY;
+	private float listenerZ;
+	private float referenceDistance;
+	private float rolloffFactor;
+	private float maxDistance;
+	private float audibilityThreshold;
+	private long lastUpdate;
+	
+	/**
+	 * Creates a voice manager with up to the specified number of voices. Fewer voices are created if the OpenAL implementation runs out of sources.
+	 */
+	VoiceManager(int maxVoices) {
+		this.referenceDistance = 1;
+		this.rolloffFactor = 1;
+		this.maxDistance = Float.MAX_VALUE;
+		this.audibilityThreshold = 0.001f;
+		this.emitters = new ArrayList<>();
+		
+		int[] voices = new int[maxVoices];
+		int count = 0;
+		AL10.alGetError();
+		while (count < maxVoices) {
+			int voice = AL10.alGenSources();
+			if (AL10.alGetError() != AL10.AL_NO_ERROR)
+				break;
+			voices[count++] = voice;
+		}
+		this.voices = new int[count];
+		this.freeVoices = new int[count];
+		System.arraycopy(voices, 0, this.voices, 0, count);
+		System.arraycopy(voices, 0, freeVoices, 0, count);
+		this.freeVoiceCount = count;
+		applyDistanceModel();
+	}
+	
+	synchronized void start(SoundEmitter emitter, boolean looping) {
+		SoundState state = emitter.getState();
+		if (state == SoundState.STOPPED)
+			emitters.add(emitter);
+		emitter.setLooping(looping);
+		emitter.setState(SoundState.PLAYING);
+		if (state == SoundState.PLAYING)
+			emitter.rewind();
+		else if (emitter.getVoice() == 0 && freeVoiceCount > 0 && isAudible(emitter))
+			emitter.bind(freeVoices[--freeVoiceCount]);
+	}
+	
+	synchronized void pause(SoundEmitter emitter) {
+		if (emitter.getState() != SoundState.PLAYING)
+			return;
+		if (emitter.getVoice() != 0)
+			freeVoices[freeVoiceCount++] = emitter.unbind();
+		emitter.setState(SoundState.PAUSED);
+	}
+	
+	synchronized void stop(SoundEmitter emitter) {
+		if (emitter.getState() == SoundState.STOPPED)
+			return;
+		if (emitter.getVoice() != 0)
+			freeVoices[freeVoiceCount++] = emitter.unbind();
+		emitter.setState(SoundState.STOPPED);
+		emitter.rewind();
+		emitters.remove(emitter);
+	}
+	
+	/**
+	 * Stops every emitter that plays the specified sound, so that the sound can be deleted.
+	 */
+	synchronized void stopAll(SoundBuffer sound) {
+		for (int i = emitters.size() - 1; i >= 0; i--) {
+			if (emitters.get(i).getSound() == sound)
+				stop(emitters.get(i));
+		}
+	}
+	
+	/**
+	 * Advances the playing emitters and reassigns the voices. Called by the audio thread of the {@link com.accele.gage.sfx.SoundHandler SoundHandler}.
+	 */
+	synchronized void update() {
+		long now = System.nanoTime();
+		float delta = lastUpdate == 0 ? 0 : (now - lastUpdate) / 1_000_000_000f;
+		this.lastUpdate = now;
+		
+		int candidates = 0;
+		for (int i = emitters.size() - 1; i >= 0; i--) {
+			SoundEmitter emitter = emitters.get(i);
+			if (emitter.getState() == SoundState.PLAYING && emitter.advance(delta)) {
+				if (emitter.getVoice() != 0)
+					freeVoices[freeVoiceCount++] = emitter.unbind();
+				SoundEmitter last = emitters.remove(emitters.size() - 1);
+				if (last != emitter)
+					emitters.set(i, last);
+				emitter.finish();
+			} else if (isAudible(emitter))
+				candidates++;
+		}
+		if (emitters.isEmpty())
+			return;
+		
+		// Inaudible emitters may still be ordered ahead of audible emitters of a lower priority,
+		// so the emitters that get a voice are the first audible ones in the order rather than simply the first ones.
+		// Voices are taken away before any are handed out so that there is always a free voice for each emitter that needs one.
+		emitters.sort(EMITTER_ORDER);
+		int remaining = Math.min(candidates, voices.length);
+		for (SoundEmitter emitter : emitters) {
+			if (remaining > 0 && emitter.getState() == SoundState.PLAYING && emitter.getAudibility() >= audibilityThreshold)
+				remaining--;
+			else if (emitter.getVoice() != 0)
+				freeVoices[freeVoiceCount++] = emitter.unbind();
+		}
+		remaining = Math.min(candidates, voices.length);
+		for (SoundEmitter emitter : emitters) {
+			if (remaining == 0)
+				break;
+			if (emitter.getState() != SoundState.PLAYING || emitter.getAudibility() < audibilityThreshold)
+				continue;
+			remaining--;
+			if (emitter.getVoice() == 0)
+				emitter.bind(freeVoices[--freeVoiceCount]);
+		}
+	}
+	
+	/**
+	 * Sets the position of the listener, which is used both by OpenAL to attenuate the voices and by the voice manager to decide which emitters can be heard.
+	 *
+	 * @param x the x position of the listener
+	 * @param y the y position of the listener
+	 * @param z the z position of the listener
+	 */
+	public synchronized void setListenerPosition(float x, float y, float z) {
+		this.listenerX = x;
+		this.listenerY = y;
+		this.listenerZ = z;
+		AL10.alListener3f(AL10.AL_POSITION, x, y, z);
+	}
+	
+	public float getListenerX() {
+		return listenerX;
+	}
+	
+	public float getListenerY() {
+		return listenerY;
+	}
+	
+	public float getListenerZ() {
+		return listenerZ;
+	}
+	
+	/**
+	 * Sets how the voices are attenuated with distance. Within the reference distance an emitter is heard at its full volume; beyond it, its volume falls
+	 * off with the inverse of the distance, scaled by the rolloff factor, until the maximum distance is reached. The defaults are 1, 1 and no maximum.
+	 *
+	 * @param referenceDistance the distance within which emitters are not attenuated
+	 * @param rolloffFactor how quickly the volume falls off beyond the reference distance
+	 * @param maxDistance the distance beyond which emitters are not attenuated any further
+	 * @throws IllegalArgumentException if the reference distance is not positive, the rolloff factor is negative
+	 * or the maximum distance is less than the reference distance
+	 */
+	public synchronized void setDistanceModel(float referenceDistance, float rolloffFactor, float maxDistance) {
+		if (referenceDistance <= 0)
+			throw new IllegalArgumentException("Parameter 'referenceDistance' must be positive.");
+		if (rolloffFactor < 0)
+			throw new IllegalArgumentException("Parameter 'rolloffFactor' must be non-negative.");
+		if (maxDistance < referenceDistance)
+			throw new IllegalArgumentException("Parameter 'maxDistance' must not be less than 'referenceDistance'.");
+		this.referenceDistance = referenceDistance;
+		this.rolloffFactor = rolloffFactor;
+		this.maxDistance = maxDistance;
+		applyDistanceModel();
+	}
+	
+	public float getReferenceDistance() {
+		return referenceDistance;
+	}
+	
+	public float getRolloffFactor() {
+		return rolloffFactor;
+	}
+	
+	public float getMaxDistance() {
+		return maxDistance;
+	}
+	
+	/**
+	 * Sets the estimated gain below which a playing emitter is considered inaudible and is virtualised even if there are free voices.
+	 * The default threshold is 0.001.
+	 *
+	 * @param audibilityThreshold the lowest gain at which an emitter takes a voice
+	 * @throws IllegalArgumentException if the threshold is negative
+	 */
+	public synchronized void setAudibilityThreshold(float audibilityThreshold) {
+		if (audibilityThreshold < 0)
+			throw new IllegalArgumentException("Parameter 'audibilityThreshold' must be non-negative.");
+		this.audibilityThreshold = audibilityThreshold;
+	}
+	
+	public float getAudibilityThreshold() {
+		return audibilityThreshold;
+	}
+	
+	/**
+	 * Returns the number of voices in the pool, which is the most emitters that can be heard at once.
+	 *
+	 * @return the number of voices
+	 */
+	public int getVoiceCount() {
+		return voices.length;
+	}
+	
+	public synchronized int getFreeVoiceCount() {
+		return freeVoiceCount;
+	}
+	
+	/**
+	 * Returns the number of emitters that are playing or paused, whether they have a voice or not.
+	 *
+	 * @return the number of active emitters
+	 */
+	public synchronized int getActiveEmitterCount() {
+		return emitters.size();
+	}
+	
+	@Override
+	public synchronized void clean() {
+		for (int i = emitters.size() - 1; i >= 0; i--)
+			stop(emitters.get(i));
+		AL10.alDeleteSources(voices);
+		this.freeVoiceCount = 0;
+	}
+	
+	private boolean isAudible(SoundEmitter emitter) {
+		return emitter.updateAudibility(listenerX, listenerY, listenerZ, referenceDistance, rolloffFactor, maxDistance) >= audibilityThreshold
+				&& emitter.getState() == SoundState.PLAYING;
+	}
+	
+	private void applyDistanceModel() {
+		for (int voice : voices) {
+			AL10.alSourcef(voice, AL10.AL_REFERENCE_DISTANCE, referenceDistance);
+			AL10.alSourcef(voice, AL10.AL_ROLLOFF_FACTOR, rolloffFactor);
+			AL10.alSourcef(voice, AL10.AL_MAX_DISTANCE, maxDistance);
+		}
+	}
+	
+}
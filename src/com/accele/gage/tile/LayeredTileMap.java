@@ -0,0 +1,155 @@
+package com.accele.gage.tile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGEException;
+import com.accele.gage.Indexable;
+import com.accele.gage.Renderable;
+import com.accele.gage.Resource;
+import com.accele.gage.Tickable;
+import com.accele.gage.gfx.Graphics;
+
+/**
+ * A tile map made of several {@link com.accele.gage.tile.TileMap TileMap} layers that are drawn on top of each other, such as a distant background,
+ * the ground the player walks on, and decorations in front of the player.
+ * <p>
+ * Every layer is a {@code TileMap} of its own, so each layer keeps its own chunk caches on the GPU and only rebuilds the chunks whose tiles have changed.
+ * Layers whose tiles never change are uploaded once and cost a single draw call per visible chunk and texture from then on, while layers that are edited
+ * or animated only rebuild the chunks that were edited. Each layer can have its own {@link com.accele.gage.tile.TileMap#setParallax(float, float) parallax} factors.
+ * </p>
+ * <p>
+ * The layers are defined in the tile map file with {@code layer} and {@code parallax} properties, as described in
+ * {@link com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER}. Collision queries use the {@link #getCollisionLayer() collision layer},
+ * which is the primary layer unless {@link #setCollisionLayer(String) set} otherwise.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.tile.TileMapMeta.Layer TileMapMeta.Layer
+ */
+public class LayeredTileMap implements Indexable, Tickable, Renderable, Cleanable, TileGrid {
+	
+	private String registryId;
+	private List<TileMap> layers;
+	private List<String> layerNames;
+	private TileMap collisionLayer;
+	
+	/**
+	 * Constructs a {@code LayeredTileMap} with the specified registry ID and {@code TileMapMeta}.
+	 * <p>
+	 * The registry ID of each layer is the registry ID of the map followed by a period and the name of the layer.
+	 * </p>
+	 * 
+	 * @param registryId the registry ID to use in the tile map {@link com.accele.gage.Registry Registry}
+	 * @param meta the metadata about the tile map
+	 */
+	public LayeredTileMap(String registryId, Resource<TileMapMeta> meta) {
+		this.registryId = registryId;
+		this.layers = new ArrayList<>();
+		this.layerNames = new ArrayList<>();
+		try {
+			TileMapMeta data = meta.get();
+			for (TileMapMeta.Layer layer : data.getLayers()) {
+				layers.add(new TileMap(registryId + "." + layer.getName(), data, layer));
+				layerNames.add(layer.getName());
+			}
+			this.collisionLayer = layers.get(data.getPrimaryLayer());
+		} catch (GAGEException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	@Override
+	public void tick() {
+		for (TileMap layer : layers)
+			layer.tick();
+	}
+	
+	@Override
+	public void render(Graphics g, double interpolation) {
+		for (TileMap layer : layers)
+			layer.render(g, interpolation);
+	}
+	
+	@Override
+	public void clean() {
+		for (TileMap layer : layers)
+			layer.clean();
+	}
+	
+	@Override
+	public String getRegistryId() {
+		return registryId;
+	}
+	
+	/**
+	 * Returns the layer with the specified name.
+	 * 
+	 * @param name the name of the layer
+	 * @return the layer, or null if the map has no layer with that name
+	 */
+	public TileMap getLayer(String name) {
+		int index = layerNames.indexOf(name);
+		return index < 0 ? null : layers.get(index);
+	}
+	
+	/**
+	 * Returns an immutable view of the layers of the map in the order they are drawn.
+	 * 
+	 * @return an unmodifiable {@link java.util.List List} of the layers
+	 */
+	public List<TileMap> getLayers() {
+		return Collections.unmodifiableList(layers);
+	}
+	
+	/**
+	 * Returns an immutable view of the names of the layers of the map in the order they are drawn.
+	 * 
+	 * @return an unmodifiable {@link java.util.List List} of the layer names
+	 */
+	public List<String> getLayerNames() {
+		return Collections.unmodifiableList(layerNames);
+	}
+	
+	/**
+	 * Sets the layer used for collision queries.
+	 * 
+	 * @param name the name of the layer
+	 * @throws IllegalArgumentException if the map has no layer with that name
+	 */
+	public void setCollisionLayer(String name) {
+		TileMap layer = getLayer(name);
+		if (layer == null)
+			throw new IllegalArgumentException("Tile map \"" + registryId + "\" has no layer named \"" + name + "\".");
+		this.collisionLayer = layer;
+	}
+	
+	/**
+	 * Returns the layer used for collision queries.
+	 * 
+	 * @return the collision layer
+	 */
+	public TileMap getCollisionLayer() {
+		return collisionLayer;
+	}
+	
+	@Override
+	public boolean isSolid(int x, int y) {
+		return collisionLayer != null && collisionLayer.isSolid(x, y);
+	}
+	
+	@Override
+	public float toTileX(float x) {
+		return collisionLayer == null ? x : collisionLayer.toTileX(x);
+	}
+	
+	@Override
+	public float toTileY(float y) {
+		return collisionLayer == null ? y : collisionLayer.toTileY(y);
+	}
+	
+}
@@ -0,0 +1,53 @@
+package com.accele.gage.tile;
+
+/**
+ * Game logic attached to every tile with a certain palette index in a {@link com.accele.gage.tile.TileMap TileMap}, such as animated water or growing crops.
+ * <p>
+ * Tiles do not tick by default, so a map with no behaviors costs nothing to tick regardless of its size. A behavior is attached to a palette index with
+ * {@link com.accele.gage.tile.TileMap#setBehavior(short, TileBehavior) setBehavior()} and can make its tiles tick in one of two ways:
+ * </p>
+ * <ul>
+ * <li>If {@link #isActive()} returns true, every tile with the behavior is kept in the active set of the map and ticked every tick.
+ * This suits tiles that change constantly.</li>
+ * <li>Otherwise, a tile is only ticked when a tick has been {@link com.accele.gage.tile.TileMap#scheduleTick(int, int, int) scheduled} for it.
+ * This suits tiles that change rarely or after a delay, and which can schedule their own next tick from {@link #tick(TileMap, int, int) tick()}.</li>
+ * </ul>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public interface TileBehavior {
+	
+	/**
+	 * Called when a tile with this behavior is ticked.
+	 * 
+	 * @param map the map containing the tile
+	 * @param x the x-coordinate of the tile within the map, in tiles
+	 * @param y the y-coordinate of the tile within the map, in tiles, where 0 is the top row
+	 */
+	public void tick(TileMap map, int x, int y);
+	
+	/**
+	 * Called when a tile with this behavior is placed with {@link com.accele.gage.tile.TileMap#setTile(int, int, short) setTile()}.
+	 * This is not called for the tiles a map is loaded with. Does nothing by default.
+	 * 
+	 * @param map the map containing the tile
+	 * @param x the x-coordinate of the tile within the map, in tiles
+	 * @param y the y-coordinate of the tile within the map, in tiles, where 0 is the top row
+	 */
+	public default void onPlace(TileMap map, int x, int y) {}
+	
+	/**
+	 * Returns whether tiles with this behavior are ticked every tick. Returns false by default.
+	 * <p>
+	 * The result must not change while the behavior is in use.
+	 * </p>
+	 * 
+	 * @return whether tiles with this behavior are always active
+	 */
+	public default boolean isActive() {
+		return false;
+	}
+	
+}
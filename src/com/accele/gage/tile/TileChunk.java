@@ -0,0 +1,152 @@
+package com.accele.gage.tile;
+
+import java.util.Arrays;
+
+/**
+ * A square block of tiles within a {@link com.accele.gage.tile.TileMap TileMap}.
+ * <p>
+ * A chunk stores its tiles as {@link com.accele.gage.tile.TileMap#getPalette() palette} indices in a single {@code short} array,
+ * so a chunk of {@value #SIZE}x{@value #SIZE} tiles uses 2 KB of heap regardless of which textures its tiles use.
+ * Empty tiles are stored as {@value #EMPTY}.
+ * </p>
+ * <p>
+ * Chunks are created by their {@code TileMap} and are not designed to be created by the user.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TileChunk {
+	
+	/**
+	 * The width and height of a chunk in tiles.
+	 */
+	public static final int SIZE = 32;
+	
+	/**
+	 * The tile ID used for tiles without a texture.
+	 */
+	public static final short EMPTY = -1;
+	
+	private int chunkX;
+	private int chunkY;
+	private short[] tiles;
+	private int tileCount;
+	private boolean dirty;
+	private short[] activeTiles;
+	private int activeCount;
+	
+	TileChunk(int chunkX, int chunkY) {
+		this.chunkX = chunkX;
+		this.chunkY = chunkY;
+		this.tiles = new short[SIZE * SIZE];
+		this.dirty = true;
+		Arrays.fill(tiles, EMPTY);
+	}
+	
+	/**
+	 * Returns the ID of the tile at the specified position within this chunk.
+	 *
+	 * @param localX the x-coordinate of the tile within this chunk
+	 * @param localY the y-coordinate of the tile within this chunk
+	 * @return the palette index of the tile, or {@value #EMPTY} if the tile is empty
+	 */
+	public short getTile(int localX, int localY) {
+		return tiles[localY * SIZE + localX];
+	}
+	
+	void setTile(int localX, int localY, short id) {
+		int index = localY * SIZE + localX;
+		if (tiles[index] == id)
+			return;
+		if (tiles[index] == EMPTY)
+			tileCount++;
+		else if (id == EMPTY)
+			tileCount--;
+		tiles[index] = id;
+		dirty = true;
+	}
+	
+	short[] getTiles() {
+		return tiles;
+	}
+	
+	void addActive(int localX, int localY) {
+		if (activeTiles == null)
+			this.activeTiles = new short[16];
+		else if (activeCount == activeTiles.length)
+			this.activeTiles = Arrays.copyOf(activeTiles, activeCount * 2);
+		activeTiles[activeCount++] = (short) (localY * SIZE + localX);
+	}
+	
+	void removeActive(int localX, int localY) {
+		short index = (short) (localY * SIZE + localX);
+		for (int i = 0; i < activeCount; i++) {
+			if (activeTiles[i] == index) {
+				activeTiles[i] = activeTiles[--activeCount];
+				return;
+			}
+		}
+	}
+	
+	void clearActive() {
+		this.activeCount = 0;
+	}
+	
+	short[] getActiveTiles() {
+		return activeTiles;
+	}
+	
+	int getActiveCount() {
+		return activeCount;
+	}
+	
+	/**
+	 * Returns the x-coordinate of this chunk, in chunks.
+	 *
+	 * @return the x-coordinate of this chunk
+	 */
+	public int getChunkX() {
+		return chunkX;
+	}
+	
+	/**
+	 * Returns the y-coordinate of this chunk, in chunks.
+	 *
+	 * @return the y-coordinate of this chunk
+	 */
+	public int getChunkY() {
+		return chunkY;
+	}
+	
+	/**
+	 * Returns the number of tiles in this chunk that are not empty.
+	 *
+	 * @return the number of non-empty tiles
+	 */
+	public int getTileCount() {
+		return tileCount;
+	}
+	
+	/**
+	 * Returns whether this chunk has changed since it was last {@link #markClean() marked clean}.
+	 *
+	 * @return whether this chunk has changed
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+	
+	/**
+	 * Marks this chunk as unchanged. This is used by whatever caches data derived from the chunk, such as its renderer.
+	 */
+	public void markClean() {
+		this.dirty = false;
+	}
+	
+	void markDirty() {
+		this.dirty = true;
+	}
+	
+}
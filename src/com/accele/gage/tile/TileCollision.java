@@ -0,0 +1,256 @@
+package com.accele.gage.tile;
+
+import com.accele.gage.math.BoundingBox;
+import com.accele.gage.math.OBB;
+import com.accele.gage.math.Vector3f;
+
+/**
+ * Collision queries against the solid tiles of a {@link com.accele.gage.tile.TileGrid TileGrid}.
+ * <p>
+ * Unlike collision between entities, which tests every pair of {@link com.accele.gage.math.BoundingBox BoundingBox}{@code es},
+ * these queries only visit the tiles that the queried shape or movement actually covers, so their cost does not depend on the size of the grid.
+ * None of the queries allocate memory; raycasts and sweeps write their result into a {@link com.accele.gage.tile.TileHit TileHit} supplied by the caller.
+ * </p>
+ * <p>
+ * All positions and sizes are given in screen coordinates, the same coordinates used to position entities.
+ * Boxes are described by their center and half of their width and height, like the size of a {@code BoundingBox}.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.entity.EntityHandler#setTileGrid(TileGrid) setTileGrid()
+ */
+public class TileCollision {
+	
+	private TileCollision() {}
+	
+	/**
+	 * Returns whether the specified axis-aligned box overlaps any solid tile. Boxes that only touch the edge of a tile do not overlap it.
+	 *
+	 * @param grid the grid to test against
+	 * @param x the x-coordinate of the center of the box
+	 * @param y the y-coordinate of the center of the box
+	 * @param width half of the width of the box
+	 * @param height half of the height of the box
+	 * @return whether the box overlaps a solid tile
+	 */
+	public static boolean overlaps(TileGrid grid, float x, float y, float width, float height) {
+		float u0 = grid.toTileX(x - width);
+		float u1 = grid.toTileX(x + width);
+		float v0 = grid.toTileY(y - height);
+		float v1 = grid.toTileY(y + height);
+		int minX = (int) Math.floor(Math.min(u0, u1));
+		int maxX = Math.max(minX, (int) Math.ceil(Math.max(u0, u1)) - 1);
+		int minY = (int) Math.floor(Math.min(v0, v1));
+		int maxY = Math.max(minY, (int) Math.ceil(Math.max(v0, v1)) - 1);
+		
+		for (int ty = minY; ty <= maxY; ty++) {
+			for (int tx = minX; tx <= maxX; tx++) {
+				if (grid.isSolid(tx, ty))
+					return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Returns whether the specified bounding box overlaps any solid tile.
+	 * <p>
+	 * An {@link com.accele.gage.math.OBB OBB} is tested through the axis-aligned box that encloses it.
+	 * </p>
+	 *
+	 * @param grid the grid to test against
+	 * @param bounds the bounding box to test
+	 * @return whether the bounding box overlaps a solid tile
+	 */
+	public static boolean overlaps(TileGrid grid, BoundingBox bounds) {
+		Vector3f position = bounds.getPosition();
+		return overlaps(grid, position.x, position.y, getWidth(bounds), getHeight(bounds));
+	}
+	
+	/**
+	 * Casts a ray from one point to another and finds the first solid tile it passes through.
+	 * <p>
+	 * The tiles along the ray are visited one at a time in the order the ray enters them, so the cost of the query is proportional to the number of tiles
+	 * between the start and the point of impact. If the ray starts inside a solid tile, it hits that tile at time 0 with a zero normal.
+	 * </p>
+	 *
+	 * @param grid the grid to cast the ray in
+	 * @param x0 the x-coordinate of the start of the ray
+	 * @param y0 the y-coordinate of the start of the ray
+	 * @param x1 the x-coordinate of the end of the ray
+	 * @param y1 the y-coordinate of the end of the ray
+	 * @param hit the result of the query
+	 * @return whether the ray hit a solid tile
+	 */
+	public static boolean raycast(TileGrid grid, float x0, float y0, float x1, float y1, TileHit hit) {
+		float u = grid.toTileX(x0);
+		float v = grid.toTileY(y0);
+		float du = grid.toTileX(x1) - u;
+		float dv = grid.toTileY(y1) - v;
+		int tx = (int) Math.floor(u);
+		int ty = (int) Math.floor(v);
+		
+		if (grid.isSolid(tx, ty)) {
+			hit.set(0, x0, y0, tx, ty, 0, 0);
+			return true;
+		}
+		
+		int stepX = du > 0 ? 1 : du < 0 ? -1 : 0;
+		int stepY = dv > 0 ? 1 : dv < 0 ? -1 : 0;
+		float deltaX = stepX != 0 ? Math.abs(1 / du) : Float.POSITIVE_INFINITY;
+		float deltaY = stepY != 0 ? Math.abs(1 / dv) : Float.POSITIVE_INFINITY;
+		float nextX = stepX > 0 ? (tx + 1 - u) / du : stepX < 0 ? (tx - u) / du : Float.POSITIVE_INFINITY;
+		float nextY = stepY > 0 ? (ty + 1 - v) / dv : stepY < 0 ? (ty - v) / dv : Float.POSITIVE_INFINITY;
+		
+		while (true) {
+			float time;
+			float normalX = 0;
+			float normalY = 0;
+			if (nextX < nextY) {
+				time = nextX;
+				tx += stepX;
+				nextX += deltaX;
+				normalX = -Math.signum(x1 - x0);
+			} else {
+				time = nextY;
+				ty += stepY;
+				nextY += deltaY;
+				normalY = -Math.signum(y1 - y0);
+			}
+			if (!(time <= 1))
+				break;
+			if (grid.isSolid(tx, ty)) {
+				hit.set(time, x0 + (x1 - x0) * time, y0 + (y1 - y0) * time, tx, ty, normalX, normalY);
+				return true;
+			}
+		}
+		
+		hit.miss(x1, y1);
+		return false;
+	}
+	
+	/**
+	 * Moves an axis-aligned box by the specified displacement and finds the first solid tile it runs into.
+	 * <p>
+	 * Only the tiles within the area swept by the box are tested. Tiles that the box already overlaps at the start of the movement are ignored,
+	 * so a box that has become stuck inside a wall can still move out of it. If the box touches a tile when it is hit, the normal of the hit is the normal
+	 * of the face of the tile that was touched, which can be used to slide the remaining movement along the tile.
+	 * </p>
+	 *
+	 * @param grid the grid to move the box in
+	 * @param x the x-coordinate of the center of the box
+	 * @param y the y-coordinate of the center of the box
+	 * @param width half of the width of the box
+	 * @param height half of the height of the box
+	 * @param dx the distance to move the box along the x-axis
+	 * @param dy the distance to move the box along the y-axis
+	 * @param hit the result of the query
+	 * @return whether the box hit a solid tile
+	 */
+	public static boolean sweep(TileGrid grid, float x, float y, float width, float height, float dx, float dy, TileHit hit) {
+		float scaleX = grid.toTileX(1) - grid.toTileX(0);
+		float scaleY = grid.toTileY(1) - grid.toTileY(0);
+		float u = grid.toTileX(x);
+		float v = grid.toTileY(y);
+		float extentX = width * Math.abs(scaleX);
+		float extentY = height * Math.abs(scaleY);
+		float du = dx * scaleX;
+		float dv = dy * scaleY;
+		
+		int minX = (int) Math.floor(u - extentX + Math.min(du, 0));
+		int maxX = Math.max(minX, (int) Math.ceil(u + extentX + Math.max(du, 0)) - 1);
+		int minY = (int) Math.floor(v - extentY + Math.min(dv, 0));
+		int maxY = Math.max(minY, (int) Math.ceil(v + extentY + Math.max(dv, 0)) - 1);
+		
+		float bestTime = Float.POSITIVE_INFINITY;
+		int bestX = 0;
+		int bestY = 0;
+		boolean bestAlongX = false;
+		for (int ty = minY; ty <= maxY; ty++) {
+			float entryY;
+			float exitY;
+			if (dv == 0) {
+				if (v <= ty - extentY || v >= ty + 1 + extentY)
+					continue;
+				entryY = Float.NEGATIVE_INFINITY;
+				exitY = Float.POSITIVE_INFINITY;
+			} else {
+				float nearY = dv > 0 ? ty - extentY : ty + 1 + extentY;
+				float farY = dv > 0 ? ty + 1 + extentY : ty - extentY;
+				entryY = (nearY - v) / dv;
+				exitY = (farY - v) / dv;
+			}
+			if (entryY > 1 || entryY > bestTime || exitY <= 0)
+				continue;
+			
+			for (int tx = minX; tx <= maxX; tx++) {
+				float entryX;
+				float exitX;
+				if (du == 0) {
+					if (u <= tx - extentX || u >= tx + 1 + extentX)
+						continue;
+					entryX = Float.NEGATIVE_INFINITY;
+					exitX = Float.POSITIVE_INFINITY;
+				} else {
+					float nearX = du > 0 ? tx - extentX : tx + 1 + extentX;
+					float farX = du > 0 ? tx + 1 + extentX : tx - extentX;
+					entryX = (nearX - u) / du;
+					exitX = (farX - u) / du;
+				}
+				
+				float entry = Math.max(entryX, entryY);
+				if (entry < 0 || entry > 1 || entry >= Math.min(exitX, exitY) || entry >= bestTime || !grid.isSolid(tx, ty))
+					continue;
+				bestTime = entry;
+				bestX = tx;
+				bestY = ty;
+				bestAlongX = entryX > entryY;
+			}
+		}
+		
+		if (bestTime == Float.POSITIVE_INFINITY) {
+			hit.miss(x + dx, y + dy);
+			return false;
+		}
+		hit.set(bestTime, x + dx * bestTime, y + dy * bestTime, bestX, bestY, bestAlongX ? -Math.signum(dx) : 0, bestAlongX ? 0 : -Math.signum(dy));
+		return true;
+	}
+	
+	/**
+	 * Moves the specified bounding box by the specified displacement and finds the first solid tile it runs into. The bounding box itself is not moved.
+	 * <p>
+	 * An {@link com.accele.gage.math.OBB OBB} is swept as the axis-aligned box that encloses it.
+	 * </p>
+	 *
+	 * @param grid the grid to move the bounding box in
+	 * @param bounds the bounding box to move
+	 * @param dx the distance to move the bounding box along the x-axis
+	 * @param dy the distance to move the bounding box along the y-axis
+	 * @param hit the result of the query
+	 * @return whether the bounding box hit a solid tile
+	 * @see #sweep(TileGrid, float, float, float, float, float, float, TileHit)
+	 */
+	public static boolean sweep(TileGrid grid, BoundingBox bounds, float dx, float dy, TileHit hit) {
+		Vector3f position = bounds.getPosition();
+		return sweep(grid, position.x, position.y, getWidth(bounds), getHeight(bounds), dx, dy, hit);
+	}
+	
+	private static float getWidth(BoundingBox bounds) {
+		Vector3f size = bounds.getSize();
+		if (!(bounds instanceof OBB))
+			return size.x;
+		float angle = ((OBB) bounds).getAngle();
+		return Math.abs((float) Math.cos(angle)) * size.x + Math.abs((float) Math.sin(angle)) * size.y;
+	}
+	
+	private static float getHeight(BoundingBox bounds) {
+		Vector3f size = bounds.getSize();
+		if (!(bounds instanceof OBB))
+			return size.y;
+		float angle = ((OBB) bounds).getAngle();
+		return Math.abs((float) Math.sin(angle)) * size.x + Math.abs((float) Math.cos(angle)) * size.y;
+	}
+	
+}
@@ -0,0 +1,44 @@
+package com.accele.gage.tile;
+
+/**
+ * A grid of tiles that can be queried for collision by {@link com.accele.gage.tile.TileCollision TileCollision}.
+ * <p>
+ * Tile coordinates are continuous: the tile in column {@code x} and row {@code y} covers the area from {@code (x, y)} to {@code (x + 1, y + 1)},
+ * with rows counted from the top. The grid maps the coordinates used to position entities and draw tiles onto tile coordinates,
+ * so collision follows the grid the tiles are laid out on rather than the size at which each tile is drawn.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.tile.TileMap TileMap
+ * @see com.accele.gage.tile.TileWorld TileWorld
+ */
+public interface TileGrid {
+	
+	/**
+	 * Returns whether the tile at the specified position blocks movement.
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return whether the tile is solid
+	 */
+	public boolean isSolid(int x, int y);
+	
+	/**
+	 * Converts an x-coordinate on the screen into a continuous tile coordinate.
+	 * 
+	 * @param x the x-coordinate on the screen
+	 * @return the x-coordinate in tiles
+	 */
+	public float toTileX(float x);
+	
+	/**
+	 * Converts a y-coordinate on the screen into a continuous tile coordinate.
+	 * 
+	 * @param y the y-coordinate on the screen
+	 * @return the y-coordinate in tiles, where 0 is the top row
+	 */
+	public float toTileY(float y);
+	
+}
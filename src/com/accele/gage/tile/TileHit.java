@@ -0,0 +1,121 @@
+package com.accele.gage.tile;
+
+/**
+ * The result of a {@link com.accele.gage.tile.TileCollision TileCollision} raycast or sweep.
+ * <p>
+ * A {@code TileHit} is filled in by the query it is passed to, so a single instance can be reused for any number of queries without allocating.
+ * Positions and normals are given in screen coordinates, the same coordinates as the query.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TileHit {
+	
+	private boolean hit;
+	private float time;
+	private float x;
+	private float y;
+	private int tileX;
+	private int tileY;
+	private float normalX;
+	private float normalY;
+	
+	void set(float time, float x, float y, int tileX, int tileY, float normalX, float normalY) {
+		this.hit = true;
+		this.time = time;
+		this.x = x;
+		this.y = y;
+		this.tileX = tileX;
+		this.tileY = tileY;
+		this.normalX = normalX;
+		this.normalY = normalY;
+	}
+	
+	void miss(float x, float y) {
+		this.hit = false;
+		this.time = 1;
+		this.x = x;
+		this.y = y;
+		this.tileX = 0;
+		this.tileY = 0;
+		this.normalX = 0;
+		this.normalY = 0;
+	}
+	
+	/**
+	 * Returns whether the query hit a solid tile.
+	 * 
+	 * @return whether a solid tile was hit
+	 */
+	public boolean isHit() {
+		return hit;
+	}
+	
+	/**
+	 * Returns the fraction of the movement that was completed before the hit, in the range [0, 1]. This is 1 if nothing was hit.
+	 * 
+	 * @return the time of impact
+	 */
+	public float getTime() {
+		return time;
+	}
+	
+	/**
+	 * Returns the x-coordinate of the point of impact for raycasts, or of the center of the box at the time of impact for sweeps.
+	 * If nothing was hit, this is the end of the movement.
+	 * 
+	 * @return the x-coordinate of the contact position
+	 */
+	public float getX() {
+		return x;
+	}
+	
+	/**
+	 * Returns the y-coordinate of the point of impact for raycasts, or of the center of the box at the time of impact for sweeps.
+	 * If nothing was hit, this is the end of the movement.
+	 * 
+	 * @return the y-coordinate of the contact position
+	 */
+	public float getY() {
+		return y;
+	}
+	
+	/**
+	 * Returns the column of the tile that was hit.
+	 * 
+	 * @return the x-coordinate of the tile that was hit, in tiles
+	 */
+	public int getTileX() {
+		return tileX;
+	}
+	
+	/**
+	 * Returns the row of the tile that was hit.
+	 * 
+	 * @return the y-coordinate of the tile that was hit, in tiles
+	 */
+	public int getTileY() {
+		return tileY;
+	}
+	
+	/**
+	 * Returns the x-component of the normal of the tile face that was hit. This is 0 if the movement started inside a solid tile.
+	 * 
+	 * @return the x-component of the surface normal
+	 */
+	public float getNormalX() {
+		return normalX;
+	}
+	
+	/**
+	 * Returns the y-component of the normal of the tile face that was hit. This is 0 if the movement started inside a solid tile.
+	 * 
+	 * @return the y-component of the surface normal
+	 */
+	public float getNormalY() {
+		return normalY;
+	}
+	
+}
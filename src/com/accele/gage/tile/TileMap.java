@@ -1,5 +1,12 @@
 package com.accele.gage.tile;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
 import com.accele.gage.Cleanable;
 import com.accele.gage.GAGEException;
 import com.accele.gage.Indexable;
@@ -7,82 +14,352 @@ import com.accele.gage.Renderable;
 import com.accele.gage.Resource;
 import com.accele.gage.Tickable;
 import com.accele.gage.gfx.Graphics;
+import com.accele.gage.gfx.InstanceBatch;
 import com.accele.gage.gfx.Texture;
+import com.accele.gage.gfx.TextureRegion;
+import com.accele.gage.math.Matrix4f;
 import com.accele.gage.math.Vector2f;
 
 /**
- * A collection of {@link com.accele.gage.tile.Tile Tile} instances that are rendered seamlessly as one large tiled rectangle.
- * 
+ * A grid of tiles that are rendered seamlessly as one large tiled rectangle.
+ * <p>
+ * The tiles are stored in {@link com.accele.gage.tile.TileChunk TileChunk}{@code s} of {@value com.accele.gage.tile.TileChunk#SIZE}x{@value com.accele.gage.tile.TileChunk#SIZE}
+ * tiles, each of which holds one {@code short} per tile: an index into the {@link #getPalette() palette} of texture regions shared by the whole map.
+ * Chunks that contain no tiles are not allocated at all. The position and transformation matrix of a tile are computed when the tile is drawn,
+ * so the memory used by a map only depends on its size, not on the number of distinct tiles in it.
+ * </p>
+ * <p>
+ * Each chunk is drawn from {@link com.accele.gage.gfx.InstanceBatch InstanceBatch}{@code es} that are kept on the GPU, one for every {@link com.accele.gage.gfx.Texture#getRoot() root texture} used in the chunk,
+ * and which are only rebuilt when a tile in the chunk changes. Only the chunks that intersect the area of the map visible through the view and projection matrices
+ * of the {@link com.accele.gage.gfx.Graphics Graphics} are drawn, so a map that uses a single texture atlas costs one draw call per visible chunk
+ * regardless of the size of the map.
+ * </p>
+ * <p>
+ * Each palette entry can be marked as {@link #setSolid(short, boolean) solid}, which makes the map usable as a {@link com.accele.gage.tile.TileGrid TileGrid}
+ * for {@link com.accele.gage.tile.TileCollision TileCollision} queries.
+ * </p>
+ * <p>
+ * Tiles only tick if a {@link com.accele.gage.tile.TileBehavior TileBehavior} is attached to their palette entry. The map keeps the tiles whose behavior is
+ * {@link com.accele.gage.tile.TileBehavior#isActive() active} in a compact set and the {@link #scheduleTick(int, int, int) scheduled ticks} of all other tiles
+ * in a priority queue, so the cost of {@link #tick()} depends on the number of tiles that actually need to tick rather than on the size of the map.
+ * </p>
+ * <p>
  * GAGE comes with a built-in external tile map reader to easily parse large or complicated tile maps.
  * Refer to {@link com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER} for more details.
+ * </p>
  * 
  * @author William Garland
  * @version 1.0.0
  * @since 1.0.0
  * @see com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER
  */
-public class TileMap implements Indexable, Tickable, Renderable, Cleanable {
+public class TileMap implements Indexable, Tickable, Renderable, Cleanable, TileGrid {
 	
 	private String registryId;
-	private Tile[] tiles;
+	private TextureRegion[] palette;
+	private boolean[] solid;
+	private TileBehavior[] behaviors;
+	private TileChunk[] chunks;
+	private InstanceBatch[][] chunkBatches;
+	private int[] paletteGroups;
+	private int[] groupCounts;
+	private int chunksX;
+	private int chunksY;
 	private int width;
 	private int height;
+	private int originX;
+	private int originY;
 	private int visibleTilesX;
 	private int visibleTilesY;
+	private float tileWidth;
+	private float tileHeight;
+	private float parallaxX;
+	private float parallaxY;
+	private Matrix4f modelMatrix;
+	private Matrix4f viewProjection;
+	private int textureMoveCount;
+	private Tile[] tiles;
+	private List<TileChunk> activeChunks;
+	private int activeTileCount;
+	private int[] activeQueue;
+	private PriorityQueue<ScheduledTick> scheduledTicks;
+	private long tickCount;
+	private long scheduleCount;
 	
 	/**
 	 * Constructs a {@code TileMap} with the specified registry ID and {@code TileMapMeta}.
+	 * <p>
+	 * The palette of the map contains the textures of the meta in ascending order of their keys.
+	 * Tiles whose key has no texture are left empty. If the meta has several layers, only its {@link com.accele.gage.tile.TileMapMeta#getPrimaryLayer() primary layer}
+	 * is loaded; use a {@link com.accele.gage.tile.LayeredTileMap LayeredTileMap} to load all of them.
+	 * </p>
 	 * 
 	 * @param registryId the registry ID to use in the tile map {@link com.accele.gage.Registry Registry}
 	 * @param meta the metadata about the tile map
 	 */
 	public TileMap(String registryId, Resource<TileMapMeta> meta) {
-		this.registryId = registryId;
+		init(registryId);
 		try {
 			TileMapMeta data = meta.get();
-			
-			this.tiles = new Tile[data.getTiles().length];
-			this.width = data.getRowSize();
-			this.height = tiles.length / data.getRowSize();
-			this.visibleTilesX = data.getVisibleTilesX();
-			this.visibleTilesY = data.getVisibleTilesY();
-			
-			for (int y = 0; y < height; y++)
-				for (int x = 0; x < width; x++)
-					this.tiles[y * width + x] = generateTile(data.getTextures().get(data.getTiles()[y * width + x]), 
-							x, y, data.getVisibleTilesX() - 1, data.getVisibleTilesY() - 1, data.getTileWidth(), data.getTileHeight());
+			load(data, data.getLayers()[data.getPrimaryLayer()]);
 		} catch (GAGEException e) {
 			e.printStackTrace();
 		}
 	}
 	
-	private static Tile generateTile(Texture texture, int x, int y, int xmax, int ymax, float tileWidth, float tileHeight) {
-		float oldrangex = xmax;
-		float oldrangey = ymax;
-		float newrangex = 2f * ((float) xmax / (1f + xmax));
-		float newrangey = 2f * ((float) ymax / (1f + ymax));
-		float tx = newrangex * x / oldrangex - ((float) xmax / (1f + xmax));
-		float ty = newrangey * y / oldrangey - ((float) ymax / (1f + ymax));
+	TileMap(String registryId, TileMapMeta data, TileMapMeta.Layer layer) {
+		init(registryId);
+		try {
+			load(data, layer);
+		} catch (GAGEException e) {
+			e.printStackTrace();
+		}
+	}
+	
+	private void init(String registryId) {
+		this.registryId = registryId;
+		this.palette = new TextureRegion[0];
+		this.solid = new boolean[0];
+		this.behaviors = new TileBehavior[0];
+		this.chunks = new TileChunk[0];
+		this.chunkBatches = new InstanceBatch[0][];
+		this.paletteGroups = new int[0];
+		this.groupCounts = new int[0];
+		this.activeChunks = new ArrayList<>();
+		this.activeQueue = new int[0];
+		this.scheduledTicks = new PriorityQueue<>();
+		this.modelMatrix = new Matrix4f();
+		this.viewProjection = new Matrix4f();
+		this.textureMoveCount = Texture.getMoveCount();
+		this.parallaxX = 1;
+		this.parallaxY = 1;
+	}
+	
+	private void load(TileMapMeta data, TileMapMeta.Layer layer) throws GAGEException {
+		int[] keys = data.getTextures().keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+		if (keys.length > Short.MAX_VALUE)
+			throw new GAGEException("A tile map cannot use more than " + Short.MAX_VALUE + " distinct textures.");
+		TextureRegion[] palette = new TextureRegion[keys.length];
+		for (int i = 0; i < keys.length; i++)
+			palette[i] = data.getTextures().get(keys[i]).getRegion();
 		
-		return new Tile(texture, new Vector2f(tx, -ty), new Vector2f(tileWidth, tileHeight));
+		setPalette(palette);
+		setSize(data.getRowSize(), layer.getTiles().length / data.getRowSize());
+		this.visibleTilesX = data.getVisibleTilesX();
+		this.visibleTilesY = data.getVisibleTilesY();
+		this.tileWidth = data.getTileWidth();
+		this.tileHeight = data.getTileHeight();
+		this.parallaxX = layer.getParallaxX();
+		this.parallaxY = layer.getParallaxY();
+		
+		int[] tiles = layer.getTiles();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int index = Arrays.binarySearch(keys, tiles[y * width + x]);
+				if (index >= 0)
+					setTile(x, y, (short) index);
+			}
+		}
 	}
 	
+	TileMap(String registryId, TextureRegion[] palette, boolean[] solid, TileBehavior[] behaviors, short[] tiles, int stride, int width, int height, int originX, int originY,
+			float tileWidth, float tileHeight, int visibleTilesX, int visibleTilesY) {
+		init(registryId);
+		this.originX = originX;
+		this.originY = originY;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.visibleTilesX = visibleTilesX;
+		this.visibleTilesY = visibleTilesY;
+		setPalette(palette);
+		this.solid = solid;
+		this.behaviors = behaviors;
+		setSize(width, height);
+		
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				short id = tiles[y * stride + x];
+				if (id != TileChunk.EMPTY) {
+					checkTile(x, y, id);
+					placeTile(x, y, id);
+				}
+			}
+		}
+	}
+	
+	private void setPalette(TextureRegion[] palette) {
+		this.palette = palette;
+		this.solid = new boolean[palette.length];
+		this.behaviors = new TileBehavior[palette.length];
+		Map<Texture, Integer> groups = new HashMap<>();
+		this.paletteGroups = new int[palette.length];
+		for (int i = 0; i < palette.length; i++)
+			paletteGroups[i] = groups.computeIfAbsent(palette[i].getTexture().getRoot(), texture -> groups.size());
+		this.groupCounts = new int[groups.size()];
+	}
+	
+	private void setSize(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.chunksX = (width + TileChunk.SIZE - 1) / TileChunk.SIZE;
+		this.chunksY = (height + TileChunk.SIZE - 1) / TileChunk.SIZE;
+		this.chunks = new TileChunk[chunksX * chunksY];
+		this.chunkBatches = new InstanceBatch[chunks.length][];
+	}
+	
+	/**
+	 * Ticks the tiles whose scheduled tick is due and every tile with an active {@link com.accele.gage.tile.TileBehavior TileBehavior}.
+	 * <p>
+	 * Scheduled ticks are run in the order they are due, and ticks that are due at the same time in the order they were scheduled.
+	 * A scheduled tick is dropped if the tile has been replaced since the tick was scheduled. Tiles that become active during a tick are first ticked on the next tick.
+	 * </p>
+	 */
 	@Override
 	public void tick() {
-		for (Tile t : tiles)
-			t.tick();
+		tickCount++;
+		
+		while (!scheduledTicks.isEmpty() && scheduledTicks.peek().time <= tickCount) {
+			ScheduledTick scheduled = scheduledTicks.poll();
+			short id = getTile(scheduled.x, scheduled.y);
+			if (id == scheduled.id && id != TileChunk.EMPTY && behaviors[id] != null)
+				behaviors[id].tick(this, scheduled.x, scheduled.y);
+		}
+		
+		if (activeQueue.length < activeTileCount)
+			this.activeQueue = new int[Math.max(activeTileCount, activeQueue.length * 2)];
+		int count = 0;
+		for (int i = 0; i < activeChunks.size(); i++) {
+			TileChunk chunk = activeChunks.get(i);
+			short[] active = chunk.getActiveTiles();
+			int baseX = chunk.getChunkX() * TileChunk.SIZE;
+			int baseY = chunk.getChunkY() * TileChunk.SIZE;
+			for (int j = 0; j < chunk.getActiveCount(); j++)
+				activeQueue[count++] = (baseY + active[j] / TileChunk.SIZE) * width + baseX + active[j] % TileChunk.SIZE;
+		}
+		for (int i = 0; i < count; i++) {
+			int x = activeQueue[i] % width;
+			int y = activeQueue[i] / width;
+			short id = getTile(x, y);
+			if (isActive(id))
+				behaviors[id].tick(this, x, y);
+		}
 	}
 
 	@Override
 	public void render(Graphics g, double interpolation) {
-		for (Tile t : tiles)
-			t.render(g, interpolation);
+		int minChunkX = 0;
+		int minChunkY = 0;
+		int maxChunkX = chunksX - 1;
+		int maxChunkY = chunksY - 1;
+		
+		Matrix4f view = g.getViewMatrix();
+		float offsetX = 0;
+		float offsetY = 0;
+		float viewDet = view.m00 * view.m11 - view.m10 * view.m01;
+		if ((parallaxX != 1 || parallaxY != 1) && viewDet != 0) {
+			offsetX = (1 - parallaxX) * (view.m10 * view.m31 - view.m11 * view.m30) / viewDet;
+			offsetY = (1 - parallaxY) * (view.m01 * view.m30 - view.m00 * view.m31) / viewDet;
+		}
+		if (offsetX != modelMatrix.m30 || offsetY != modelMatrix.m31)
+			modelMatrix.setTranslation(offsetX, offsetY, 0);
+		
+		Matrix4f transform = viewProjection.set(g.getProjectionMatrix()).mul(view);
+		float det = transform.m00 * transform.m11 - transform.m10 * transform.m01;
+		if (det != 0) {
+			float minX = Float.POSITIVE_INFINITY;
+			float minY = Float.POSITIVE_INFINITY;
+			float maxX = Float.NEGATIVE_INFINITY;
+			float maxY = Float.NEGATIVE_INFINITY;
+			for (int corner = 0; corner < 4; corner++) {
+				float dx = ((corner & 1) == 0 ? -1 : 1) - transform.m30;
+				float dy = ((corner & 2) == 0 ? -1 : 1) - transform.m31;
+				float x = (transform.m11 * dx - transform.m10 * dy) / det - offsetX;
+				float y = (transform.m00 * dy - transform.m01 * dx) / det - offsetY;
+				minX = Math.min(minX, x);
+				minY = Math.min(minY, y);
+				maxX = Math.max(maxX, x);
+				maxY = Math.max(maxY, y);
+			}
+			
+			int minColumn = (int) Math.ceil(((minX - tileWidth) * visibleTilesX + visibleTilesX - 1) / 2) - originX;
+			int maxColumn = (int) Math.floor(((maxX + tileWidth) * visibleTilesX + visibleTilesX - 1) / 2) - originX;
+			int minRow = (int) Math.ceil(((-maxY - tileHeight) * visibleTilesY + visibleTilesY - 1) / 2) - originY;
+			int maxRow = (int) Math.floor(((-minY + tileHeight) * visibleTilesY + visibleTilesY - 1) / 2) - originY;
+			minChunkX = Math.max(minChunkX, Math.floorDiv(minColumn, TileChunk.SIZE));
+			minChunkY = Math.max(minChunkY, Math.floorDiv(minRow, TileChunk.SIZE));
+			maxChunkX = Math.min(maxChunkX, Math.floorDiv(maxColumn, TileChunk.SIZE));
+			maxChunkY = Math.min(maxChunkY, Math.floorDiv(maxRow, TileChunk.SIZE));
+		}
+		
+		// The batches hold copies of the texture coordinates of the palette, which are out of date once a texture has been moved.
+		if (textureMoveCount != Texture.getMoveCount()) {
+			this.textureMoveCount = Texture.getMoveCount();
+			for (TileChunk chunk : chunks) {
+				if (chunk != null)
+					chunk.markDirty();
+			}
+		}
+		
+		for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+			for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+				int index = chunkY * chunksX + chunkX;
+				TileChunk chunk = chunks[index];
+				if (chunk == null)
+					continue;
+				if (chunk.isDirty())
+					rebuild(index, chunk);
+				for (InstanceBatch batch : chunkBatches[index]) {
+					if (batch != null)
+						g.drawInstanceBatch(batch, modelMatrix);
+				}
+			}
+		}
+	}
+	
+	private void rebuild(int index, TileChunk chunk) {
+		Arrays.fill(groupCounts, 0);
+		for (short id : chunk.getTiles()) {
+			if (id != TileChunk.EMPTY)
+				groupCounts[paletteGroups[id]]++;
+		}
+		
+		InstanceBatch[] batches = chunkBatches[index];
+		if (batches == null) {
+			batches = new InstanceBatch[groupCounts.length];
+			chunkBatches[index] = batches;
+		}
+		for (int group = 0; group < batches.length; group++) {
+			if (batches[group] != null && batches[group].getCapacity() >= groupCounts[group] && groupCounts[group] > 0) {
+				batches[group].clear();
+				continue;
+			}
+			if (batches[group] != null)
+				batches[group].clean();
+			batches[group] = groupCounts[group] > 0 ? new InstanceBatch(groupCounts[group]) : null;
+		}
+		
+		int baseX = chunk.getChunkX() * TileChunk.SIZE;
+		int baseY = chunk.getChunkY() * TileChunk.SIZE;
+		for (int y = 0; y < TileChunk.SIZE; y++) {
+			for (int x = 0; x < TileChunk.SIZE; x++) {
+				short id = chunk.getTile(x, y);
+				if (id != TileChunk.EMPTY)
+					batches[paletteGroups[id]].add(getTileX(baseX + x), getTileY(baseY + y), tileWidth, tileHeight, palette[id]);
+			}
+		}
+		chunk.markClean();
 	}
 	
 	@Override
 	public void clean() {
-		for (Tile t : tiles)
-			t.clean();
+		for (InstanceBatch[] batches : chunkBatches) {
+			if (batches == null)
+				continue;
+			for (InstanceBatch batch : batches) {
+				if (batch != null)
+					batch.clean();
+			}
+		}
 	}
 	
 	@Override
@@ -91,14 +368,427 @@ public class TileMap implements Indexable, Tickable, Renderable, Cleanable {
 	}
 	
 	/**
-	 * Returns the tiles used in the {@code TileMap}.
+	 * Returns the ID of the tile at the specified position.
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return the palette index of the tile, or {@value com.accele.gage.tile.TileChunk#EMPTY} if the tile is empty
+	 * @throws IndexOutOfBoundsException if the position is outside of the map
+	 */
+	public short getTile(int x, int y) {
+		checkBounds(x, y);
+		TileChunk chunk = chunks[(y / TileChunk.SIZE) * chunksX + x / TileChunk.SIZE];
+		return chunk == null ? TileChunk.EMPTY : chunk.getTile(x % TileChunk.SIZE, y % TileChunk.SIZE);
+	}
+	
+	/**
+	 * Sets the ID of the tile at the specified position.
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @param id the palette index of the tile, or {@value com.accele.gage.tile.TileChunk#EMPTY} to clear the tile
+	 * @throws IndexOutOfBoundsException if the position is outside of the map
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public void setTile(int x, int y, short id) {
+		checkTile(x, y, id);
+		if (placeTile(x, y, id) && id != TileChunk.EMPTY && behaviors[id] != null)
+			behaviors[id].onPlace(this, x, y);
+	}
+	
+	private void checkTile(int x, int y, short id) {
+		checkBounds(x, y);
+		if (id != TileChunk.EMPTY && (id < 0 || id >= palette.length))
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+	}
+	
+	private boolean placeTile(int x, int y, short id) {
+		int index = (y / TileChunk.SIZE) * chunksX + x / TileChunk.SIZE;
+		int localX = x % TileChunk.SIZE;
+		int localY = y % TileChunk.SIZE;
+		TileChunk chunk = chunks[index];
+		short previous = chunk == null ? TileChunk.EMPTY : chunk.getTile(localX, localY);
+		if (previous == id)
+			return false;
+		if (chunk == null) {
+			chunk = new TileChunk(x / TileChunk.SIZE, y / TileChunk.SIZE);
+			chunks[index] = chunk;
+		}
+		chunk.setTile(localX, localY, id);
+		if (isActive(previous) != isActive(id))
+			setActive(chunk, localX, localY, isActive(id));
+		this.tiles = null;
+		return true;
+	}
+	
+	private boolean isActive(short id) {
+		return id != TileChunk.EMPTY && behaviors[id] != null && behaviors[id].isActive();
+	}
+	
+	private void setActive(TileChunk chunk, int localX, int localY, boolean active) {
+		if (active) {
+			chunk.addActive(localX, localY);
+			if (chunk.getActiveCount() == 1)
+				activeChunks.add(chunk);
+			activeTileCount++;
+		} else {
+			chunk.removeActive(localX, localY);
+			if (chunk.getActiveCount() == 0)
+				activeChunks.remove(chunk);
+			activeTileCount--;
+		}
+	}
+	
+	/**
+	 * Attaches a {@link com.accele.gage.tile.TileBehavior TileBehavior} to the tiles with the specified ID.
+	 * <p>
+	 * If this changes whether the tiles are active, the whole map is scanned once to update its active set,
+	 * so behaviors should be attached right after the map is loaded rather than while it is being played.
+	 * </p>
+	 * 
+	 * @param id the palette index of the tiles
+	 * @param behavior the behavior of the tiles, or null to remove their behavior
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public void setBehavior(short id, TileBehavior behavior) {
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		boolean wasActive = isActive(id);
+		behaviors[id] = behavior;
+		updateActive(id, wasActive);
+	}
+	
+	void updateActive(short id, boolean wasActive) {
+		boolean active = isActive(id);
+		if (active == wasActive)
+			return;
+		for (TileChunk chunk : chunks) {
+			if (chunk == null)
+				continue;
+			for (int localY = 0; localY < TileChunk.SIZE; localY++) {
+				for (int localX = 0; localX < TileChunk.SIZE; localX++) {
+					if (chunk.getTile(localX, localY) == id)
+						setActive(chunk, localX, localY, active);
+				}
+			}
+		}
+	}
+	
+	void rescanActive() {
+		for (TileChunk chunk : activeChunks)
+			chunk.clearActive();
+		activeChunks.clear();
+		this.activeTileCount = 0;
+		for (TileChunk chunk : chunks) {
+			if (chunk == null)
+				continue;
+			for (int localY = 0; localY < TileChunk.SIZE; localY++) {
+				for (int localX = 0; localX < TileChunk.SIZE; localX++) {
+					if (isActive(chunk.getTile(localX, localY)))
+						setActive(chunk, localX, localY, true);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.tile.TileBehavior TileBehavior} attached to the tiles with the specified ID.
+	 * 
+	 * @param id the palette index of the tiles
+	 * @return the behavior of the tiles, or null if they have none
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public TileBehavior getBehavior(short id) {
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		return behaviors[id];
+	}
+	
+	/**
+	 * Schedules the tile at the specified position to be ticked after the specified number of ticks.
+	 * <p>
+	 * When the tick is due, the {@link com.accele.gage.tile.TileBehavior TileBehavior} of the tile is ticked, provided that the tile has not been replaced in the meantime.
+	 * A tile can be scheduled any number of times; every scheduled tick runs.
+	 * </p>
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @param delay the number of ticks until the tile is ticked
+	 * @throws IndexOutOfBoundsException if the position is outside of the map
+	 * @throws IllegalArgumentException if {@code delay} is less than 1
+	 */
+	public void scheduleTick(int x, int y, int delay) {
+		if (delay < 1)
+			throw new IllegalArgumentException("The delay of a scheduled tick must be at least 1.");
+		scheduledTicks.add(new ScheduledTick(tickCount + delay, scheduleCount++, x, y, getTile(x, y)));
+	}
+	
+	/**
+	 * Sets how far the map moves relative to the camera, which is given by the view matrix of the {@link com.accele.gage.gfx.Graphics Graphics} it is drawn with.
+	 * <p>
+	 * A factor of 1 moves the map with the rest of the scene, a factor of 0 keeps it fixed on the screen, and factors in between make the map appear
+	 * further away than the scene, as is common for backgrounds. The default is 1 on both axes.
+	 * Parallax only affects how the map is drawn; tile coordinates and collision queries ignore it.
+	 * </p>
+	 * 
+	 * @param parallaxX the horizontal parallax factor
+	 * @param parallaxY the vertical parallax factor
+	 */
+	public void setParallax(float parallaxX, float parallaxY) {
+		this.parallaxX = parallaxX;
+		this.parallaxY = parallaxY;
+	}
+	
+	/**
+	 * Returns the horizontal parallax factor of the map.
+	 * 
+	 * @return the horizontal parallax factor
+	 * @see #setParallax(float, float)
+	 */
+	public float getParallaxX() {
+		return parallaxX;
+	}
+	
+	/**
+	 * Returns the vertical parallax factor of the map.
+	 * 
+	 * @return the vertical parallax factor
+	 * @see #setParallax(float, float)
+	 */
+	public float getParallaxY() {
+		return parallaxY;
+	}
+	
+	/**
+	 * Returns the number of tiles that are ticked every tick because their {@link com.accele.gage.tile.TileBehavior TileBehavior} is active.
+	 * 
+	 * @return the number of active tiles
+	 */
+	public int getActiveTileCount() {
+		return activeTileCount;
+	}
+	
+	/**
+	 * Returns the number of scheduled ticks that have not run yet.
+	 * 
+	 * @return the number of pending scheduled ticks
+	 */
+	public int getScheduledTickCount() {
+		return scheduledTicks.size();
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.gfx.TextureRegion TextureRegion} of the tile at the specified position.
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return the texture region of the tile, or null if the tile is empty
+	 * @throws IndexOutOfBoundsException if the position is outside of the map
+	 */
+	public TextureRegion getTileRegion(int x, int y) {
+		short id = getTile(x, y);
+		return id == TileChunk.EMPTY ? null : palette[id];
+	}
+	
+	/**
+	 * Returns the x-coordinate at which the center of the tiles in the specified column is drawn.
+	 * 
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @return the x-coordinate of the tile on the screen
+	 */
+	public float getTileX(int x) {
+		return (2f * (originX + x) - (visibleTilesX - 1)) / visibleTilesX;
+	}
+	
+	/**
+	 * Returns the y-coordinate at which the center of the tiles in the specified row is drawn.
+	 * 
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return the y-coordinate of the tile on the screen
+	 */
+	public float getTileY(int y) {
+		return -(2f * (originY + y) - (visibleTilesY - 1)) / visibleTilesY;
+	}
+	
+	/**
+	 * Sets whether the tiles with the specified ID block movement. No tiles are solid by default.
+	 * 
+	 * @param id the palette index of the tiles
+	 * @param solid whether the tiles are solid
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public void setSolid(short id, boolean solid) {
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		this.solid[id] = solid;
+	}
+	
+	/**
+	 * Returns whether the tiles with the specified ID block movement.
+	 * 
+	 * @param id the palette index of the tiles
+	 * @return whether the tiles are solid, or false if {@code id} is {@value com.accele.gage.tile.TileChunk#EMPTY}
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public boolean isSolid(short id) {
+		if (id == TileChunk.EMPTY)
+			return false;
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		return solid[id];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Empty tiles and positions outside of the map are never solid.
+	 * </p>
+	 */
+	@Override
+	public boolean isSolid(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			return false;
+		TileChunk chunk = chunks[(y / TileChunk.SIZE) * chunksX + x / TileChunk.SIZE];
+		if (chunk == null)
+			return false;
+		short id = chunk.getTile(x % TileChunk.SIZE, y % TileChunk.SIZE);
+		return id != TileChunk.EMPTY && solid[id];
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The result is relative to the map, so column 0 is the first column of the map even if the map has an {@link #getOriginX() origin}.
+	 * </p>
+	 */
+	@Override
+	public float toTileX(float x) {
+		return (x * visibleTilesX + visibleTilesX) / 2 - originX;
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The result is relative to the map, so row 0 is the first row of the map even if the map has an {@link #getOriginY() origin}.
+	 * </p>
+	 */
+	@Override
+	public float toTileY(float y) {
+		return (-y * visibleTilesY + visibleTilesY) / 2 - originY;
+	}
+	
+	private void checkBounds(int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height)
+			throw new IndexOutOfBoundsException("Tile (" + x + ", " + y + ") is outside of the " + width + "x" + height + " tile map \"" + registryId + "\".");
+	}
+	
+	/**
+	 * Returns the palette of the {@code TileMap}. Tile IDs are indices into this array.
+	 * <p>
+	 * The returned array is used by the map itself and should not be modified.
+	 * </p>
+	 * 
+	 * @return the texture regions used by the tiles of the map
+	 */
+	public TextureRegion[] getPalette() {
+		return palette;
+	}
+	
+	/**
+	 * Returns the chunk at the specified position.
+	 * 
+	 * @param chunkX the x-coordinate of the chunk, in chunks
+	 * @param chunkY the y-coordinate of the chunk, in chunks
+	 * @return the chunk, or null if the chunk does not contain any tiles
+	 */
+	public TileChunk getChunk(int chunkX, int chunkY) {
+		return chunks[chunkY * chunksX + chunkX];
+	}
+	
+	/**
+	 * Returns the width, in chunks, of the {@code TileMap}.
+	 * 
+	 * @return the width, in chunks, of the {@code TileMap}
+	 */
+	public int getChunksX() {
+		return chunksX;
+	}
+	
+	/**
+	 * Returns the height, in chunks, of the {@code TileMap}.
+	 * 
+	 * @return the height, in chunks, of the {@code TileMap}
+	 */
+	public int getChunksY() {
+		return chunksY;
+	}
+	
+	/**
+	 * Returns the tiles used in the {@code TileMap} as individual {@link com.accele.gage.tile.Tile Tile} objects.
+	 * <p>
+	 * The map does not store {@code Tile} objects, so the first call creates one for every cell of the map, which takes a lot of memory for large maps.
+	 * The array is kept until a tile is changed with {@link #setTile(int, int, short) setTile()}. Empty tiles are null.
+	 * This method is only meant for code that still works with individual tiles; 
+	 * use {@link #getTile(int, int) getTile()} and {@link #getTileRegion(int, int) getTileRegion()} instead where possible.
+	 * </p>
 	 * 
 	 * @return the array of {@link com.accele.gage.tile.Tile Tile} instances used in the map
 	 */
 	public Tile[] getTiles() {
+		if (tiles == null) {
+			Tile[] result = new Tile[width * height];
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					TextureRegion region = getTileRegion(x, y);
+					if (region != null)
+						result[y * width + x] = new Tile(region.getTexture(), new Vector2f(getTileX(x), getTileY(y)), new Vector2f(tileWidth, tileHeight));
+				}
+			}
+			this.tiles = result;
+		}
 		return tiles;
 	}
 	
+	/**
+	 * Returns the width of an individual tile.
+	 * 
+	 * @return the width of an individual tile
+	 */
+	public float getTileWidth() {
+		return tileWidth;
+	}
+	
+	/**
+	 * Returns the height of an individual tile.
+	 * 
+	 * @return the height of an individual tile
+	 */
+	public float getTileHeight() {
+		return tileHeight;
+	}
+	
+	/**
+	 * Returns the x-coordinate, in tiles, at which the first column of the {@code TileMap} is drawn.
+	 * <p>
+	 * This is 0 for maps loaded from a file and the position of the region within the world for the regions of a
+	 * {@link com.accele.gage.tile.TileWorld TileWorld}.
+	 * </p>
+	 * 
+	 * @return the x-coordinate of the first column
+	 */
+	public int getOriginX() {
+		return originX;
+	}
+	
+	/**
+	 * Returns the y-coordinate, in tiles, at which the first row of the {@code TileMap} is drawn.
+	 * 
+	 * @return the y-coordinate of the first row
+	 */
+	public int getOriginY() {
+		return originY;
+	}
+	
 	/**
 	 * Returns the width, in tiles, of the {@code TileMap}.
 	 * 
@@ -134,5 +824,28 @@ public class TileMap implements Indexable, Tickable, Renderable, Cleanable {
 	public int getVisibleTilesY() {
 		return visibleTilesY;
 	}
-
+	
+	private static class ScheduledTick implements Comparable<ScheduledTick> {
+		
+		private final long time;
+		private final long order;
+		private final int x;
+		private final int y;
+		private final short id;
+		
+		private ScheduledTick(long time, long order, int x, int y, short id) {
+			this.time = time;
+			this.order = order;
+			this.x = x;
+			this.y = y;
+			this.id = id;
+		}
+		
+		@Override
+		public int compareTo(ScheduledTick other) {
+			return time != other.time ? Long.compare(time, other.time) : Long.compare(order, other.order);
+		}
+		
+	}
+	
 }
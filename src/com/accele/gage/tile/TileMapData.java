@@ -0,0 +1,651 @@
+package com.accele.gage.tile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.util.lz4.LZ4;
+
+import com.accele.gage.GAGEException;
+import com.accele.gage.Registry;
+import com.accele.gage.gfx.Texture;
+
+/**
+ * The contents of a tile map file before the texture registry IDs of its palette are resolved.
+ * <p>
+ * The tiles are stored as indices into a palette of texture registry IDs, with {@value com.accele.gage.tile.TileChunk#EMPTY} for empty tiles.
+ * The palette is ordered by the keys used in the text format, so a map converted into the binary format produces the same
+ * {@link com.accele.gage.tile.TileMap TileMap} as the text file it was converted from.
+ * </p>
+ * <p>
+ * The binary format consists of a header, the palette, and the tiles. All values are little-endian.
+ * </p>
+ * <table>
+ * <caption>Binary Tile Map Layout</caption>
+ * <tr>
+ * <th>Field</th>
+ * <th>Size</th>
+ * <th>Description</th>
+ * </tr>
+ * <tr>
+ * <td>magic</td>
+ * <td>4 bytes</td>
+ * <td>The ASCII characters {@code GTM1}</td>
+ * </tr>
+ * <tr>
+ * <td>flags</td>
+ * <td>4 bytes</td>
+ * <td>{@value #FLAG_LZ4} if the tiles are LZ4-compressed, plus {@value #FLAG_LAYERS} if the map has more than one layer or a parallax layer</td>
+ * </tr>
+ * <tr>
+ * <td>rowSize, rows</td>
+ * <td>4 bytes each</td>
+ * <td>The width and height of the map in tiles</td>
+ * </tr>
+ * <tr>
+ * <td>tileWidth, tileHeight</td>
+ * <td>4 bytes each</td>
+ * <td>The dimensions of an individual tile as floats</td>
+ * </tr>
+ * <tr>
+ * <td>visibleTilesX, visibleTilesY</td>
+ * <td>4 bytes each</td>
+ * <td>The number of tiles visible on the screen in each direction</td>
+ * </tr>
+ * <tr>
+ * <td>paletteSize</td>
+ * <td>4 bytes</td>
+ * <td>The number of palette entries</td>
+ * </tr>
+ * <tr>
+ * <td>palette</td>
+ * <td>variable</td>
+ * <td>For each entry, the length of the texture registry ID in bytes as an unsigned short, followed by the ID in UTF-8</td>
+ * </tr>
+ * <tr>
+ * <td>tiles</td>
+ * <td>variable</td>
+ * <td>{@code rowSize * rows} signed shorts, starting with the top row; if compressed, the size of the compressed block as an int followed by the block</td>
+ * </tr>
+ * </table>
+ * <p>
+ * If {@value #FLAG_LAYERS} is set, the tiles are replaced by the layers of the map:
+ * </p>
+ * <table>
+ * <caption>Binary Tile Map Layers</caption>
+ * <tr>
+ * <th>Field</th>
+ * <th>Size</th>
+ * <th>Description</th>
+ * </tr>
+ * <tr>
+ * <td>layerCount, primaryLayer</td>
+ * <td>4 bytes each</td>
+ * <td>The number of layers and the index of the primary layer</td>
+ * </tr>
+ * <tr>
+ * <td>layers</td>
+ * <td>variable</td>
+ * <td>For each layer in drawing order, the length of its name in bytes as an unsigned short, the name in UTF-8, the horizontal and vertical parallax factors as floats,
+ * and its tiles in the same form as the tiles of a single-layer map</td>
+ * </tr>
+ * </table>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER
+ * @see com.accele.gage.ResourceLoaders#BINARY_TILE_MAP_LOADER BINARY_TILE_MAP_LOADER
+ */
+public class TileMapData {
+	
+	/**
+	 * The flag that marks the tiles of a binary tile map as LZ4-compressed.
+	 */
+	public static final int FLAG_LZ4 = 1;
+	
+	/**
+	 * The flag that marks a binary tile map as storing a list of layers instead of a single layer of tiles.
+	 */
+	public static final int FLAG_LAYERS = 2;
+	
+	private static final byte[] MAGIC = { 'G', 'T', 'M', '1' };
+	private static final int HEADER_SIZE = 36;
+	
+	private String[] palette;
+	private String[] layerNames;
+	private short[][] layerTiles;
+	private float[] parallaxX;
+	private float[] parallaxY;
+	private int primaryLayer;
+	private int rowSize;
+	private float tileWidth;
+	private float tileHeight;
+	private int visibleTilesX;
+	private int visibleTilesY;
+	
+	/**
+	 * Constructs a {@code TileMapData} with the specified palette, tiles, row size, tile dimensions, and number of visible tiles.
+	 *
+	 * @param palette the texture registry IDs used by the map
+	 * @param tiles the palette indices of the tiles, starting with the top row
+	 * @param rowSize the number of tiles per row in the map
+	 * @param tileWidth the width of an individual tile
+	 * @param tileHeight the height of an individual tile
+	 * @param visibleTilesX the number of tiles visible on the screen at any one time in the x-direction
+	 * @param visibleTilesY the number of tiles visible on the screen at any one time in the y-direction
+	 */
+	public TileMapData(String[] palette, short[] tiles, int rowSize, float tileWidth, float tileHeight, int visibleTilesX, int visibleTilesY) {
+		this(palette, new String[] { TileMapMeta.Layer.PRIMARY }, new short[][] { tiles }, new float[] { 1 }, new float[] { 1 }, 0,
+				rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+	}
+	
+	/**
+	 * Constructs a {@code TileMapData} with the specified palette, layers, row size, tile dimensions, and number of visible tiles.
+	 *
+	 * @param palette the texture registry IDs used by the map
+	 * @param layerNames the names of the layers in the order they are drawn
+	 * @param layerTiles the palette indices of the tiles of each layer, starting with the top row
+	 * @param parallaxX the horizontal parallax factor of each layer
+	 * @param parallaxY the vertical parallax factor of each layer
+	 * @param primaryLayer the index of the primary layer
+	 * @param rowSize the number of tiles per row in the map
+	 * @param tileWidth the width of an individual tile
+	 * @param tileHeight the height of an individual tile
+	 * @param visibleTilesX the number of tiles visible on the screen at any one time in the x-direction
+	 * @param visibleTilesY the number of tiles visible on the screen at any one time in the y-direction
+	 */
+	public TileMapData(String[] palette, String[] layerNames, short[][] layerTiles, float[] parallaxX, float[] parallaxY, int primaryLayer,
+			int rowSize, float tileWidth, float tileHeight, int visibleTilesX, int visibleTilesY) {
+		this.palette = palette;
+		this.layerNames = layerNames;
+		this.layerTiles = layerTiles;
+		this.parallaxX = parallaxX;
+		this.parallaxY = parallaxY;
+		this.primaryLayer = primaryLayer;
+		this.rowSize = rowSize;
+		this.tileWidth = tileWidth;
+		this.tileHeight = tileHeight;
+		this.visibleTilesX = visibleTilesX;
+		this.visibleTilesY = visibleTilesY;
+	}
+	
+	/**
+	 * Parses a tile map in the text format described in {@link com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER}.
+	 *
+	 * @param lines the lines of the text file
+	 * @param source a description of where the lines came from, used in error messages
+	 * @return the parsed tile map
+	 * @throws GAGEException if a required attribute is missing, the layers differ in size, or the map uses more than {@value java.lang.Short#MAX_VALUE} textures
+	 */
+	public static TileMapData parse(List<String> lines, String source) throws GAGEException {
+		float tileWidth = -1;
+		float tileHeight = -1;
+		int rowSize = -1;
+		Map<String, int[]> layers = new LinkedHashMap<>();
+		Map<String, float[]> parallax = new HashMap<>();
+		Map<Integer, String> key = null;
+		int visibleTilesX = -1;
+		int visibleTilesY = -1;
+		
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			if (line.startsWith("#"))
+				continue;
+			
+			if (line.contains("=")) {
+				String[] parts = line.split("=");
+				
+				if (parts[0].trim().equalsIgnoreCase("visibleTilesX")) {
+					visibleTilesX = Integer.parseInt(parts[1].trim());
+				} else if (parts[0].trim().equalsIgnoreCase("visibleTilesY")) {
+					visibleTilesY = Integer.parseInt(parts[1].trim());
+				} else if (parts[0].trim().equalsIgnoreCase("tilewidth")) {
+					tileWidth = Float.parseFloat(parts[1].trim());
+				} else if (parts[0].trim().equalsIgnoreCase("tileheight")) {
+					tileHeight = Float.parseFloat(parts[1].trim());
+				} else if (parts[0].trim().equalsIgnoreCase("rowsize")) {
+					rowSize = Integer.parseInt(parts[1].trim());
+				} else if (parts[0].trim().equalsIgnoreCase("key")) {
+					List<String> subLines = new ArrayList<>();
+					
+					for (int j = i; j < lines.size(); j++) {
+						if (lines.get(j).contains("}")) {
+							subLines.add(lines.get(j));
+							key = parseKey(subLines);
+							i = j;
+							break;
+						} else if (!lines.get(j).startsWith("#"))
+							subLines.add(lines.get(j));
+					}
+				} else if (parts[0].trim().toLowerCase().startsWith("parallax ")) {
+					String[] factors = parts[1].split(",");
+					float x = Float.parseFloat(factors[0].trim());
+					parallax.put(parts[0].trim().substring(8).trim(), new float[] { x, factors.length > 1 ? Float.parseFloat(factors[1].trim()) : x });
+				} else if (parts[0].trim().equalsIgnoreCase("tiles") || parts[0].trim().toLowerCase().startsWith("layer ")) {
+					String name = parts[0].trim().equalsIgnoreCase("tiles") ? TileMapMeta.Layer.PRIMARY : parts[0].trim().substring(5).trim();
+					if (layers.containsKey(name))
+						throw new GAGEException("[" + source + "] TILE_MAP_LOADER_ERROR: Layer \"" + name + "\" is defined more than once.");
+					List<String> subLines = new ArrayList<>();
+					
+					for (int j = i; j < lines.size(); j++) {
+						if (lines.get(j).contains("]")) {
+							subLines.add(lines.get(j));
+							layers.put(name, parseTiles(subLines));
+							i = j;
+							break;
+						} else if (!lines.get(j).startsWith("#"))
+							subLines.add(lines.get(j));
+					}
+				}
+			}
+		}
+		
+		List<String> errors = new ArrayList<>();
+		if (tileWidth == -1)
+			errors.add("tileWidth");
+		if (tileHeight == -1)
+			errors.add("tileHeight");
+		if (rowSize == -1)
+			errors.add("rowSize");
+		if (key == null)
+			errors.add("key");
+		int[] tiles = layers.get(TileMapMeta.Layer.PRIMARY);
+		if (tiles == null)
+			errors.add("tiles");
+		
+		if (!errors.isEmpty()) {
+			throw new GAGEException("[" + source
+					+ "] TILE_MAP_LOADER_ERROR: The following attributes are required but were not present in the parsed file: "
+					+ errors);
+		}
+		
+		if (visibleTilesX == -1)
+			visibleTilesX = rowSize;
+		
+		if (visibleTilesY == -1)
+			visibleTilesY = tiles.length / rowSize;
+		
+		if (key.size() > Short.MAX_VALUE)
+			throw new GAGEException("[" + source + "] TILE_MAP_LOADER_ERROR: A tile map cannot use more than " + Short.MAX_VALUE + " distinct textures.");
+		
+		int[] keys = key.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+		String[] palette = new String[keys.length];
+		for (int i = 0; i < keys.length; i++)
+			palette[i] = key.get(keys[i]);
+		
+		for (String name : parallax.keySet()) {
+			if (!layers.containsKey(name))
+				throw new GAGEException("[" + source + "] TILE_MAP_LOADER_ERROR: Parallax is specified for the undefined layer \"" + name + "\".");
+		}
+		
+		String[] layerNames = layers.keySet().toArray(new String[0]);
+		short[][] layerTiles = new short[layerNames.length][];
+		float[] parallaxX = new float[layerNames.length];
+		float[] parallaxY = new float[layerNames.length];
+		int primaryLayer = 0;
+		for (int layer = 0; layer < layerNames.length; layer++) {
+			int[] values = layers.get(layerNames[layer]);
+			if (values.length != tiles.length)
+				throw new GAGEException("[" + source + "] TILE_MAP_LOADER_ERROR: Layer \"" + layerNames[layer] + "\" has " + values.length
+						+ " tiles, but the primary layer has " + tiles.length + ".");
+			if (layerNames[layer].equals(TileMapMeta.Layer.PRIMARY))
+				primaryLayer = layer;
+			
+			short[] indices = new short[values.length];
+			for (int i = 0; i < values.length; i++) {
+				int index = Arrays.binarySearch(keys, values[i]);
+				indices[i] = index >= 0 ? (short) index : TileChunk.EMPTY;
+			}
+			layerTiles[layer] = indices;
+			float[] factors = parallax.getOrDefault(layerNames[layer], new float[] { 1, 1 });
+			parallaxX[layer] = factors[0];
+			parallaxY[layer] = factors[1];
+		}
+		
+		return new TileMapData(palette, layerNames, layerTiles, parallaxX, parallaxY, primaryLayer, rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+	}
+	
+	private static Map<Integer, String> parseKey(List<String> lines) {
+		String str = String.join("\n", lines).split("\\{")[1].split("\\}")[0].trim();
+		
+		String[] pairs = str.contains(",") ? str.split(",") : new String[] { str };
+		
+		Map<Integer, String> result = new HashMap<>();
+		
+		for (int i = 0; i < pairs.length; i++) {
+			String[] parts = pairs[i].trim().split(":");
+			
+			int key = Integer.parseInt(parts[0].trim());
+			String value = parts[1].trim().replace("\"", "");
+			
+			result.put(key, value);
+		}
+		
+		return result;
+	}
+	
+	private static int[] parseTiles(List<String> lines) {
+		String str = String.join("\n", lines).split("\\[")[1].split("\\]")[0].trim();
+		
+		String[] tiles = str.contains(",") ? str.split(",") : new String[] { str };
+		
+		int[] result = new int[tiles.length];
+		
+		for (int i = 0; i < tiles.length; i++) {
+			int tile = Integer.parseInt(tiles[i].trim());
+			
+			result[i] = tile;
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Reads a tile map in the binary format.
+	 * <p>
+	 * The buffer is read from its current position without copying the palette or header, so it can be a
+	 * {@link java.nio.MappedByteBuffer MappedByteBuffer} of the whole file. LZ4-compressed tiles require a direct buffer.
+	 * </p>
+	 *
+	 * @param data the contents of the binary file
+	 * @return the tile map stored in the buffer
+	 * @throws GAGEException if the buffer does not contain a valid binary tile map
+	 */
+	public static TileMapData read(ByteBuffer data) throws GAGEException {
+		ByteBuffer b = data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			b.get(magic);
+			if (!Arrays.equals(magic, MAGIC))
+				throw new GAGEException("Not a binary tile map.");
+			
+			int flags = b.getInt();
+			int rowSize = b.getInt();
+			int rows = b.getInt();
+			float tileWidth = b.getFloat();
+			float tileHeight = b.getFloat();
+			int visibleTilesX = b.getInt();
+			int visibleTilesY = b.getInt();
+			int paletteSize = b.getInt();
+			if (rowSize <= 0 || rows < 0 || paletteSize < 0 || paletteSize > Short.MAX_VALUE)
+				throw new GAGEException("Invalid binary tile map header.");
+			
+			String[] palette = new String[paletteSize];
+			for (int i = 0; i < paletteSize; i++) {
+				byte[] id = new byte[b.getShort() & 0xffff];
+				b.get(id);
+				palette[i] = new String(id, StandardCharsets.UTF_8);
+			}
+			
+			int tileCount = Math.multiplyExact(rowSize, rows);
+			boolean compressed = (flags & FLAG_LZ4) != 0;
+			if ((flags & FLAG_LAYERS) == 0)
+				return new TileMapData(palette, readTiles(b, tileCount, compressed, paletteSize), rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+			
+			int layerCount = b.getInt();
+			int primaryLayer = b.getInt();
+			if (layerCount <= 0 || primaryLayer < 0 || primaryLayer >= layerCount)
+				throw new GAGEException("Invalid layer table.");
+			String[] layerNames = new String[layerCount];
+			short[][] layerTiles = new short[layerCount][];
+			float[] parallaxX = new float[layerCount];
+			float[] parallaxY = new float[layerCount];
+			for (int layer = 0; layer < layerCount; layer++) {
+				byte[] name = new byte[b.getShort() & 0xffff];
+				b.get(name);
+				layerNames[layer] = new String(name, StandardCharsets.UTF_8);
+				parallaxX[layer] = b.getFloat();
+				parallaxY[layer] = b.getFloat();
+				layerTiles[layer] = readTiles(b, tileCount, compressed, paletteSize);
+			}
+			
+			return new TileMapData(palette, layerNames, layerTiles, parallaxX, parallaxY, primaryLayer, rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+		} catch (RuntimeException e) {
+			throw new GAGEException(e);
+		}
+	}
+	
+	private static short[] readTiles(ByteBuffer b, int tileCount, boolean compressed, int paletteSize) throws GAGEException {
+		short[] tiles = new short[tileCount];
+		if (compressed) {
+			int compressedSize = b.getInt();
+			if (!b.isDirect() || compressedSize < 0 || compressedSize > b.remaining())
+				throw new GAGEException("Invalid compressed tile block.");
+			ByteBuffer block = b.slice();
+			block.limit(compressedSize);
+			ByteBuffer decompressed = MemoryUtil.memAlloc(tiles.length * Short.BYTES);
+			try {
+				if (LZ4.LZ4_decompress_safe(block, decompressed) != decompressed.capacity())
+					throw new GAGEException("Corrupt compressed tile block.");
+				decompressed.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(tiles);
+			} finally {
+				MemoryUtil.memFree(decompressed);
+			}
+			b.position(b.position() + compressedSize);
+		} else {
+			b.asShortBuffer().get(tiles);
+			b.position(b.position() + tiles.length * Short.BYTES);
+		}
+		
+		for (short tile : tiles) {
+			if (tile < TileChunk.EMPTY || tile >= paletteSize)
+				throw new GAGEException("Tile index " + tile + " is outside of the palette.");
+		}
+		return tiles;
+	}
+	
+	/**
+	 * Writes this tile map to the specified file in the binary format.
+	 *
+	 * @param output the file to write
+	 * @param compress whether to compress the tiles with LZ4
+	 * @throws IOException if the file could not be written
+	 */
+	public void write(Path output, boolean compress) throws IOException {
+		int paletteBytes = 0;
+		byte[][] ids = new byte[palette.length][];
+		for (int i = 0; i < palette.length; i++) {
+			ids[i] = palette[i].getBytes(StandardCharsets.UTF_8);
+			if (ids[i].length > 0xffff)
+				throw new IOException("Texture registry ID \"" + palette[i] + "\" is too long.");
+			paletteBytes += Short.BYTES + ids[i].length;
+		}
+		
+		boolean layered = layerNames.length > 1 || !layerNames[0].equals(TileMapMeta.Layer.PRIMARY) || parallaxX[0] != 1 || parallaxY[0] != 1;
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + paletteBytes + (layered ? 2 * Integer.BYTES : 0)).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(MAGIC).putInt((compress ? FLAG_LZ4 : 0) | (layered ? FLAG_LAYERS : 0));
+		header.putInt(rowSize).putInt(getTiles().length / rowSize);
+		header.putFloat(tileWidth).putFloat(tileHeight);
+		header.putInt(visibleTilesX).putInt(visibleTilesY);
+		header.putInt(palette.length);
+		for (byte[] id : ids)
+			header.putShort((short) id.length).put(id);
+		if (layered)
+			header.putInt(layerNames.length).putInt(primaryLayer);
+		header.flip();
+		
+		ByteBuffer raw = MemoryUtil.memAlloc(getTiles().length * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer compressed = compress ? MemoryUtil.memAlloc(Math.max(1, LZ4.LZ4_compressBound(raw.capacity()))) : null;
+		try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, header);
+			for (int layer = 0; layer < layerNames.length; layer++) {
+				if (layered) {
+					byte[] name = layerNames[layer].getBytes(StandardCharsets.UTF_8);
+					if (name.length > 0xffff)
+						throw new IOException("Layer name \"" + layerNames[layer] + "\" is too long.");
+					writeFully(channel, ByteBuffer.allocate(Short.BYTES + name.length + 2 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+							.putShort((short) name.length).put(name).putFloat(parallaxX[layer]).putFloat(parallaxY[layer]).flip());
+				}
+				raw.clear();
+				raw.asShortBuffer().put(layerTiles[layer]);
+				
+				if (compress) {
+					compressed.clear();
+					int compressedSize = LZ4.LZ4_compress_default(raw, compressed);
+					if (compressedSize <= 0 && raw.hasRemaining())
+						throw new IOException("Failed to compress tiles.");
+					compressed.limit(compressedSize);
+					writeFully(channel, ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(compressedSize).flip());
+					writeFully(channel, compressed);
+				} else
+					writeFully(channel, raw);
+			}
+		} finally {
+			MemoryUtil.memFree(raw);
+			if (compressed != null)
+				MemoryUtil.memFree(compressed);
+		}
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+	
+	/**
+	 * Resolves the palette of this tile map against the specified texture registry.
+	 *
+	 * @param textureRegistry the registry containing the textures of the palette
+	 * @return the metadata used to construct a {@link com.accele.gage.tile.TileMap TileMap}
+	 * @throws IllegalArgumentException if a texture of the palette is not registered
+	 */
+	public TileMapMeta resolve(Registry<Texture> textureRegistry) {
+		Map<Integer, Texture> textures = new HashMap<>();
+		for (int i = 0; i < palette.length; i++)
+			textures.put(i, textureRegistry.getEntry(palette[i]));
+		
+		TileMapMeta.Layer[] layers = new TileMapMeta.Layer[layerNames.length];
+		for (int layer = 0; layer < layers.length; layer++) {
+			int[] indices = new int[layerTiles[layer].length];
+			for (int i = 0; i < indices.length; i++)
+				indices[i] = layerTiles[layer][i];
+			layers[layer] = new TileMapMeta.Layer(layerNames[layer], indices, parallaxX[layer], parallaxY[layer]);
+		}
+		
+		return new TileMapMeta(textures, layers, primaryLayer, rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+	}
+	
+	/**
+	 * Returns the texture registry IDs used by the map. Tile values are indices into this array.
+	 *
+	 * @return the palette of the map
+	 */
+	public String[] getPalette() {
+		return palette;
+	}
+	
+	/**
+	 * Returns the palette indices of the tiles of the primary layer, starting with the top row.
+	 *
+	 * @return the tiles of the map
+	 */
+	public short[] getTiles() {
+		return layerTiles[primaryLayer];
+	}
+	
+	/**
+	 * Returns the names of the layers of the map in the order they are drawn.
+	 *
+	 * @return the names of the layers
+	 */
+	public String[] getLayerNames() {
+		return layerNames;
+	}
+	
+	/**
+	 * Returns the palette indices of the tiles of the specified layer, starting with the top row.
+	 *
+	 * @param layer the index of the layer
+	 * @return the tiles of the layer
+	 */
+	public short[] getLayerTiles(int layer) {
+		return layerTiles[layer];
+	}
+	
+	/**
+	 * Returns the horizontal parallax factor of the specified layer.
+	 *
+	 * @param layer the index of the layer
+	 * @return the horizontal parallax factor of the layer
+	 */
+	public float getParallaxX(int layer) {
+		return parallaxX[layer];
+	}
+	
+	/**
+	 * Returns the vertical parallax factor of the specified layer.
+	 *
+	 * @param layer the index of the layer
+	 * @return the vertical parallax factor of the layer
+	 */
+	public float getParallaxY(int layer) {
+		return parallaxY[layer];
+	}
+	
+	/**
+	 * Returns the index of the primary layer of the map.
+	 *
+	 * @return the index of the primary layer
+	 */
+	public int getPrimaryLayer() {
+		return primaryLayer;
+	}
+	
+	/**
+	 * Returns the number of tiles per row in the map.
+	 *
+	 * @return the number of tiles per row in the map
+	 */
+	public int getRowSize() {
+		return rowSize;
+	}
+	
+	/**
+	 * Returns the width of an individual tile.
+	 *
+	 * @return the width of an individual tile
+	 */
+	public float getTileWidth() {
+		return tileWidth;
+	}
+	
+	/**
+	 * Returns the height of an individual tile.
+	 *
+	 * @return the height of an individual tile
+	 */
+	public float getTileHeight() {
+		return tileHeight;
+	}
+	
+	/**
+	 * Returns the number of tiles visible on the screen at any one time in the x-direction.
+	 *
+	 * @return the number of visible tiles in the x-direction
+	 */
+	public int getVisibleTilesX() {
+		return visibleTilesX;
+	}
+	
+	/**
+	 * Returns the number of tiles visible on the screen at any one time in the y-direction.
+	 *
+	 * @return the number of visible tiles in the y-direction
+	 */
+	public int getVisibleTilesY() {
+		return visibleTilesY;
+	}
+	
+}
@@ -7,6 +7,10 @@ import com.accele.gage.gfx.Texture;
 /**
  * A wrapper class for specifying information about a {@link com.accele.gage.tile.TileMap TileMap}.
  * 
+ * A map can consist of several {@link com.accele.gage.tile.TileMapMeta.Layer Layer}{@code s} of tiles that share the same texture key and dimensions.
+ * The {@link #getPrimaryLayer() primary layer} is the one loaded by a plain {@code TileMap}; all layers are loaded by a
+ * {@link com.accele.gage.tile.LayeredTileMap LayeredTileMap}.
+ * 
  * GAGE comes with a built-in external tile map reader to easily parse large or complicated tile maps.
  * Refer to {@link com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER} for more details.
  * 
@@ -18,7 +22,8 @@ import com.accele.gage.gfx.Texture;
 public class TileMapMeta {
 
 	private Map<Integer, Texture> textures;
-	private int[] tiles;
+	private Layer[] layers;
+	private int primaryLayer;
 	private int rowSize;
 	private float tileWidth;
 	private float tileHeight;
@@ -37,8 +42,25 @@ public class TileMapMeta {
 	 * @param visibleTilesY the number of tiles visible on the screen at any one time in the y-direction
 	 */
 	public TileMapMeta(Map<Integer, Texture> textures, int[] tiles, int rowSize, float tileWidth, float tileHeight, int visibleTilesX, int visibleTilesY) {
+		this(textures, new Layer[] { new Layer(Layer.PRIMARY, tiles, 1, 1) }, 0, rowSize, tileWidth, tileHeight, visibleTilesX, visibleTilesY);
+	}
+	
+	/**
+	 * Constructs a {@code TileMapMeta} with the specified texture map, layers, row size, tile dimensions, and number of visible tiles.
+	 * 
+	 * @param textures the mapping between tile indices and {@link com.accele.gage.gfx.Texture Texture} instances
+	 * @param layers the layers of the map in the order they are drawn
+	 * @param primaryLayer the index of the primary layer in {@code layers}
+	 * @param rowSize the number of tiles per row in the map
+	 * @param tileWidth the width of an individual tile
+	 * @param tileHeight the height of an individual tile
+	 * @param visibleTilesX the number of tiles visible on the screen at any one time in the x-direction
+	 * @param visibleTilesY the number of tiles visible on the screen at any one time in the y-direction
+	 */
+	public TileMapMeta(Map<Integer, Texture> textures, Layer[] layers, int primaryLayer, int rowSize, float tileWidth, float tileHeight, int visibleTilesX, int visibleTilesY) {
 		this.textures = textures;
-		this.tiles = tiles;
+		this.layers = layers;
+		this.primaryLayer = primaryLayer;
 		this.rowSize = rowSize;
 		this.tileWidth = tileWidth;
 		this.tileHeight = tileHeight;
@@ -56,12 +78,30 @@ public class TileMapMeta {
 	}
 
 	/**
-	 * Returns the tile layout of the map.
+	 * Returns the tile layout of the primary layer of the map.
 	 * 
 	 * @return the tile layout of the map
 	 */
 	public int[] getTiles() {
-		return tiles;
+		return layers[primaryLayer].tiles;
+	}
+	
+	/**
+	 * Returns the layers of the map in the order they are drawn.
+	 * 
+	 * @return the layers of the map
+	 */
+	public Layer[] getLayers() {
+		return layers;
+	}
+	
+	/**
+	 * Returns the index of the primary layer of the map, which is the layer loaded by a plain {@link com.accele.gage.tile.TileMap TileMap}.
+	 * 
+	 * @return the index of the primary layer in {@link #getLayers()}
+	 */
+	public int getPrimaryLayer() {
+		return primaryLayer;
 	}
 
 	/**
@@ -109,4 +149,76 @@ public class TileMapMeta {
 		return visibleTilesY;
 	}
 	
+	/**
+	 * A single layer of tiles within a tile map.
+	 * 
+	 * @author William Garland
+	 * @version 1.0.0
+	 * @since 1.0.0
+	 */
+	public static class Layer {
+		
+		/**
+		 * The name of the primary layer, which holds the {@code tiles} of the text format.
+		 */
+		public static final String PRIMARY = "tiles";
+		
+		private String name;
+		private int[] tiles;
+		private float parallaxX;
+		private float parallaxY;
+		
+		/**
+		 * Constructs a {@code Layer} with the specified name, tiles, and parallax factors.
+		 * 
+		 * @param name the name of the layer
+		 * @param tiles the tile layout of the layer
+		 * @param parallaxX how far the layer moves horizontally relative to the camera, where 1 moves with the rest of the scene and 0 stays fixed on the screen
+		 * @param parallaxY how far the layer moves vertically relative to the camera, where 1 moves with the rest of the scene and 0 stays fixed on the screen
+		 */
+		public Layer(String name, int[] tiles, float parallaxX, float parallaxY) {
+			this.name = name;
+			this.tiles = tiles;
+			this.parallaxX = parallaxX;
+			this.parallaxY = parallaxY;
+		}
+		
+		/**
+		 * Returns the name of the layer.
+		 * 
+		 * @return the name of the layer
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * Returns the tile layout of the layer.
+		 * 
+		 * @return the tile layout of the layer
+		 */
+		public int[] getTiles() {
+			return tiles;
+		}
+		
+		/**
+		 * Returns the horizontal parallax factor of the layer.
+		 * 
+		 * @return the horizontal parallax factor
+		 */
+		public float getParallaxX() {
+			return parallaxX;
+		}
+		
+		/**
+		 * Returns the vertical parallax factor of the layer.
+		 * 
+		 * @return the vertical parallax factor
+		 */
+		public float getParallaxY() {
+			return parallaxY;
+		}
+		
+	}
+	
 }
@@ -0,0 +1,396 @@
+package com.accele.gage.tile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.lwjgl.system.MemoryUtil;
+import org.lwjgl.util.lz4.LZ4;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGEException;
+
+/**
+ * A tile world stored as a grid of square regions that can be read individually.
+ * <p>
+ * The file starts with a header and palette like those of a binary tile map (see {@link com.accele.gage.tile.TileMapData TileMapData}),
+ * with the magic {@code GTW1}, the width and height of the world in tiles, and the size of a region in tiles. The palette is followed by
+ * an index with one entry for every region, in rows starting with the top row, which holds the offset of the region in the file as a long
+ * and its size in bytes as an int. An offset of 0 marks a region without any tiles. Each region holds
+ * {@code regionSize * regionSize} little-endian palette indices, LZ4-compressed if the file is flagged as compressed.
+ * </p>
+ * <p>
+ * Only the header, palette, and index are read when the file is opened. The file is kept open until it is {@link #clean() cleaned}, and
+ * {@link #readRegion(int, int) readRegion()} reads just the bytes of the requested region, so the size of the file is not limited by the
+ * size of the heap or of a single buffer. Regions may be read from any thread. A {@link com.accele.gage.tile.TileWorld TileWorld} does not
+ * clean the region file it streams.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.tile.TileWorld TileWorld
+ */
+public class TileRegionFile implements Cleanable {
+	
+	private static final byte[] MAGIC = { 'G', 'T', 'W', '1' };
+	private static final int HEADER_SIZE = 40;
+	private static final int INDEX_ENTRY_SIZE = 12;
+	
+	private FileChannel channel;
+	private boolean compressed;
+	private int width;
+	private int height;
+	private int regionSize;
+	private int regionsX;
+	private int regionsY;
+	private float tileWidth;
+	private float tileHeight;
+	private int visibleTilesX;
+	private int visibleTilesY;
+	private String[] palette;
+	private long[] offsets;
+	private int[] sizes;
+	
+	private TileRegionFile() {}
+	
+	/**
+	 * Opens the specified region file and reads its header, palette, and index.
+	 *
+	 * @param path the region file to open
+	 * @return the opened region file
+	 * @throws GAGEException if the file could not be read or is not a valid region file
+	 */
+	public static TileRegionFile open(Path path) throws GAGEException {
+		TileRegionFile file = new TileRegionFile();
+		try {
+			file.channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (IOException e) {
+			throw new GAGEException(e);
+		}
+		
+		try {
+			file.readHeader(path);
+		} catch (GAGEException e) {
+			file.clean();
+			throw e;
+		} catch (IOException | RuntimeException e) {
+			file.clean();
+			throw new GAGEException(e);
+		}
+		return file;
+	}
+	
+	/**
+	 * Reads the tiles of the specified region.
+	 * <p>
+	 * The returned array holds {@code regionSize * regionSize} palette indices in rows, starting with the top row.
+	 * Tiles of regions at the right or bottom edge that lie outside of the world are {@value com.accele.gage.tile.TileChunk#EMPTY}.
+	 * </p>
+	 *
+	 * @param regionX the x-coordinate of the region, in regions
+	 * @param regionY the y-coordinate of the region, in regions
+	 * @return the tiles of the region, or null if the region does not contain any tiles
+	 * @throws GAGEException if the region is corrupt
+	 */
+	public short[] readRegion(int regionX, int regionY) throws GAGEException {
+		int index = regionY * regionsX + regionX;
+		if (offsets[index] == 0)
+			return null;
+		
+		short[] tiles = new short[regionSize * regionSize];
+		int rawSize = tiles.length * Short.BYTES;
+		if (compressed ? sizes[index] > LZ4.LZ4_compressBound(rawSize) : sizes[index] != rawSize)
+			throw new GAGEException("Corrupt tile region " + regionX + ", " + regionY + ".");
+		
+		ByteBuffer region = MemoryUtil.memAlloc(sizes[index]);
+		ByteBuffer decompressed = compressed ? MemoryUtil.memAlloc(rawSize) : region;
+		try {
+			readFully(region, offsets[index]);
+			region.flip();
+			if (compressed && LZ4.LZ4_decompress_safe(region, decompressed) != rawSize)
+				throw new GAGEException("Corrupt tile region " + regionX + ", " + regionY + ".");
+			decompressed.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(tiles);
+		} catch (IOException e) {
+			throw new GAGEException(e);
+		} finally {
+			MemoryUtil.memFree(region);
+			if (compressed)
+				MemoryUtil.memFree(decompressed);
+		}
+		
+		for (short tile : tiles) {
+			if (tile < TileChunk.EMPTY || tile >= palette.length)
+				throw new GAGEException("Tile index " + tile + " in region " + regionX + ", " + regionY + " is outside of the palette.");
+		}
+		return tiles;
+	}
+	
+	/**
+	 * Writes the specified tile map to a region file. Only the primary layer of the map is written; any other layers and the parallax factors are not stored.
+	 *
+	 * @param output the file to write
+	 * @param map the tile map to split into regions
+	 * @param regionSize the width and height of a region in tiles
+	 * @param compress whether to compress the regions with LZ4
+	 * @throws IOException if the file could not be written
+	 * @throws IllegalArgumentException if {@code regionSize} is not positive
+	 */
+	public static void write(Path output, TileMapData map, int regionSize, boolean compress) throws IOException {
+		if (regionSize <= 0)
+			throw new IllegalArgumentException("Region size must be positive.");
+		
+		String[] palette = map.getPalette();
+		short[] tiles = map.getTiles();
+		int width = map.getRowSize();
+		int height = tiles.length / width;
+		int regionsX = (width + regionSize - 1) / regionSize;
+		int regionsY = (height + regionSize - 1) / regionSize;
+		
+		int paletteBytes = 0;
+		byte[][] ids = new byte[palette.length][];
+		for (int i = 0; i < palette.length; i++) {
+			ids[i] = palette[i].getBytes(StandardCharsets.UTF_8);
+			if (ids[i].length > 0xffff)
+				throw new IOException("Texture registry ID \"" + palette[i] + "\" is too long.");
+			paletteBytes += Short.BYTES + ids[i].length;
+		}
+		
+		int indexOffset = HEADER_SIZE + paletteBytes;
+		ByteBuffer header = ByteBuffer.allocate(indexOffset + regionsX * regionsY * INDEX_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(MAGIC).putInt(compress ? TileMapData.FLAG_LZ4 : 0);
+		header.putInt(width).putInt(height).putInt(regionSize);
+		header.putFloat(map.getTileWidth()).putFloat(map.getTileHeight());
+		header.putInt(map.getVisibleTilesX()).putInt(map.getVisibleTilesY());
+		header.putInt(palette.length);
+		for (byte[] id : ids)
+			header.putShort((short) id.length).put(id);
+		
+		ByteBuffer raw = MemoryUtil.memAlloc(regionSize * regionSize * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer compressed = compress ? MemoryUtil.memAlloc(LZ4.LZ4_compressBound(raw.capacity())) : null;
+		short[] region = new short[regionSize * regionSize];
+		try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long offset = header.capacity();
+			channel.position(offset);
+			for (int regionY = 0; regionY < regionsY; regionY++) {
+				for (int regionX = 0; regionX < regionsX; regionX++) {
+					Arrays.fill(region, TileChunk.EMPTY);
+					boolean empty = true;
+					for (int y = 0; y < regionSize && regionY * regionSize + y < height; y++) {
+						for (int x = 0; x < regionSize && regionX * regionSize + x < width; x++) {
+							short tile = tiles[(regionY * regionSize + y) * width + regionX * regionSize + x];
+							region[y * regionSize + x] = tile;
+							empty &= tile == TileChunk.EMPTY;
+						}
+					}
+					
+					if (empty) {
+						header.putLong(0).putInt(0);
+						continue;
+					}
+					
+					raw.clear();
+					raw.asShortBuffer().put(region);
+					ByteBuffer block = raw;
+					if (compress) {
+						compressed.clear();
+						int size = LZ4.LZ4_compress_default(raw, compressed);
+						if (size <= 0)
+							throw new IOException("Failed to compress region " + regionX + ", " + regionY + ".");
+						compressed.limit(size);
+						block = compressed;
+					}
+					
+					header.putLong(offset).putInt(block.remaining());
+					offset += block.remaining();
+					while (block.hasRemaining())
+						channel.write(block);
+				}
+			}
+			
+			header.flip();
+			channel.position(0);
+			while (header.hasRemaining())
+				channel.write(header);
+		} finally {
+			MemoryUtil.memFree(raw);
+			if (compressed != null)
+				MemoryUtil.memFree(compressed);
+		}
+	}
+	
+	/**
+	 * Returns whether the specified region contains any tiles.
+	 *
+	 * @param regionX the x-coordinate of the region, in regions
+	 * @param regionY the y-coordinate of the region, in regions
+	 * @return whether the region contains any tiles
+	 */
+	public boolean hasRegion(int regionX, int regionY) {
+		return offsets[regionY * regionsX + regionX] != 0;
+	}
+	
+	/**
+	 * Returns the texture registry IDs used by the world. Tile values are indices into this array.
+	 *
+	 * @return the palette of the world
+	 */
+	public String[] getPalette() {
+		return palette;
+	}
+	
+	/**
+	 * Returns the width of the world in tiles.
+	 *
+	 * @return the width of the world in tiles
+	 */
+	public int getWidth() {
+		return width;
+	}
+	
+	/**
+	 * Returns the height of the world in tiles.
+	 *
+	 * @return the height of the world in tiles
+	 */
+	public int getHeight() {
+		return height;
+	}
+	
+	/**
+	 * Returns the width and height of a region in tiles.
+	 *
+	 * @return the size of a region in tiles
+	 */
+	public int getRegionSize() {
+		return regionSize;
+	}
+	
+	/**
+	 * Returns the width of the world in regions.
+	 *
+	 * @return the number of regions per row
+	 */
+	public int getRegionsX() {
+		return regionsX;
+	}
+	
+	/**
+	 * Returns the height of the world in regions.
+	 *
+	 * @return the number of rows of regions
+	 */
+	public int getRegionsY() {
+		return regionsY;
+	}
+	
+	/**
+	 * Returns the width of an individual tile.
+	 *
+	 * @return the width of an individual tile
+	 */
+	public float getTileWidth() {
+		return tileWidth;
+	}
+	
+	/**
+	 * Returns the height of an individual tile.
+	 *
+	 * @return the height of an individual tile
+	 */
+	public float getTileHeight() {
+		return tileHeight;
+	}
+	
+	/**
+	 * Returns the number of tiles visible on the screen at any one time in the x-direction.
+	 *
+	 * @return the number of visible tiles in the x-direction
+	 */
+	public int getVisibleTilesX() {
+		return visibleTilesX;
+	}
+	
+	/**
+	 * Returns the number of tiles visible on the screen at any one time in the y-direction.
+	 *
+	 * @return the number of visible tiles in the y-direction
+	 */
+	public int getVisibleTilesY() {
+		return visibleTilesY;
+	}
+	
+	@Override
+	public void clean() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// The file was only read, so nothing is lost if closing it fails.
+		}
+	}
+	
+	private void readHeader(Path path) throws GAGEException, IOException {
+		ByteBuffer b = read(0, HEADER_SIZE);
+		byte[] magic = new byte[MAGIC.length];
+		b.get(magic);
+		if (!Arrays.equals(magic, MAGIC))
+			throw new GAGEException("[" + path + "] Not a tile region file.");
+		
+		this.compressed = (b.getInt() & TileMapData.FLAG_LZ4) != 0;
+		this.width = b.getInt();
+		this.height = b.getInt();
+		this.regionSize = b.getInt();
+		this.tileWidth = b.getFloat();
+		this.tileHeight = b.getFloat();
+		this.visibleTilesX = b.getInt();
+		this.visibleTilesY = b.getInt();
+		int paletteSize = b.getInt();
+		if (width <= 0 || height <= 0 || regionSize <= 0 || regionSize > Short.MAX_VALUE || paletteSize < 0 || paletteSize > Short.MAX_VALUE)
+			throw new GAGEException("[" + path + "] Invalid tile region file header.");
+		
+		long position = HEADER_SIZE;
+		this.palette = new String[paletteSize];
+		for (int i = 0; i < paletteSize; i++) {
+			int length = read(position, Short.BYTES).getShort() & 0xffff;
+			byte[] id = new byte[length];
+			read(position + Short.BYTES, length).get(id);
+			palette[i] = new String(id, StandardCharsets.UTF_8);
+			position += Short.BYTES + length;
+		}
+		
+		this.regionsX = (width + regionSize - 1) / regionSize;
+		this.regionsY = (height + regionSize - 1) / regionSize;
+		this.offsets = new long[Math.multiplyExact(regionsX, regionsY)];
+		this.sizes = new int[offsets.length];
+		ByteBuffer index = read(position, Math.multiplyExact(offsets.length, INDEX_ENTRY_SIZE));
+		long fileSize = channel.size();
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = index.getLong();
+			sizes[i] = index.getInt();
+			if (offsets[i] < 0 || sizes[i] < 0 || offsets[i] + sizes[i] > fileSize)
+				throw new GAGEException("[" + path + "] Region " + i + " lies outside of the file.");
+		}
+	}
+	
+	private ByteBuffer read(long position, int size) throws GAGEException, IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		readFully(buffer, position);
+		buffer.flip();
+		return buffer.order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	private void readFully(ByteBuffer buffer, long position) throws GAGEException, IOException {
+		while (buffer.hasRemaining()) {
+			int read = channel.read(buffer, position);
+			if (read < 0)
+				throw new GAGEException("Unexpected end of tile region file.");
+			position += read;
+		}
+	}
+	
+}
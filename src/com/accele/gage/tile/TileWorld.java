@@ -0,0 +1,707 @@
+package com.accele.gage.tile;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+import com.accele.gage.Cleanable;
+import com.accele.gage.GAGE;
+import com.accele.gage.GAGEException;
+import com.accele.gage.Indexable;
+import com.accele.gage.Registry;
+import com.accele.gage.Renderable;
+import com.accele.gage.Tickable;
+import com.accele.gage.callbacks.TileRegionCallback;
+import com.accele.gage.gfx.Graphics;
+import com.accele.gage.gfx.Texture;
+import com.accele.gage.gfx.TextureRegion;
+
+/**
+ * A tile map that is too large to be kept in memory as a whole and is instead streamed from a {@link com.accele.gage.tile.TileRegionFile TileRegionFile}.
+ * <p>
+ * The world is divided into square regions. Every tick, the world loads the regions within {@link #getLoadRadius() the load radius} of each
+ * {@link com.accele.gage.tile.TileWorld.Focus Focus}, such as the camera or the player, as well as the regions around the position each focus
+ * is predicted to reach within {@link #getPrefetchTime() the prefetch time} based on how fast it has been moving. Regions close to a focus are loaded first.
+ * </p>
+ * <p>
+ * Regions are read and decoded on a worker thread and handed to the game loop at the start of the next tick, so loading never blocks the game loop.
+ * Each resident region is a {@link com.accele.gage.tile.TileMap TileMap} positioned at the origin of the region, which is drawn by {@link #render(Graphics, double) render()}
+ * and can be queried through {@link #getTile(int, int) getTile()}. The number of regions that are resident or being loaded never exceeds
+ * {@link #getMaxResidentRegions() the resident region limit}; once it is reached, the regions that have gone the longest without being near a focus are unloaded
+ * to make room for new ones. A resident region uses about 2 bytes per tile on the heap, and another 64 bytes per non-empty tile for its instance batches once it has been drawn.
+ * </p>
+ * <p>
+ * Region load and unload callbacks can be used to hand regions to other systems, such as collision, as they become available.
+ * The world itself is a {@link com.accele.gage.tile.TileGrid TileGrid}, so entities can also collide with it directly through
+ * {@link com.accele.gage.tile.TileCollision TileCollision}; tiles in regions that are still being streamed in are treated as solid.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ * @see com.accele.gage.tile.TileRegionFile TileRegionFile
+ */
+public class TileWorld implements Indexable, Tickable, Renderable, Cleanable, TileGrid {
+	
+	private static final int DEFAULT_LOAD_RADIUS = 1;
+	private static final float DEFAULT_PREFETCH_TIME = 30;
+	private static final float VELOCITY_SMOOTHING = 0.25f;
+	
+	private String registryId;
+	private TileRegionFile file;
+	private TextureRegion[] palette;
+	private boolean[] solid;
+	private TileBehavior[] behaviors;
+	private ExecutorService executor;
+	private int maxResidentRegions;
+	private int loadRadius;
+	private float prefetchTime;
+	private Map<Long, TileMap> residentRegions;
+	private Map<Long, Long> loadingRegions;
+	private Set<Long> failedRegions;
+	private Map<Long, Long> lastWanted;
+	private Queue<LoadedRegion> loadedRegions;
+	private List<Focus> focuses;
+	private Map<Long, Integer> wanted;
+	private List<Long> wantedOrder;
+	private List<TileRegionCallback> loadCallbacks;
+	private List<TileRegionCallback> unloadCallbacks;
+	private long tickCount;
+	private TileMap lastQueried;
+	private long loadCount;
+	
+	/**
+	 * Constructs a {@code TileWorld} that streams the specified region file using the texture registry and worker pool of GAGE.
+	 *
+	 * @param registryId the registry ID of the world
+	 * @param file the region file containing the world
+	 * @param maxResidentRegions the maximum number of regions that are resident or being loaded at any one time
+	 * @throws IllegalArgumentException if {@code maxResidentRegions} is not positive or a texture of the palette is not registered
+	 */
+	public TileWorld(String registryId, TileRegionFile file, int maxResidentRegions) {
+		this(registryId, file, maxResidentRegions, GAGE.getInstance().getTextureRegistry(), GAGE.getInstance().getWorkerPool());
+	}
+	
+	/**
+	 * Constructs a {@code TileWorld} that streams the specified region file.
+	 *
+	 * @param registryId the registry ID of the world
+	 * @param file the region file containing the world
+	 * @param maxResidentRegions the maximum number of regions that are resident or being loaded at any one time
+	 * @param textureRegistry the registry containing the textures of the palette
+	 * @param executor the executor on which regions are loaded
+	 * @throws IllegalArgumentException if {@code maxResidentRegions} is not positive or a texture of the palette is not registered
+	 */
+	public TileWorld(String registryId, TileRegionFile file, int maxResidentRegions, Registry<Texture> textureRegistry, ExecutorService executor) {
+		if (maxResidentRegions <= 0)
+			throw new IllegalArgumentException("The resident region limit must be positive.");
+		this.registryId = registryId;
+		this.file = file;
+		this.executor = executor;
+		this.maxResidentRegions = maxResidentRegions;
+		this.loadRadius = DEFAULT_LOAD_RADIUS;
+		this.prefetchTime = DEFAULT_PREFETCH_TIME;
+		this.residentRegions = new HashMap<>();
+		this.loadingRegions = new HashMap<>();
+		this.failedRegions = new HashSet<>();
+		this.lastWanted = new HashMap<>();
+		this.loadedRegions = new ConcurrentLinkedQueue<>();
+		this.focuses = new ArrayList<>();
+		this.wanted = new HashMap<>();
+		this.wantedOrder = new ArrayList<>();
+		this.loadCallbacks = new ArrayList<>();
+		this.unloadCallbacks = new ArrayList<>();
+		
+		String[] ids = file.getPalette();
+		this.palette = new TextureRegion[ids.length];
+		for (int i = 0; i < ids.length; i++)
+			palette[i] = textureRegistry.getEntry(ids[i]).getRegion();
+		this.solid = new boolean[ids.length];
+		this.behaviors = new TileBehavior[ids.length];
+	}
+	
+	@Override
+	public void tick() {
+		tickCount++;
+		
+		LoadedRegion loaded;
+		while ((loaded = loadedRegions.poll()) != null)
+			install(loaded);
+		
+		wanted.clear();
+		for (Focus focus : focuses) {
+			focus.update();
+			int focusRegionX = Math.floorDiv((int) Math.floor(focus.x), file.getRegionSize());
+			int focusRegionY = Math.floorDiv((int) Math.floor(focus.y), file.getRegionSize());
+			addWantedRegions(focus.x, focus.y, focusRegionX, focusRegionY);
+			addWantedRegions(focus.x + focus.velocityX * prefetchTime, focus.y + focus.velocityY * prefetchTime, focusRegionX, focusRegionY);
+		}
+		
+		wantedOrder.clear();
+		wantedOrder.addAll(wanted.keySet());
+		wantedOrder.sort(Comparator.comparingInt(wanted::get));
+		
+		for (long key : wantedOrder)
+			lastWanted.put(key, tickCount);
+		trimToLimit();
+		
+		for (long key : wantedOrder) {
+			if (residentRegions.containsKey(key) || loadingRegions.containsKey(key) || failedRegions.contains(key))
+				continue;
+			if (!file.hasRegion(getRegionX(key), getRegionY(key)))
+				continue;
+			
+			if (residentRegions.size() + loadingRegions.size() >= maxResidentRegions && !evictUnwanted())
+				break;
+			load(key);
+		}
+		
+		for (TileMap region : residentRegions.values())
+			region.tick();
+	}
+	
+	private void addWantedRegions(float x, float y, int focusRegionX, int focusRegionY) {
+		int centerX = Math.floorDiv((int) Math.floor(x), file.getRegionSize());
+		int centerY = Math.floorDiv((int) Math.floor(y), file.getRegionSize());
+		int minX = Math.max(0, centerX - loadRadius);
+		int minY = Math.max(0, centerY - loadRadius);
+		int maxX = Math.min(file.getRegionsX() - 1, centerX + loadRadius);
+		int maxY = Math.min(file.getRegionsY() - 1, centerY + loadRadius);
+		
+		for (int regionY = minY; regionY <= maxY; regionY++) {
+			for (int regionX = minX; regionX <= maxX; regionX++) {
+				int distance = Math.max(Math.abs(regionX - focusRegionX), Math.abs(regionY - focusRegionY));
+				wanted.merge(getKey(regionX, regionY), distance, Math::min);
+			}
+		}
+	}
+	
+	/**
+	 * Brings the number of resident and loading regions down to the limit after it has been lowered, first by unloading regions no focus wants
+	 * and then by dropping or unloading the regions farthest from a focus. Loads in flight are dropped rather than waited for.
+	 */
+	private void trimToLimit() {
+		while (residentRegions.size() + loadingRegions.size() > maxResidentRegions) {
+			if (evictUnwanted())
+				continue;
+			long loadingKey = findFarthest(loadingRegions.keySet());
+			long residentKey = findFarthest(residentRegions.keySet());
+			if (!loadingRegions.isEmpty() && (residentRegions.isEmpty() || getDistance(loadingKey) >= getDistance(residentKey)))
+				loadingRegions.remove(loadingKey);
+			else
+				unload(residentKey);
+		}
+	}
+	
+	private long findFarthest(Set<Long> keys) {
+		long farthestKey = 0;
+		int farthestDistance = -1;
+		for (long key : keys) {
+			int distance = getDistance(key);
+			if (distance > farthestDistance) {
+				farthestKey = key;
+				farthestDistance = distance;
+			}
+		}
+		return farthestKey;
+	}
+	
+	private int getDistance(long key) {
+		return wanted.getOrDefault(key, Integer.MAX_VALUE);
+	}
+	
+	private boolean evictUnwanted() {
+		long oldestKey = 0;
+		long oldestTick = Long.MAX_VALUE;
+		for (long key : residentRegions.keySet()) {
+			if (wanted.containsKey(key))
+				continue;
+			long tick = lastWanted.getOrDefault(key, 0L);
+			if (tick < oldestTick) {
+				oldestKey = key;
+				oldestTick = tick;
+			}
+		}
+		if (oldestTick == Long.MAX_VALUE)
+			return false;
+		unload(oldestKey);
+		return true;
+	}
+	
+	private void load(long key) {
+		int regionX = getRegionX(key);
+		int regionY = getRegionY(key);
+		long ticket = ++loadCount;
+		loadingRegions.put(key, ticket);
+		executor.execute(() -> {
+			TileMap region = null;
+			try {
+				region = createRegion(regionX, regionY, file.readRegion(regionX, regionY));
+			} catch (GAGEException | RuntimeException e) {
+				e.printStackTrace();
+			}
+			loadedRegions.add(new LoadedRegion(key, ticket, region));
+		});
+	}
+	
+	private TileMap createRegion(int regionX, int regionY, short[] tiles) {
+		int size = file.getRegionSize();
+		int originX = regionX * size;
+		int originY = regionY * size;
+		return new TileMap(registryId + "." + regionX + "." + regionY, palette, solid, behaviors, tiles, size,
+				Math.min(size, file.getWidth() - originX), Math.min(size, file.getHeight() - originY), originX, originY,
+				file.getTileWidth(), file.getTileHeight(), file.getVisibleTilesX(), file.getVisibleTilesY());
+	}
+	
+	private void install(LoadedRegion loaded) {
+		// Loads that were dropped to stay within the limit, or that were started before the world was cleaned, are discarded.
+		Long ticket = loadingRegions.get(loaded.key);
+		if (ticket == null || ticket != loaded.ticket) {
+			if (loaded.region != null)
+				loaded.region.clean();
+			return;
+		}
+		loadingRegions.remove(loaded.key);
+		if (loaded.region == null) {
+			failedRegions.add(loaded.key);
+			return;
+		}
+		// The region was built on a worker thread from the shared behaviors, which may have changed since.
+		loaded.region.rescanActive();
+		residentRegions.put(loaded.key, loaded.region);
+		loadCallbacks.forEach(c -> c.call(this, loaded.region));
+	}
+	
+	private void unload(long key) {
+		TileMap region = residentRegions.remove(key);
+		lastWanted.remove(key);
+		if (region == lastQueried)
+			this.lastQueried = null;
+		region.clean();
+		unloadCallbacks.forEach(c -> c.call(this, region));
+	}
+	
+	@Override
+	public void render(Graphics g, double interpolation) {
+		for (TileMap region : residentRegions.values())
+			region.render(g, interpolation);
+	}
+	
+	@Override
+	public void clean() {
+		for (TileMap region : residentRegions.values())
+			region.clean();
+		residentRegions.clear();
+		loadingRegions.clear();
+		lastWanted.clear();
+		LoadedRegion loaded;
+		while ((loaded = loadedRegions.poll()) != null) {
+			if (loaded.region != null)
+				loaded.region.clean();
+		}
+		this.lastQueried = null;
+	}
+	
+	@Override
+	public String getRegistryId() {
+		return registryId;
+	}
+	
+	/**
+	 * Adds a point around which regions are loaded.
+	 *
+	 * @param x the x-coordinate of the focus, in tiles
+	 * @param y the y-coordinate of the focus, in tiles, where 0 is the top row
+	 * @return the new focus
+	 */
+	public Focus addFocus(float x, float y) {
+		Focus focus = new Focus(x, y);
+		focuses.add(focus);
+		return focus;
+	}
+	
+	/**
+	 * Removes the specified focus. Regions that were loaded around it stay resident until their space is needed.
+	 *
+	 * @param focus the focus to remove
+	 */
+	public void removeFocus(Focus focus) {
+		focuses.remove(focus);
+	}
+	
+	/**
+	 * Adds a callback that is invoked whenever a region becomes resident.
+	 *
+	 * @param callback the {@link com.accele.gage.callbacks.TileRegionCallback TileRegionCallback} to add
+	 */
+	public void addRegionLoadCallback(TileRegionCallback callback) {
+		loadCallbacks.add(callback);
+	}
+	
+	/**
+	 * Adds a callback that is invoked whenever a resident region is unloaded.
+	 *
+	 * @param callback the {@link com.accele.gage.callbacks.TileRegionCallback TileRegionCallback} to add
+	 */
+	public void addRegionUnloadCallback(TileRegionCallback callback) {
+		unloadCallbacks.add(callback);
+	}
+	
+	/**
+	 * Returns the ID of the tile at the specified position.
+	 * <p>
+	 * Tiles in regions that are not resident and tiles outside of the world are reported as empty.
+	 * Use {@link #isLoaded(int, int) isLoaded()} to tell the two apart.
+	 * </p>
+	 *
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return the palette index of the tile, or {@value com.accele.gage.tile.TileChunk#EMPTY} if the tile is empty or not resident
+	 */
+	public short getTile(int x, int y) {
+		if (x < 0 || y < 0 || x >= file.getWidth() || y >= file.getHeight())
+			return TileChunk.EMPTY;
+		int size = file.getRegionSize();
+		TileMap region = residentRegions.get(getKey(x / size, y / size));
+		return region == null ? TileChunk.EMPTY : region.getTile(x % size, y % size);
+	}
+	
+	/**
+	 * Returns the {@link com.accele.gage.gfx.TextureRegion TextureRegion} of the tile at the specified position.
+	 *
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return the texture region of the tile, or null if the tile is empty or not resident
+	 */
+	public TextureRegion getTileRegion(int x, int y) {
+		short id = getTile(x, y);
+		return id == TileChunk.EMPTY ? null : palette[id];
+	}
+	
+	/**
+	 * Returns whether the tile at the specified position is known, meaning that its region is resident, contains no tiles at all, or lies outside of the world.
+	 *
+	 * @param x the x-coordinate of the tile, in tiles
+	 * @param y the y-coordinate of the tile, in tiles, where 0 is the top row
+	 * @return whether {@link #getTile(int, int) getTile()} reports the actual tile at the position
+	 */
+	public boolean isLoaded(int x, int y) {
+		if (x < 0 || y < 0 || x >= file.getWidth() || y >= file.getHeight())
+			return true;
+		int size = file.getRegionSize();
+		return !file.hasRegion(x / size, y / size) || residentRegions.containsKey(getKey(x / size, y / size));
+	}
+	
+	/**
+	 * Sets whether the tiles with the specified ID block movement. No tiles are solid by default.
+	 * <p>
+	 * The solidity of tiles is shared with the regions of the world, so changing it here also changes it for every resident region.
+	 * </p>
+	 *
+	 * @param id the palette index of the tiles
+	 * @param solid whether the tiles are solid
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public void setSolid(short id, boolean solid) {
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		this.solid[id] = solid;
+	}
+	
+	/**
+	 * Attaches a {@link com.accele.gage.tile.TileBehavior TileBehavior} to the tiles with the specified ID in every region of the world.
+	 * <p>
+	 * Resident regions tick their tiles as part of {@link #tick()}. The coordinates passed to the behavior are relative to the region,
+	 * whose position in the world is given by its {@link com.accele.gage.tile.TileMap#getOriginX() origin}.
+	 * Scheduled ticks belong to their region and are discarded when the region is unloaded.
+	 * Behaviors should be attached before the first region is loaded.
+	 * </p>
+	 *
+	 * @param id the palette index of the tiles
+	 * @param behavior the behavior of the tiles, or null to remove their behavior
+	 * @throws IllegalArgumentException if {@code id} is not a valid palette index
+	 */
+	public void setBehavior(short id, TileBehavior behavior) {
+		if (id < 0 || id >= palette.length)
+			throw new IllegalArgumentException("Invalid tile ID " + id + " for a palette of " + palette.length + " textures.");
+		boolean wasActive = behaviors[id] != null && behaviors[id].isActive();
+		behaviors[id] = behavior;
+		for (TileMap region : residentRegions.values())
+			region.updateActive(id, wasActive);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Empty tiles and positions outside of the world are never solid. Tiles in regions that contain tiles but are not resident yet are always solid,
+	 * so that entities cannot move into parts of the world that have not been loaded.
+	 * </p>
+	 */
+	@Override
+	public boolean isSolid(int x, int y) {
+		if (x < 0 || y < 0 || x >= file.getWidth() || y >= file.getHeight())
+			return false;
+		int size = file.getRegionSize();
+		TileMap region = lastQueried;
+		if (region == null || region.getOriginX() != x - x % size || region.getOriginY() != y - y % size) {
+			region = residentRegions.get(getKey(x / size, y / size));
+			if (region == null)
+				return file.hasRegion(x / size, y / size);
+			this.lastQueried = region;
+		}
+		short id = region.getTile(x % size, y % size);
+		return id != TileChunk.EMPTY && solid[id];
+	}
+	
+	/**
+	 * Returns the resident region at the specified position.
+	 *
+	 * @param regionX the x-coordinate of the region, in regions
+	 * @param regionY the y-coordinate of the region, in regions
+	 * @return the tiles of the region, or null if the region is not resident
+	 */
+	public TileMap getRegion(int regionX, int regionY) {
+		return residentRegions.get(getKey(regionX, regionY));
+	}
+	
+	/**
+	 * Returns an immutable view of the resident regions.
+	 *
+	 * @return an unmodifiable {@link java.util.Collection Collection} of the resident regions
+	 */
+	public Collection<TileMap> getResidentRegions() {
+		return Collections.unmodifiableCollection(residentRegions.values());
+	}
+	
+	/**
+	 * Converts an x-coordinate on the screen, such as the position of the camera, into a tile coordinate.
+	 *
+	 * @param x the x-coordinate on the screen
+	 * @return the x-coordinate in tiles
+	 */
+	@Override
+	public float toTileX(float x) {
+		return (x * file.getVisibleTilesX() + file.getVisibleTilesX() - 1) / 2 + 0.5f;
+	}
+	
+	/**
+	 * Converts a y-coordinate on the screen, such as the position of the camera, into a tile coordinate.
+	 *
+	 * @param y the y-coordinate on the screen
+	 * @return the y-coordinate in tiles, where 0 is the top row
+	 */
+	@Override
+	public float toTileY(float y) {
+		return (-y * file.getVisibleTilesY() + file.getVisibleTilesY() - 1) / 2 + 0.5f;
+	}
+	
+	/**
+	 * Returns the palette of the world. Tile IDs are indices into this array.
+	 *
+	 * @return the texture regions used by the tiles of the world
+	 */
+	public TextureRegion[] getPalette() {
+		return palette;
+	}
+	
+	/**
+	 * Returns the region file the world is streamed from.
+	 *
+	 * @return the region file of the world
+	 */
+	public TileRegionFile getFile() {
+		return file;
+	}
+	
+	/**
+	 * Returns the maximum number of regions that are resident or being loaded at any one time.
+	 *
+	 * @return the resident region limit
+	 */
+	public int getMaxResidentRegions() {
+		return maxResidentRegions;
+	}
+	
+	/**
+	 * Sets the maximum number of regions that are resident or being loaded at any one time.
+	 * If the limit is lowered, the regions above it are unloaded on the next tick, starting with those that have gone the longest without being near a focus
+	 * and then those farthest from a focus. Loads that are still in progress may be dropped instead.
+	 *
+	 * @param maxResidentRegions the resident region limit
+	 * @throws IllegalArgumentException if {@code maxResidentRegions} is not positive
+	 */
+	public void setMaxResidentRegions(int maxResidentRegions) {
+		if (maxResidentRegions <= 0)
+			throw new IllegalArgumentException("The resident region limit must be positive.");
+		this.maxResidentRegions = maxResidentRegions;
+	}
+	
+	/**
+	 * Returns the number of regions around each focus, in every direction, that are kept resident. The default is 1.
+	 *
+	 * @return the load radius in regions
+	 */
+	public int getLoadRadius() {
+		return loadRadius;
+	}
+	
+	/**
+	 * Sets the number of regions around each focus, in every direction, that are kept resident.
+	 *
+	 * @param loadRadius the load radius in regions
+	 * @throws IllegalArgumentException if {@code loadRadius} is negative
+	 */
+	public void setLoadRadius(int loadRadius) {
+		if (loadRadius < 0)
+			throw new IllegalArgumentException("The load radius cannot be negative.");
+		this.loadRadius = loadRadius;
+	}
+	
+	/**
+	 * Returns how many ticks ahead the position of each focus is predicted to prefetch regions. The default is 30.
+	 *
+	 * @return the prefetch time in ticks
+	 */
+	public float getPrefetchTime() {
+		return prefetchTime;
+	}
+	
+	/**
+	 * Sets how many ticks ahead the position of each focus is predicted to prefetch regions. A prefetch time of 0 disables prefetching.
+	 *
+	 * @param prefetchTime the prefetch time in ticks
+	 * @throws IllegalArgumentException if {@code prefetchTime} is negative
+	 */
+	public void setPrefetchTime(float prefetchTime) {
+		if (prefetchTime < 0)
+			throw new IllegalArgumentException("The prefetch time cannot be negative.");
+		this.prefetchTime = prefetchTime;
+	}
+	
+	/**
+	 * Returns the number of regions that are currently being loaded.
+	 *
+	 * @return the number of pending region loads
+	 */
+	public int getLoadingCount() {
+		return loadingRegions.size();
+	}
+	
+	private static long getKey(int regionX, int regionY) {
+		return ((long) regionX << 32) | (regionY & 0xffffffffL);
+	}
+	
+	private static int getRegionX(long key) {
+		return (int) (key >> 32);
+	}
+	
+	private static int getRegionY(long key) {
+		return (int) key;
+	}
+	
+	/**
+	 * A point in a {@link com.accele.gage.tile.TileWorld TileWorld} around which regions are loaded.
+	 * <p>
+	 * The velocity of a focus is derived from how its position changes between ticks, so the position should be updated every tick.
+	 * </p>
+	 *
+	 * @author William Garland
+	 * @version 1.0.0
+	 * @since 1.0.0
+	 */
+	public static class Focus {
+		
+		private float x;
+		private float y;
+		private float previousX;
+		private float previousY;
+		private float velocityX;
+		private float velocityY;
+		
+		private Focus(float x, float y) {
+			this.x = x;
+			this.y = y;
+			this.previousX = x;
+			this.previousY = y;
+		}
+		
+		private void update() {
+			velocityX += (x - previousX - velocityX) * VELOCITY_SMOOTHING;
+			velocityY += (y - previousY - velocityY) * VELOCITY_SMOOTHING;
+			previousX = x;
+			previousY = y;
+		}
+		
+		/**
+		 * Sets the position of this focus.
+		 *
+		 * @param x the x-coordinate of the focus, in tiles
+		 * @param y the y-coordinate of the focus, in tiles, where 0 is the top row
+		 */
+		public void setPosition(float x, float y) {
+			this.x = x;
+			this.y = y;
+		}
+		
+		/**
+		 * Returns the x-coordinate of this focus, in tiles.
+		 *
+		 * @return the x-coordinate of this focus
+		 */
+		public float getX() {
+			return x;
+		}
+		
+		/**
+		 * Returns the y-coordinate of this focus, in tiles.
+		 *
+		 * @return the y-coordinate of this focus
+		 */
+		public float getY() {
+			return y;
+		}
+		
+		/**
+		 * Returns the smoothed velocity of this focus along the x-axis, in tiles per tick.
+		 *
+		 * @return the velocity along the x-axis
+		 */
+		public float getVelocityX() {
+			return velocityX;
+		}
+		
+		/**
+		 * Returns the smoothed velocity of this focus along the y-axis, in tiles per tick.
+		 *
+		 * @return the velocity along the y-axis
+		 */
+		public float getVelocityY() {
+			return velocityY;
+		}
+		
+	}
+	
+	private static class LoadedRegion {
+		
+		private final long key;
+		private final long ticket;
+		private final TileMap region;
+		
+		private LoadedRegion(long key, long ticket, TileMap region) {
+			this.key = key;
+			this.ticket = ticket;
+			this.region = region;
+		}
+		
+	}
+	
+}
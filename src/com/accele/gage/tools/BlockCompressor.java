@@ -0,0 +1,217 @@
+package com.accele.gage.tools;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Compresses images into BC1 ({@code DXT1}) and BC3 ({@code DXT5}) blocks.
+ * <p>
+ * Each 4x4 block is encoded with a range fit: the endpoints are the two pixels furthest apart along the principal axis of the block's colors,
+ * and every pixel picks the closest of the four interpolated colors. This is fast enough to convert whole asset folders and
+ * is close to what dedicated compressors produce for the flat colors of pixel art and tilesets.
+ * </p>
+ * <p>
+ * Pixels are given as {@code int}s in ARGB order, and rows are compressed in the order they are given, so images should be flipped to
+ * OpenGL order (bottom row first) before they are compressed.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class BlockCompressor {
+	
+	private BlockCompressor() {}
+	
+	/**
+	 * Compresses the specified pixels as BC1, ignoring their alpha.
+	 *
+	 * @param pixels the ARGB pixels, one row after another
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @return the compressed blocks, 8 bytes per block
+	 */
+	public static ByteBuffer compressBC1(int[] pixels, int width, int height) {
+		return compress(pixels, width, height, false);
+	}
+	
+	/**
+	 * Compresses the specified pixels as BC3.
+	 *
+	 * @param pixels the ARGB pixels, one row after another
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 * @return the compressed blocks, 16 bytes per block
+	 */
+	public static ByteBuffer compressBC3(int[] pixels, int width, int height) {
+		return compress(pixels, width, height, true);
+	}
+	
+	private static ByteBuffer compress(int[] pixels, int width, int height, boolean alpha) {
+		int blocksX = (width + 3) / 4;
+		int blocksY = (height + 3) / 4;
+		ByteBuffer out = ByteBuffer.allocate(blocksX * blocksY * (alpha ? 16 : 8)).order(ByteOrder.LITTLE_ENDIAN);
+		
+		int[] block = new int[16];
+		for (int by = 0; by < blocksY; by++) {
+			for (int bx = 0; bx < blocksX; bx++) {
+				for (int i = 0; i < 16; i++) {
+					int x = Math.min(bx * 4 + (i & 3), width - 1);
+					int y = Math.min(by * 4 + (i >> 2), height - 1);
+					block[i] = pixels[y * width + x];
+				}
+				if (alpha)
+					encodeAlpha(block, out);
+				encodeColor(block, out);
+			}
+		}
+		
+		out.flip();
+		return out;
+	}
+	
+	private static void encodeColor(int[] block, ByteBuffer out) {
+		float meanR = 0, meanG = 0, meanB = 0;
+		for (int pixel : block) {
+			meanR += (pixel >> 16) & 0xff;
+			meanG += (pixel >> 8) & 0xff;
+			meanB += pixel & 0xff;
+		}
+		meanR /= 16;
+		meanG /= 16;
+		meanB /= 16;
+		
+		float rr = 0, rg = 0, rb = 0, gg = 0, gb = 0, bb = 0;
+		for (int pixel : block) {
+			float r = ((pixel >> 16) & 0xff) - meanR;
+			float g = ((pixel >> 8) & 0xff) - meanG;
+			float b = (pixel & 0xff) - meanB;
+			rr += r * r;
+			rg += r * g;
+			rb += r * b;
+			gg += g * g;
+			gb += g * b;
+			bb += b * b;
+		}
+		
+		float axisR = 1, axisG = 1, axisB = 1;
+		for (int i = 0; i < 8; i++) {
+			float r = rr * axisR + rg * axisG + rb * axisB;
+			float g = rg * axisR + gg * axisG + gb * axisB;
+			float b = rb * axisR + gb * axisG + bb * axisB;
+			float length = Math.max(Math.abs(r), Math.max(Math.abs(g), Math.abs(b)));
+			if (length == 0)
+				break;
+			axisR = r / length;
+			axisG = g / length;
+			axisB = b / length;
+		}
+		
+		int min = block[0];
+		int max = block[0];
+		float minDot = Float.MAX_VALUE;
+		float maxDot = -Float.MAX_VALUE;
+		for (int pixel : block) {
+			float dot = ((pixel >> 16) & 0xff) * axisR + ((pixel >> 8) & 0xff) * axisG + (pixel & 0xff) * axisB;
+			if (dot < minDot) {
+				minDot = dot;
+				min = pixel;
+			}
+			if (dot > maxDot) {
+				maxDot = dot;
+				max = pixel;
+			}
+		}
+		
+		int color0 = to565(max);
+		int color1 = to565(min);
+		if (color0 < color1) {
+			int swap = color0;
+			color0 = color1;
+			color1 = swap;
+		}
+		
+		int indices = 0;
+		if (color0 != color1) {
+			int[] palette = new int[4];
+			palette[0] = from565(color0);
+			palette[1] = from565(color1);
+			palette[2] = lerp(palette[0], palette[1], 2, 1, 3);
+			palette[3] = lerp(palette[0], palette[1], 1, 2, 3);
+			for (int i = 0; i < 16; i++)
+				indices |= closest(block[i], palette) << (i * 2);
+		}
+		
+		out.putShort((short) color0).putShort((short) color1).putInt(indices);
+	}
+	
+	private static void encodeAlpha(int[] block, ByteBuffer out) {
+		int alpha0 = 0;
+		int alpha1 = 255;
+		for (int pixel : block) {
+			int a = pixel >>> 24;
+			alpha0 = Math.max(alpha0, a);
+			alpha1 = Math.min(alpha1, a);
+		}
+		
+		long indices = 0;
+		if (alpha0 != alpha1) {
+			int[] palette = new int[8];
+			palette[0] = alpha0;
+			palette[1] = alpha1;
+			for (int i = 1; i < 7; i++)
+				palette[i + 1] = ((7 - i) * alpha0 + i * alpha1 + 3) / 7;
+			for (int i = 0; i < 16; i++) {
+				int a = block[i] >>> 24;
+				int best = 0;
+				for (int j = 1; j < 8; j++) {
+					if (Math.abs(palette[j] - a) < Math.abs(palette[best] - a))
+						best = j;
+				}
+				indices |= (long) best << (i * 3);
+			}
+		}
+		
+		out.put((byte) alpha0).put((byte) alpha1);
+		for (int i = 0; i < 6; i++)
+			out.put((byte) (indices >>> (i * 8)));
+	}
+	
+	private static int closest(int pixel, int[] palette) {
+		int best = 0;
+		int bestDistance = Integer.MAX_VALUE;
+		for (int i = 0; i < palette.length; i++) {
+			int r = ((pixel >> 16) & 0xff) - ((palette[i] >> 16) & 0xff);
+			int g = ((pixel >> 8) & 0xff) - ((palette[i] >> 8) & 0xff);
+			int b = (pixel & 0xff) - (palette[i] & 0xff);
+			int distance = r * r + g * g + b * b;
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = i;
+			}
+		}
+		return best;
+	}
+	
+	private static int lerp(int a, int b, int weightA, int weightB, int total) {
+		int r = (((a >> 16) & 0xff) * weightA + ((b >> 16) & 0xff) * weightB) / total;
+		int g = (((a >> 8) & 0xff) * weightA + ((b >> 8) & 0xff) * weightB) / total;
+		int bl = ((a & 0xff) * weightA + (b & 0xff) * weightB) / total;
+		return (r << 16) | (g << 8) | bl;
+	}
+	
+	private static int to565(int pixel) {
+		int r = (((pixel >> 16) & 0xff) * 31 + 127) / 255;
+		int g = (((pixel >> 8) & 0xff) * 63 + 127) / 255;
+		int b = ((pixel & 0xff) * 31 + 127) / 255;
+		return (r << 11) | (g << 5) | b;
+	}
+	
+	private static int from565(int color) {
+		int r = (color >> 11) & 0x1f;
+		int g = (color >> 5) & 0x3f;
+		int b = color & 0x1f;
+		return (((r << 3) | (r >> 2)) << 16) | (((g << 2) | (g >> 4)) << 8) | ((b << 3) | (b >> 2));
+	}
+	
+}
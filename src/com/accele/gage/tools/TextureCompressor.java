@@ -0,0 +1,198 @@
+package com.accele.gage.tools;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.lwjgl.opengl.EXTTextureCompressionS3TC;
+import org.lwjgl.opengl.GL11;
+
+import com.accele.gage.gfx.MipmapGenerator;
+
+/**
+ * A command line tool that converts images into compressed KTX files which can be loaded with
+ * {@link com.accele.gage.ResourceLoaders#KTX_TEXTURE_LOADER KTX_TEXTURE_LOADER}.
+ * <p>
+ * Usage: {@code TextureCompressor [-bc1 | -bc3] [-nomips] [-o <directory>] <input>...}
+ * </p>
+ * <p>
+ * Each input is either an image file or a directory, in which case every PNG file in it and its subdirectories is converted.
+ * Images without transparency are compressed as BC1 (4 bits per pixel) and all others as BC3 (8 bits per pixel), unless {@code -bc1} or {@code -bc3} is given.
+ * A full mip chain is generated with the {@link com.accele.gage.gfx.MipmapGenerator MipmapGenerator} unless {@code -nomips} is given. The converted file has the same name as the image with a {@code .ktx} extension and is
+ * written next to the image, or to the directory given with {@code -o}.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TextureCompressor {
+	
+	private static final byte[] KTX_IDENTIFIER = { (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n' };
+	private static final int KTX_ENDIANNESS = 0x04030201;
+	private static final String ORIENTATION_KEY = "KTXorientation";
+	private static final String ORIENTATION_VALUE = "S=r,T=u";
+	
+	private TextureCompressor() {}
+	
+	public static void main(String[] args) {
+		Boolean alpha = null;
+		boolean mipmaps = true;
+		Path outputDirectory = null;
+		List<Path> inputs = new ArrayList<>();
+		
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-bc1"))
+				alpha = false;
+			else if (args[i].equals("-bc3"))
+				alpha = true;
+			else if (args[i].equals("-nomips"))
+				mipmaps = false;
+			else if (args[i].equals("-o") && i + 1 < args.length)
+				outputDirectory = Paths.get(args[++i]);
+			else if (args[i].startsWith("-")) {
+				printUsage();
+				System.exit(1);
+			} else
+				inputs.add(Paths.get(args[i]));
+		}
+		
+		if (inputs.isEmpty()) {
+			printUsage();
+			System.exit(1);
+		}
+		
+		boolean failed = false;
+		for (Path input : inputs) {
+			List<Path> images;
+			if (Files.isDirectory(input)) {
+				try (Stream<Path> files = Files.walk(input)) {
+					images = files.filter(p -> p.getFileName().toString().toLowerCase().endsWith(".png")).sorted().collect(Collectors.toList());
+				} catch (IOException e) {
+					System.err.println("Failed to list " + input + ": " + e.getMessage());
+					failed = true;
+					continue;
+				}
+			} else
+				images = List.of(input);
+			
+			for (Path image : images) {
+				String name = image.getFileName().toString();
+				int extension = name.lastIndexOf('.');
+				Path directory = outputDirectory != null ? outputDirectory : image.toAbsolutePath().getParent();
+				Path output = directory.resolve((extension > 0 ? name.substring(0, extension) : name) + ".ktx");
+				try {
+					Files.createDirectories(directory);
+					System.out.println(image + " -> " + output + " (" + convert(image, output, alpha, mipmaps) + ")");
+				} catch (IOException e) {
+					System.err.println("Failed to convert " + image + ": " + e.getMessage());
+					failed = true;
+				}
+			}
+		}
+		
+		if (failed)
+			System.exit(1);
+	}
+	
+	/**
+	 * Converts the specified image into a compressed KTX file.
+	 *
+	 * @param input the image to convert
+	 * @param output the KTX file to write
+	 * @param alpha whether to compress the image as BC3 rather than BC1, or {@code null} to choose based on whether the image has any transparency
+	 * @param mipmaps whether to generate a full mip chain
+	 * @return a short description of the written file
+	 * @throws IOException if the image could not be read or the KTX file could not be written
+	 */
+	public static String convert(Path input, Path output, Boolean alpha, boolean mipmaps) throws IOException {
+		BufferedImage image = ImageIO.read(input.toFile());
+		if (image == null)
+			throw new IOException("Unsupported image format.");
+		
+		int width = image.getWidth();
+		int height = image.getHeight();
+		int[] pixels = new int[width * height];
+		for (int y = 0; y < height; y++)
+			image.getRGB(0, height - 1 - y, width, 1, pixels, y * width, width);
+		
+		if (alpha == null) {
+			alpha = false;
+			for (int pixel : pixels) {
+				if (pixel >>> 24 != 0xff) {
+					alpha = true;
+					break;
+				}
+			}
+		}
+		
+		ByteBuffer rgba = ByteBuffer.allocateDirect(width * height * 4);
+		for (int pixel : pixels)
+			rgba.put((byte) (pixel >> 16)).put((byte) (pixel >> 8)).put((byte) pixel).put((byte) (pixel >>> 24));
+		rgba.flip();
+		ByteBuffer[] mipChain = mipmaps ? MipmapGenerator.generate(rgba, width, height, GL11.GL_RGBA) : new ByteBuffer[] { rgba };
+		
+		List<ByteBuffer> levels = new ArrayList<>();
+		for (int i = 0; i < mipChain.length; i++) {
+			int levelWidth = Math.max(1, width >> i);
+			int levelHeight = Math.max(1, height >> i);
+			int[] levelPixels = new int[levelWidth * levelHeight];
+			ByteBuffer level = mipChain[i];
+			for (int j = 0; j < levelPixels.length; j++)
+				levelPixels[j] = (level.get(j * 4 + 3) & 0xff) << 24 | (level.get(j * 4) & 0xff) << 16 | (level.get(j * 4 + 1) & 0xff) << 8 | (level.get(j * 4 + 2) & 0xff);
+			levels.add(alpha ? BlockCompressor.compressBC3(levelPixels, levelWidth, levelHeight) : BlockCompressor.compressBC1(levelPixels, levelWidth, levelHeight));
+		}
+		
+		int internalFormat = alpha ? EXTTextureCompressionS3TC.GL_COMPRESSED_RGBA_S3TC_DXT5_EXT : EXTTextureCompressionS3TC.GL_COMPRESSED_RGB_S3TC_DXT1_EXT;
+		writeKtx(output, internalFormat, alpha ? GL11.GL_RGBA : GL11.GL_RGB, width, height, levels);
+		
+		long size = Files.size(output);
+		return (alpha ? "BC3" : "BC1") + ", " + width + "x" + height + ", " + levels.size() + " levels, " + size + " bytes";
+	}
+	
+	private static void writeKtx(Path output, int internalFormat, int baseInternalFormat, int width, int height, List<ByteBuffer> levels) throws IOException {
+		byte[] keyValue = (ORIENTATION_KEY + "\0" + ORIENTATION_VALUE + "\0").getBytes(StandardCharsets.US_ASCII);
+		int keyValueSize = (4 + keyValue.length + 3) & ~3;
+		
+		ByteBuffer header = ByteBuffer.allocate(64 + keyValueSize).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(KTX_IDENTIFIER).putInt(KTX_ENDIANNESS);
+		header.putInt(0).putInt(1).putInt(0).putInt(internalFormat).putInt(baseInternalFormat);
+		header.putInt(width).putInt(height).putInt(0).putInt(0).putInt(1).putInt(levels.size()).putInt(keyValueSize);
+		header.putInt(keyValue.length).put(keyValue);
+		header.position(header.capacity()).flip();
+		
+		try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeFully(channel, header);
+			ByteBuffer imageSize = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+			for (ByteBuffer level : levels) {
+				imageSize.clear();
+				imageSize.putInt(level.remaining()).flip();
+				writeFully(channel, imageSize);
+				writeFully(channel, level);
+			}
+		}
+	}
+	
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+	}
+	
+	private static void printUsage() {
+		System.err.println("Usage: TextureCompressor [-bc1 | -bc3] [-nomips] [-o <directory>] <input>...");
+	}
+	
+}
@@ -0,0 +1,123 @@
+package com.accele.gage.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.accele.gage.GAGEException;
+import com.accele.gage.tile.TileMapData;
+import com.accele.gage.tile.TileRegionFile;
+
+/**
+ * A command line tool that converts tile maps from the text format of {@link com.accele.gage.ResourceLoaders#TILE_MAP_LOADER TILE_MAP_LOADER}
+ * into binary files which can be loaded with {@link com.accele.gage.ResourceLoaders#BINARY_TILE_MAP_LOADER BINARY_TILE_MAP_LOADER}.
+ * <p>
+ * Usage: {@code TileMapConverter [-nocompress] [-regions <size>] [-o <directory>] <input>...}
+ * </p>
+ * <p>
+ * The tiles are compressed with LZ4 unless {@code -nocompress} is given. The converted file has the same name as the input with a {@code .gtm} extension and is
+ * written next to the input, or to the directory given with {@code -o}. If {@code -regions} is given, the map is instead split into square regions of the given size
+ * and written as a {@link com.accele.gage.tile.TileRegionFile TileRegionFile} with a {@code .gtw} extension, which can be streamed by a
+ * {@link com.accele.gage.tile.TileWorld TileWorld}. Region files only hold a single layer without parallax, so maps with more than one layer or with a parallax factor
+ * on their primary layer cannot be split into regions.
+ * </p>
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+public class TileMapConverter {
+	
+	private TileMapConverter() {}
+	
+	public static void main(String[] args) {
+		boolean compress = true;
+		int regionSize = 0;
+		Path outputDirectory = null;
+		List<Path> inputs = new ArrayList<>();
+		
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-nocompress"))
+				compress = false;
+			else if (args[i].equals("-regions") && i + 1 < args.length)
+				regionSize = parseRegionSize(args[++i]);
+			else if (args[i].equals("-o") && i + 1 < args.length)
+				outputDirectory = Paths.get(args[++i]);
+			else if (args[i].startsWith("-")) {
+				printUsage();
+				System.exit(1);
+			} else
+				inputs.add(Paths.get(args[i]));
+		}
+		
+		if (inputs.isEmpty()) {
+			printUsage();
+			System.exit(1);
+		}
+		
+		boolean failed = false;
+		for (Path input : inputs) {
+			String name = input.getFileName().toString();
+			int extension = name.lastIndexOf('.');
+			Path directory = outputDirectory != null ? outputDirectory : input.toAbsolutePath().getParent();
+			Path output = directory.resolve((extension > 0 ? name.substring(0, extension) : name) + (regionSize > 0 ? ".gtw" : ".gtm"));
+			try {
+				Files.createDirectories(directory);
+				System.out.println(input + " -> " + output + " (" + convert(input, output, compress, regionSize) + ")");
+			} catch (IOException | GAGEException e) {
+				System.err.println("Failed to convert " + input + ": " + e.getMessage());
+				failed = true;
+			}
+		}
+		
+		if (failed)
+			System.exit(1);
+	}
+	
+	/**
+	 * Converts the specified text tile map into a binary tile map.
+	 *
+	 * @param input the text tile map to convert
+	 * @param output the binary file to write
+	 * @param compress whether to compress the tiles with LZ4
+	 * @param regionSize the size of the regions to split the map into, or 0 to write a single binary tile map
+	 * @return a short description of the written file
+	 * @throws IOException if the input could not be read or the output could not be written
+	 * @throws GAGEException if the input is not a valid tile map, or if it is to be split into regions but has more than one layer or a parallax factor on its primary layer
+	 */
+	public static String convert(Path input, Path output, boolean compress, int regionSize) throws IOException, GAGEException {
+		TileMapData data = TileMapData.parse(Files.readAllLines(input, StandardCharsets.UTF_8), input.toString());
+		if (regionSize > 0) {
+			int primary = data.getPrimaryLayer();
+			if (data.getLayerNames().length > 1 || data.getParallaxX(primary) != 1 || data.getParallaxY(primary) != 1)
+				throw new GAGEException("Cannot split " + input + " into regions: region files only hold a single layer without parallax.");
+			TileRegionFile.write(output, data, regionSize, compress);
+		}
+		else
+			data.write(output, compress);
+		
+		int rows = data.getTiles().length / data.getRowSize();
+		return data.getRowSize() + "x" + rows + ", " + data.getPalette().length + " textures, " + Files.size(output) + " bytes";
+	}
+	
+	private static int parseRegionSize(String value) {
+		try {
+			int regionSize = Integer.parseInt(value);
+			if (regionSize > 0)
+				return regionSize;
+		} catch (NumberFormatException e) {
+		}
+		printUsage();
+		System.exit(1);
+		return 0;
+	}
+	
+	private static void printUsage() {
+		System.err.println("Usage: TileMapConverter [-nocompress] [-regions <size>] [-o <directory>] <input>...");
+	}
+	
+}
@@ -0,0 +1,8 @@
+/**
+ * Contains offline tools used to prepare game assets for GAGE. These tools do not need a running engine.
+ *
+ * @author William Garland
+ * @version 1.0.0
+ * @since 1.0.0
+ */
+package com.accele.gage.tools;
\ No newline at end of file